@@ -11,6 +11,12 @@ public final class CategoryDef {
   private final boolean isAbstract;
   private final boolean container;
   private final LinkedHashMap<String, String> params;
+  private final StackTraceMode stackTrace;
+  private final Integer sampleRate;
+  private final Integer maxFrames;
+  private final boolean concurrent;
+  private final Integer maxErrors;
+  private final boolean deduplicate;
 
   public CategoryDef(String name,
                      String parent,
@@ -19,7 +25,13 @@ public final class CategoryDef {
                      Boolean retryable,
                      boolean isAbstract,
                      boolean container,
-                     LinkedHashMap<String, String> params) {
+                     LinkedHashMap<String, String> params,
+                     StackTraceMode stackTrace,
+                     Integer sampleRate,
+                     Integer maxFrames,
+                     boolean concurrent,
+                     Integer maxErrors,
+                     boolean deduplicate) {
     this.name = name;
     this.parent = parent;
     this.codePrefix = codePrefix;
@@ -28,6 +40,12 @@ public final class CategoryDef {
     this.isAbstract = isAbstract;
     this.container = container;
     this.params = params;
+    this.stackTrace = stackTrace;
+    this.sampleRate = sampleRate;
+    this.maxFrames = maxFrames;
+    this.concurrent = concurrent;
+    this.maxErrors = maxErrors;
+    this.deduplicate = deduplicate;
   }
 
   public String getName() {
@@ -61,4 +79,28 @@ public final class CategoryDef {
   public LinkedHashMap<String, String> getParams() {
     return params;
   }
+
+  public StackTraceMode getStackTrace() {
+    return stackTrace;
+  }
+
+  public Integer getSampleRate() {
+    return sampleRate;
+  }
+
+  public Integer getMaxFrames() {
+    return maxFrames;
+  }
+
+  public boolean isConcurrent() {
+    return concurrent;
+  }
+
+  public Integer getMaxErrors() {
+    return maxErrors;
+  }
+
+  public boolean isDeduplicate() {
+    return deduplicate;
+  }
 }
@@ -14,6 +14,14 @@ public final class EdlSpec {
   private final LinkedHashMap<String, String> responseFields;
   private final LinkedHashMap<String, CategoryDef> categories;
   private final LinkedHashMap<String, ErrorDef> errors;
+  private final StackTraceMode stackTrace;
+  private final Integer sampleRate;
+  private final Integer maxFrames;
+  private final Boolean cachedInstance;
+  private final ResponseBodyMode responseBody;
+  private final boolean sealed;
+  private final boolean jfr;
+  private final boolean jmx;
 
   public EdlSpec(String packageName,
                  String baseException,
@@ -24,7 +32,15 @@ public final class EdlSpec {
                  Object containerResponseTemplate,
                  LinkedHashMap<String, String> responseFields,
                  LinkedHashMap<String, CategoryDef> categories,
-                 LinkedHashMap<String, ErrorDef> errors) {
+                 LinkedHashMap<String, ErrorDef> errors,
+                 StackTraceMode stackTrace,
+                 Integer sampleRate,
+                 Integer maxFrames,
+                 Boolean cachedInstance,
+                 ResponseBodyMode responseBody,
+                 boolean sealed,
+                 boolean jfr,
+                 boolean jmx) {
     this.packageName = packageName;
     this.baseException = baseException;
     this.source = source;
@@ -35,6 +51,14 @@ public final class EdlSpec {
     this.responseFields = responseFields;
     this.categories = categories;
     this.errors = errors;
+    this.stackTrace = stackTrace;
+    this.sampleRate = sampleRate;
+    this.maxFrames = maxFrames;
+    this.cachedInstance = cachedInstance;
+    this.responseBody = responseBody;
+    this.sealed = sealed;
+    this.jfr = jfr;
+    this.jmx = jmx;
   }
 
   public String getPackageName() {
@@ -76,4 +100,36 @@ public final class EdlSpec {
   public LinkedHashMap<String, ErrorDef> getErrors() {
     return errors;
   }
+
+  public StackTraceMode getStackTrace() {
+    return stackTrace;
+  }
+
+  public Integer getSampleRate() {
+    return sampleRate;
+  }
+
+  public Integer getMaxFrames() {
+    return maxFrames;
+  }
+
+  public Boolean getCachedInstance() {
+    return cachedInstance;
+  }
+
+  public ResponseBodyMode getResponseBody() {
+    return responseBody;
+  }
+
+  public boolean isSealed() {
+    return sealed;
+  }
+
+  public boolean isJfr() {
+    return jfr;
+  }
+
+  public boolean isJmx() {
+    return jmx;
+  }
 }
@@ -12,6 +12,10 @@ public final class ErrorDef {
   private final LinkedHashMap<String, String> optionalParams;
   private final boolean recoverable;
   private final Integer httpStatus;
+  private final StackTraceMode stackTrace;
+  private final Integer sampleRate;
+  private final Integer maxFrames;
+  private final Boolean cachedInstance;
 
   public ErrorDef(String name,
                   String category,
@@ -21,7 +25,11 @@ public final class ErrorDef {
                   LinkedHashMap<String, String> requiredParams,
                   LinkedHashMap<String, String> optionalParams,
                   boolean recoverable,
-                  Integer httpStatus) {
+                  Integer httpStatus,
+                  StackTraceMode stackTrace,
+                  Integer sampleRate,
+                  Integer maxFrames,
+                  Boolean cachedInstance) {
     this.name = name;
     this.category = category;
     this.numericCode = numericCode;
@@ -31,6 +39,10 @@ public final class ErrorDef {
     this.optionalParams = optionalParams;
     this.recoverable = recoverable;
     this.httpStatus = httpStatus;
+    this.stackTrace = stackTrace;
+    this.sampleRate = sampleRate;
+    this.maxFrames = maxFrames;
+    this.cachedInstance = cachedInstance;
   }
 
   public String getName() {
@@ -68,4 +80,20 @@ public final class ErrorDef {
   public Integer getHttpStatus() {
     return httpStatus;
   }
+
+  public StackTraceMode getStackTrace() {
+    return stackTrace;
+  }
+
+  public Integer getSampleRate() {
+    return sampleRate;
+  }
+
+  public Integer getMaxFrames() {
+    return maxFrames;
+  }
+
+  public Boolean getCachedInstance() {
+    return cachedInstance;
+  }
 }
@@ -2,6 +2,7 @@ package com.edl.core;
 
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
@@ -10,20 +11,43 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
 import com.squareup.javapoet.WildcardTypeName;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collector;
 import javax.lang.model.element.Modifier;
 
 public final class JavaGenerator {
@@ -34,6 +58,8 @@ public final class JavaGenerator {
       Set.of("source", "code", "description", "detail", "details", "recoverable");
   private static final Set<String> RENDERABLE_DERIVED_PARAMS =
       Set.of("source", "code", "recoverable");
+  private static final int DEFAULT_SAMPLE_RATE = 100;
+  private static final int DEFAULT_MAX_FRAMES = 8;
   private final boolean includeHttpStatus;
 
   public JavaGenerator() {
@@ -51,7 +77,7 @@ public final class JavaGenerator {
     Files.createDirectories(packageDir);
 
     JavaFile rootFile = JavaFile.builder(spec.getPackageName(), buildRootException(spec)).indent("  ").build();
-    generatedFiles.add(writeIfChanged(packageDir, rootFile));
+    generatedFiles.add(writeIfChanged(packageDir, rootFile, permittedSubclasses(spec, null)));
 
     Map<String, ClassName> categoryTypes = new LinkedHashMap<>();
     for (CategoryDef category : spec.getCategories().values()) {
@@ -62,14 +88,29 @@ public final class JavaGenerator {
     for (CategoryDef category : spec.getCategories().values()) {
       JavaFile categoryFile = JavaFile.builder(spec.getPackageName(),
           buildCategoryException(spec, category, categoryTypes)).indent("  ").build();
-      generatedFiles.add(writeIfChanged(packageDir, categoryFile));
+      generatedFiles.add(writeIfChanged(packageDir, categoryFile, permittedSubclasses(spec, category.getName())));
     }
-    boolean hasContainerCategories = spec.getCategories().values().stream().anyMatch(CategoryDef::isContainer);
+    JavaFile descriptorFile = JavaFile.builder(spec.getPackageName(), buildErrorDescriptor(spec)).indent("  ").build();
+    generatedFiles.add(writeIfChanged(packageDir, descriptorFile));
+    JavaFile visitorFile = JavaFile.builder(spec.getPackageName(), buildFieldVisitor(spec)).indent("  ").build();
+    generatedFiles.add(writeIfChanged(packageDir, visitorFile));
+    JavaFile valuesFile = JavaFile.builder(spec.getPackageName(), buildErrorValues(spec)).indent("  ").build();
+    generatedFiles.add(writeIfChanged(packageDir, valuesFile));
+    JavaFile resultFile = JavaFile.builder(spec.getPackageName(), buildResult(spec)).indent("  ").build();
+    generatedFiles.add(writeIfChanged(packageDir, resultFile));
+
+    boolean hasContainerCategories = hasContainerCategories(spec);
     if (hasContainerCategories) {
       JavaFile containerBaseFile = JavaFile.builder(spec.getPackageName(),
           buildContainerBaseException(spec)).indent("  ").build();
       generatedFiles.add(writeIfChanged(packageDir, containerBaseFile));
     }
+    boolean hasConcurrentContainers = spec.getCategories().values().stream().anyMatch(CategoryDef::isConcurrent);
+    if (hasConcurrentContainers) {
+      JavaFile concurrentBaseFile = JavaFile.builder(spec.getPackageName(),
+          buildConcurrentContainerBaseException(spec)).indent("  ").build();
+      generatedFiles.add(writeIfChanged(packageDir, concurrentBaseFile));
+    }
     for (CategoryDef category : spec.getCategories().values()) {
       if (category.isContainer()) {
         JavaFile containerFile = JavaFile.builder(spec.getPackageName(),
@@ -85,6 +126,20 @@ public final class JavaGenerator {
       generatedFiles.add(writeIfChanged(packageDir, errorFile));
     }
 
+    JavaFile catalogFile = JavaFile.builder(spec.getPackageName(), buildErrorCatalog(spec)).indent("  ").build();
+    generatedFiles.add(writeIfChanged(packageDir, catalogFile));
+
+    JavaFile jsonFile = JavaFile.builder(spec.getPackageName(), buildJsonWriter(spec)).indent("  ").build();
+    generatedFiles.add(writeIfChanged(packageDir, jsonFile));
+
+    JavaFile statsFile = JavaFile.builder(spec.getPackageName(), buildErrorStats(spec)).indent("  ").build();
+    generatedFiles.add(writeIfChanged(packageDir, statsFile));
+
+    if (spec.isJfr()) {
+      JavaFile eventFile = JavaFile.builder(spec.getPackageName(), buildErrorEvent(spec)).indent("  ").build();
+      generatedFiles.add(writeIfChanged(packageDir, eventFile));
+    }
+
     return generatedFiles;
   }
 
@@ -99,70 +154,91 @@ public final class JavaGenerator {
   }
 
   private TypeSpec buildRootException(EdlSpec spec) {
-    ClassName mapType = ClassName.get(Map.class);
-    TypeName mapStringObject = ParameterizedTypeName.get(mapType, ClassName.get(String.class), ClassName.get(Object.class));
-
-    FieldSpec codeField = FieldSpec.builder(String.class, "code", Modifier.PRIVATE, Modifier.FINAL).build();
-    FieldSpec descriptionTemplateField = FieldSpec.builder(String.class, "descriptionTemplate", Modifier.PRIVATE, Modifier.FINAL).build();
-    FieldSpec detailTemplateField = FieldSpec.builder(String.class, "detailTemplate", Modifier.PRIVATE, Modifier.FINAL).build();
-    FieldSpec detailsField = FieldSpec.builder(mapStringObject, "details", Modifier.PRIVATE, Modifier.FINAL).build();
-    FieldSpec httpStatusField = includeHttpStatus
-        ? FieldSpec.builder(int.class, "httpStatus", Modifier.PRIVATE, Modifier.FINAL).build()
-        : null;
+    ClassName catalogType = ClassName.get(spec.getPackageName(), errorCatalogName(spec));
+    FieldSpec ordinalField = FieldSpec.builder(int.class, "ordinal", Modifier.PRIVATE, Modifier.FINAL).build();
+    FieldSpec renderedDescriptionField = FieldSpec.builder(String.class, "renderedDescription", Modifier.PRIVATE).build();
+    FieldSpec renderedDetailField = FieldSpec.builder(String.class, "renderedDetail", Modifier.PRIVATE).build();
     FieldSpec sourceField = FieldSpec.builder(String.class, "SOURCE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
         .initializer("$S", spec.getSource())
         .build();
 
-    MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+    MethodSpec constructor = MethodSpec.constructorBuilder()
         .addModifiers(Modifier.PROTECTED)
-        .addParameter(String.class, "code");
-    if (includeHttpStatus) {
-      constructorBuilder.addParameter(int.class, "httpStatus");
-    }
-    constructorBuilder
-        .addParameter(String.class, "descriptionTemplate")
-        .addParameter(String.class, "detailTemplate")
-        .addParameter(mapStringObject, "details")
+        .addParameter(int.class, "ordinal")
         .addParameter(Throwable.class, "cause")
-        .addStatement("super(descriptionTemplate, cause)")
-        .addStatement("this.code = $T.requireNonNull(code, $S)", Objects.class, "code")
-        .addStatement("this.descriptionTemplate = $T.requireNonNull(descriptionTemplate, $S)", Objects.class, "descriptionTemplate")
-        .addStatement("this.detailTemplate = $T.requireNonNull(detailTemplate, $S)", Objects.class, "detailTemplate")
-        .addStatement("this.details = $T.copyOf($T.requireNonNull(details, $S))", Map.class, Objects.class, "details");
-    if (includeHttpStatus) {
-      constructorBuilder.addStatement("this.httpStatus = httpStatus");
-    }
-    MethodSpec constructor = constructorBuilder.build();
+        .addParameter(boolean.class, "enableSuppression")
+        .addParameter(boolean.class, "writableStackTrace")
+        .addStatement("super(null, cause, enableSuppression, writableStackTrace)")
+        .addStatement("this.ordinal = ordinal")
+        .build();
 
     MethodSpec getCode = MethodSpec.methodBuilder("code")
         .addModifiers(Modifier.PUBLIC)
         .returns(String.class)
-        .addStatement("return code")
+        .addStatement("return $T.byOrdinal(ordinal).code()", catalogType)
         .build();
     MethodSpec getDescriptionTemplate = MethodSpec.methodBuilder("descriptionTemplate")
         .addModifiers(Modifier.PUBLIC)
         .returns(String.class)
-        .addStatement("return descriptionTemplate")
+        .addStatement("return $T.byOrdinal(ordinal).descriptionTemplate()", catalogType)
         .build();
     MethodSpec getDescription = MethodSpec.methodBuilder("description")
         .addModifiers(Modifier.PUBLIC)
         .returns(String.class)
-        .addStatement("return renderTemplate(descriptionTemplate, renderValues())")
+        .addStatement("$T rendered = renderedDescription", String.class)
+        .beginControlFlow("if (rendered == null)")
+        .addStatement("rendered = renderDescription()")
+        .addStatement("renderedDescription = rendered")
+        .endControlFlow()
+        .addStatement("return rendered")
         .build();
     MethodSpec getDetailTemplate = MethodSpec.methodBuilder("detailTemplate")
         .addModifiers(Modifier.PUBLIC)
         .returns(String.class)
-        .addStatement("return detailTemplate")
+        .addStatement("return $T.byOrdinal(ordinal).detailTemplate()", catalogType)
         .build();
     MethodSpec getDetail = MethodSpec.methodBuilder("detail")
         .addModifiers(Modifier.PUBLIC)
         .returns(String.class)
-        .addStatement("return renderTemplate(detailTemplate, renderValues())")
+        .addStatement("$T rendered = renderedDetail", String.class)
+        .beginControlFlow("if (rendered == null)")
+        .addStatement("rendered = renderDetail()")
+        .addStatement("renderedDetail = rendered")
+        .endControlFlow()
+        .addStatement("return rendered")
+        .build();
+    MethodSpec appendDescription = appendRendered("appendDescription", "renderedDescription", "renderDescription");
+    MethodSpec appendDescriptionTo = appendRenderedTo("appendDescription", "description");
+    MethodSpec appendDetail = appendRendered("appendDetail", "renderedDetail", "renderDetail");
+    MethodSpec appendDetailTo = appendRenderedTo("appendDetail", "detail");
+    MethodSpec formatTo = MethodSpec.methodBuilder("formatTo")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(StringBuilder.class, "buffer")
+        .addStatement("appendDescription(buffer.append(code()).append($S))", ": ")
+        .build();
+    MethodSpec getMessage = MethodSpec.methodBuilder("getMessage")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(String.class)
+        .addStatement("return description()")
+        .build();
+    ClassName fieldViewType = fieldViewType(spec);
+    FieldSpec emptyDetailsField = FieldSpec.builder(fieldViewType, "EMPTY_DETAILS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$L", TypeSpec.anonymousClassBuilder("new String[0]")
+            .superclass(fieldViewType)
+            .addMethod(MethodSpec.methodBuilder("valueAt")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(Object.class)
+                .addParameter(int.class, "index")
+                .addStatement("throw new $T(index)", IndexOutOfBoundsException.class)
+                .build())
+            .build())
         .build();
     MethodSpec getParameters = MethodSpec.methodBuilder("details")
         .addModifiers(Modifier.PUBLIC)
-        .returns(mapStringObject)
-        .addStatement("return details")
+        .returns(fieldViewType)
+        .addStatement("return EMPTY_DETAILS")
         .build();
     MethodSpec getSource = MethodSpec.methodBuilder("source")
         .addModifiers(Modifier.PUBLIC)
@@ -171,85 +247,649 @@ public final class JavaGenerator {
         .build();
     MethodSpec getErrorInfo = MethodSpec.methodBuilder("errorInfo")
         .addModifiers(Modifier.PUBLIC)
-        .returns(mapStringObject)
+        .returns(fieldViewType)
         .addStatement("return coreValues()")
         .build();
     MethodSpec recoverable = MethodSpec.methodBuilder("recoverable")
         .addModifiers(Modifier.PUBLIC)
         .returns(boolean.class)
-        .addStatement("return false")
+        .addStatement("return $T.byOrdinal(ordinal).recoverable()", catalogType)
         .build();
     MethodSpec httpStatus = includeHttpStatus
         ? MethodSpec.methodBuilder("httpStatus")
             .addModifiers(Modifier.PUBLIC)
             .returns(int.class)
-            .addStatement("return httpStatus")
+            .addStatement("return $T.byOrdinal(ordinal).httpStatus()", catalogType)
             .build()
         : null;
 
+    MethodSpec ordinal = MethodSpec.methodBuilder("ordinal")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addStatement("return ordinal")
+        .build();
+    MethodSpec kind = MethodSpec.methodBuilder("kind")
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        .returns(kindType(spec))
+        .build();
+
+    ClassName descriptorType = ClassName.get(spec.getPackageName(), errorDescriptorName(spec));
+    ClassName rootClass = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
+    MethodSpec sameError = MethodSpec.methodBuilder("sameError")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(boolean.class)
+        .addParameter(descriptorType, "other")
+        .addStatement("return other.ordinal() == ordinal()")
+        .build();
+
+    MethodSpec errorHash = MethodSpec.methodBuilder("errorHash")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addStatement("return ordinal()")
+        .build();
+
     MethodSpec coreValues = MethodSpec.methodBuilder("coreValues")
         .addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
-        .returns(mapStringObject)
+        .returns(fieldViewType)
         .build();
 
-    MethodSpec renderValues = MethodSpec.methodBuilder("renderValues")
-        .addModifiers(Modifier.PRIVATE)
-        .returns(mapStringObject)
-        .addStatement("$T values = new $T<>(details)", mapStringObject, LinkedHashMap.class)
-        .addStatement("values.put($S, SOURCE)", "source")
-        .addStatement("values.put($S, code)", "code")
-        .addStatement("values.put($S, recoverable())", "recoverable")
-        .addStatement("return values")
+    MethodSpec renderDescription = MethodSpec.methodBuilder("renderDescription")
+        .addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
+        .returns(String.class)
         .build();
 
-    MethodSpec renderTemplate = MethodSpec.methodBuilder("renderTemplate")
-        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+    MethodSpec renderDetail = MethodSpec.methodBuilder("renderDetail")
+        .addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
         .returns(String.class)
-        .addParameter(String.class, "template")
-        .addParameter(mapStringObject, "values")
-        .addStatement("$T resolved = template", String.class)
-        .beginControlFlow("for ($T.Entry<String, Object> entry : values.entrySet())", Map.class)
-        .addStatement("resolved = resolved.replace($S + entry.getKey() + $S, $T.valueOf(entry.getValue()))",
-            "{", "}", String.class)
-        .endControlFlow()
-        .addStatement("return resolved")
         .build();
 
     TypeSpec.Builder rootBuilder = TypeSpec.classBuilder(baseExceptionName(spec))
         .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
         .superclass(RuntimeException.class)
+        .addSuperinterface(descriptorType)
         .addField(sourceField)
-        .addField(codeField)
-        .addField(descriptionTemplateField)
-        .addField(detailTemplateField)
-        .addField(detailsField)
+        .addField(emptyDetailsField)
+        .addField(ordinalField)
+        .addField(renderedDescriptionField)
+        .addField(renderedDetailField)
         .addMethod(constructor)
         .addMethod(getCode)
         .addMethod(getDescriptionTemplate)
         .addMethod(getDescription)
         .addMethod(getDetailTemplate)
         .addMethod(getDetail)
+        .addMethod(appendDescription)
+        .addMethod(appendDescriptionTo)
+        .addMethod(appendDetail)
+        .addMethod(appendDetailTo)
+        .addMethod(formatTo)
+        .addMethod(getMessage)
         .addMethod(getParameters)
         .addMethod(getSource)
         .addMethod(getErrorInfo)
+        .addMethod(MethodSpec.methodBuilder("forEachField")
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(fieldVisitorType(spec), "visitor")
+            .addStatement("visitCoreFields(visitor)")
+            .addStatement("visitParams(visitor)")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("visitCoreFields")
+            .addModifiers(Modifier.PROTECTED)
+            .addParameter(fieldVisitorType(spec), "visitor")
+            .addStatement("visitor.onString($S, SOURCE)", "source")
+            .addStatement("visitor.onString($S, code())", "code")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("visitParams")
+            .addModifiers(Modifier.PROTECTED)
+            .addParameter(fieldVisitorType(spec), "visitor")
+            .build())
         .addMethod(recoverable);
     if (includeHttpStatus) {
-      rootBuilder.addField(httpStatusField);
       rootBuilder.addMethod(httpStatus);
     }
+    if (!permittedSubclasses(spec, null).isEmpty()) {
+      rootBuilder.addModifiers(Modifier.SEALED);
+    }
     rootBuilder
+        .addMethod(ordinal)
+        .addMethod(kind)
+        .addMethod(sameError)
+        .addMethod(errorHash)
+        .addMethod(MethodSpec.methodBuilder("toException")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(rootClass)
+            .addStatement("return this")
+            .build())
         .addMethod(coreValues)
-        .addMethod(renderValues)
-        .addMethod(renderTemplate);
+        .addMethod(renderDescription)
+        .addMethod(MethodSpec.methodBuilder("renderDescription")
+            .addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
+            .returns(StringBuilder.class)
+            .addParameter(StringBuilder.class, "out")
+            .build())
+        .addMethod(renderDetail)
+        .addMethod(MethodSpec.methodBuilder("renderDetail")
+            .addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
+            .returns(StringBuilder.class)
+            .addParameter(StringBuilder.class, "out")
+            .build());
+    if (usesSampledStackTraces(spec)) {
+      addStackTraceSampling(rootBuilder, ClassName.get(spec.getPackageName(), baseExceptionName(spec)));
+    }
+    addRootJsonWriters(spec, rootBuilder);
+    rootBuilder.addType(buildFieldView(fieldViewType));
+    rootBuilder.addType(buildKind(spec));
     return rootBuilder.build();
   }
 
+  private MethodSpec appendRendered(String methodName, String cacheField, String renderMethod) {
+    return MethodSpec.methodBuilder(methodName)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(StringBuilder.class)
+        .addParameter(StringBuilder.class, "out")
+        .addStatement("$T rendered = $L", String.class, cacheField)
+        .addStatement("return rendered != null ? out.append(rendered) : $L(out)", renderMethod)
+        .build();
+  }
+
+  private MethodSpec appendRenderedTo(String methodName, String accessor) {
+    return MethodSpec.methodBuilder(methodName)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(Appendable.class)
+        .addParameter(Appendable.class, "out")
+        .addException(IOException.class)
+        .beginControlFlow("if (out instanceof $T)", StringBuilder.class)
+        .addStatement("return $L(($T) out)", methodName, StringBuilder.class)
+        .endControlFlow()
+        .addStatement("return out.append($L())", accessor)
+        .build();
+  }
+
+  private TypeSpec buildKind(EdlSpec spec) {
+    TypeSpec.Builder type = TypeSpec.enumBuilder(kindType(spec))
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC);
+    for (ErrorDef error : spec.getErrors().values()) {
+      type.addEnumConstant(NameUtils.toConstantCase(error.getName()));
+    }
+    return type.build();
+  }
+
+  private void addRootJsonWriters(EdlSpec spec, TypeSpec.Builder rootBuilder) {
+    ClassName jsonType = ClassName.get(spec.getPackageName(), jsonWriterName(spec));
+    CodeBlock.Builder codes = CodeBlock.builder().add("{");
+    boolean first = true;
+    for (ErrorDef error : spec.getErrors().values()) {
+      CategoryDef category = spec.getCategories().get(error.getCategory());
+      codes.add(first ? "$S" : ", $S", jsonString(category.getCodePrefix() + error.getNumericCode()));
+      first = false;
+    }
+    rootBuilder.addField(FieldSpec.builder(String[].class, "CODE_JSON", Modifier.STATIC, Modifier.FINAL)
+        .initializer(codes.add("}").build())
+        .build());
+    rootBuilder.addField(FieldSpec.builder(byte[][].class, "CODE_JSON_UTF8", Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.utf8(CODE_JSON)", jsonType)
+        .build());
+    rootBuilder.addMethod(MethodSpec.methodBuilder("writeJson")
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        .addParameter(Appendable.class, "out")
+        .addException(IOException.class)
+        .build());
+    rootBuilder.addMethod(MethodSpec.methodBuilder("writeJson")
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        .addParameter(OutputStream.class, "out")
+        .addException(IOException.class)
+        .build());
+    rootBuilder.addMethod(buildToJsonBytes());
+  }
+
+  private void addCategoryJsonWriters(EdlSpec spec, CategoryDef category, TypeSpec.Builder type) {
+    ClassName jsonType = ClassName.get(spec.getPackageName(), jsonWriterName(spec));
+    Map<String, TypeName> fields = jsonFields(spec, category);
+    List<String> chunks = new ArrayList<>();
+    CodeBlock.Builder text = CodeBlock.builder();
+    CodeBlock.Builder bytes = CodeBlock.builder();
+    StringBuilder pending = new StringBuilder("{");
+    for (Map.Entry<String, String> entry : spec.getResponseFields().entrySet()) {
+      TypeName fieldType = fields.get(entry.getKey());
+      if (fieldType == null) {
+        continue;
+      }
+      if (pending.length() == 0 || pending.charAt(pending.length() - 1) != '{') {
+        pending.append(',');
+      }
+      pending.append(jsonString(entry.getValue())).append(':');
+      writeJsonField(spec, entry.getKey(), fieldType, "", pending, chunks, text, bytes);
+    }
+    pending.append('}');
+    flushJsonChunk(pending, chunks, text, bytes);
+
+    CodeBlock.Builder chunkLiterals = CodeBlock.builder();
+    for (int i = 0; i < chunks.size(); i++) {
+      chunkLiterals.add(i == 0 ? "$S" : ", $S", chunks.get(i));
+    }
+    type.addField(FieldSpec.builder(byte[][].class, "JSON_CHUNKS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.utf8($L)", jsonType, chunkLiterals.build())
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("writeJson")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(Appendable.class, "out")
+        .addException(IOException.class)
+        .addCode(text.build())
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("writeJson")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(OutputStream.class, "out")
+        .addException(IOException.class)
+        .addCode(bytes.build())
+        .build());
+  }
+
+  private void writeJsonField(EdlSpec spec,
+                              String key,
+                              TypeName fieldType,
+                              String receiver,
+                              StringBuilder pending,
+                              List<String> chunks,
+                              CodeBlock.Builder text,
+                              CodeBlock.Builder bytes) {
+    if ("source".equals(key)) {
+      pending.append(jsonString(spec.getSource()));
+      return;
+    }
+    flushJsonChunk(pending, chunks, text, bytes);
+    if ("code".equals(key)) {
+      ClassName rootType = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
+      text.addStatement("out.append($T.CODE_JSON[$Lordinal()])", rootType, receiver);
+      bytes.addStatement("out.write($T.CODE_JSON_UTF8[$Lordinal()])", rootType, receiver);
+      return;
+    }
+    ClassName jsonType = ClassName.get(spec.getPackageName(), jsonWriterName(spec));
+    CodeBlock value = jsonValueWrite(jsonType, fieldType, receiver + infoAccessor(key) + "()");
+    text.addStatement(value);
+    bytes.addStatement(value);
+  }
+
+  private Map<String, TypeName> jsonFields(EdlSpec spec, CategoryDef category) {
+    Map<String, TypeName> fields = new LinkedHashMap<>();
+    for (String key : category == null ? DEFAULT_CORE_PARAMS : infoKeys(category)) {
+      fields.put(key, DERIVED_PARAMS.contains(key)
+          ? ("recoverable".equals(key) ? TypeName.BOOLEAN : ClassName.get(String.class))
+          : parseTypeName(category.getParams().get(key)));
+    }
+    return fields;
+  }
+
+  private CodeBlock jsonValueWrite(ClassName jsonType, TypeName type, String value) {
+    String name = type.toString();
+    if ("String".equals(name) || "java.lang.String".equals(name)) {
+      return CodeBlock.of("$T.writeString(out, $L)", jsonType, value);
+    }
+    if (type.equals(TypeName.BOOLEAN)) {
+      return CodeBlock.of("$T.writeBoolean(out, $L)", jsonType, value);
+    }
+    if (type.equals(TypeName.INT) || type.equals(TypeName.LONG) || type.equals(TypeName.SHORT)
+        || type.equals(TypeName.BYTE)) {
+      return CodeBlock.of("$T.writeLong(out, $L)", jsonType, value);
+    }
+    return CodeBlock.of("$T.writeValue(out, $L)", jsonType, value);
+  }
+
+  private MethodSpec buildToJsonBytes() {
+    return MethodSpec.methodBuilder("toJsonBytes")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(byte[].class)
+        .addStatement("$T out = new $T(256)", ByteArrayOutputStream.class, ByteArrayOutputStream.class)
+        .beginControlFlow("try")
+        .addStatement("writeJson(out)")
+        .nextControlFlow("catch ($T e)", IOException.class)
+        .addStatement("throw new $T(e)", UncheckedIOException.class)
+        .endControlFlow()
+        .addStatement("return out.toByteArray()")
+        .build();
+  }
+
+  private TypeSpec buildJsonWriter(EdlSpec spec) {
+    MethodSpec isLiteral = MethodSpec.methodBuilder("isLiteral")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+        .returns(boolean.class)
+        .addParameter(Object.class, "value")
+        .beginControlFlow("if (value instanceof $T)", Double.class)
+        .addStatement("return $T.isFinite(($T) value)", Double.class, Double.class)
+        .endControlFlow()
+        .beginControlFlow("if (value instanceof $T)", Float.class)
+        .addStatement("return $T.isFinite(($T) value)", Float.class, Float.class)
+        .endControlFlow()
+        .addStatement("return value instanceof $T || value instanceof $T", Boolean.class, Number.class)
+        .build();
+    MethodSpec escape = MethodSpec.methodBuilder("escape")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+        .returns(String.class)
+        .addParameter(char.class, "c")
+        .beginControlFlow("switch (c)")
+        .addStatement("case '\"': return $S", "\\\"")
+        .addStatement("case '\\\\': return $S", "\\\\")
+        .addStatement("case '\\n': return $S", "\\n")
+        .addStatement("case '\\r': return $S", "\\r")
+        .addStatement("case '\\t': return $S", "\\t")
+        .addStatement("case '\\b': return $S", "\\b")
+        .addStatement("case '\\f': return $S", "\\f")
+        .addStatement("default: return $T.format($S, (int) c)", String.class, "\\u%04x")
+        .endControlFlow()
+        .build();
+    MethodSpec writeValueAppendable = MethodSpec.methodBuilder("writeValue")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(Appendable.class, "out")
+        .addParameter(Object.class, "value")
+        .addException(IOException.class)
+        .beginControlFlow("if (value == null)")
+        .addStatement("out.append($S)", "null")
+        .nextControlFlow("else if (isLiteral(value))")
+        .addStatement("out.append(value.toString())")
+        .nextControlFlow("else")
+        .addStatement("writeString(out, value.toString())")
+        .endControlFlow()
+        .build();
+    MethodSpec writeStringAppendable = MethodSpec.methodBuilder("writeString")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(Appendable.class, "out")
+        .addParameter(String.class, "value")
+        .addException(IOException.class)
+        .beginControlFlow("if (value == null)")
+        .addStatement("out.append($S)", "null")
+        .addStatement("return")
+        .endControlFlow()
+        .addStatement("out.append('\"')")
+        .addStatement("int start = 0")
+        .beginControlFlow("for (int i = 0; i < value.length(); i++)")
+        .addStatement("char c = value.charAt(i)")
+        .beginControlFlow("if (c == '\"' || c == '\\\\' || c < 0x20)")
+        .addStatement("out.append(value, start, i).append(escape(c))")
+        .addStatement("start = i + 1")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("out.append(value, start, value.length()).append('\"')")
+        .build();
+    MethodSpec writeValueStream = MethodSpec.methodBuilder("writeValue")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(OutputStream.class, "out")
+        .addParameter(Object.class, "value")
+        .addException(IOException.class)
+        .beginControlFlow("if (value == null)")
+        .addStatement("writeAscii(out, $S)", "null")
+        .nextControlFlow("else if (isLiteral(value))")
+        .addStatement("writeAscii(out, value.toString())")
+        .nextControlFlow("else")
+        .addStatement("writeString(out, value.toString())")
+        .endControlFlow()
+        .build();
+    MethodSpec writeStringStream = MethodSpec.methodBuilder("writeString")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(OutputStream.class, "out")
+        .addParameter(String.class, "value")
+        .addException(IOException.class)
+        .beginControlFlow("if (value == null)")
+        .addStatement("writeAscii(out, $S)", "null")
+        .addStatement("return")
+        .endControlFlow()
+        .addStatement("out.write('\"')")
+        .beginControlFlow("for (int i = 0; i < value.length(); i++)")
+        .addStatement("char c = value.charAt(i)")
+        .beginControlFlow("if (c == '\"' || c == '\\\\' || c < 0x20)")
+        .addStatement("writeAscii(out, escape(c))")
+        .nextControlFlow("else if (c < 0x80)")
+        .addStatement("out.write(c)")
+        .nextControlFlow("else if (c < 0x800)")
+        .addStatement("out.write(0xC0 | (c >> 6))")
+        .addStatement("out.write(0x80 | (c & 0x3F))")
+        .nextControlFlow("else if ($T.isHighSurrogate(c) && i + 1 < value.length() && $T.isLowSurrogate(value.charAt(i + 1)))",
+            Character.class, Character.class)
+        .addStatement("int codePoint = $T.toCodePoint(c, value.charAt(++i))", Character.class)
+        .addStatement("out.write(0xF0 | (codePoint >> 18))")
+        .addStatement("out.write(0x80 | ((codePoint >> 12) & 0x3F))")
+        .addStatement("out.write(0x80 | ((codePoint >> 6) & 0x3F))")
+        .addStatement("out.write(0x80 | (codePoint & 0x3F))")
+        .nextControlFlow("else if ($T.isSurrogate(c))", Character.class)
+        .addStatement("out.write('?')")
+        .nextControlFlow("else")
+        .addStatement("out.write(0xE0 | (c >> 12))")
+        .addStatement("out.write(0x80 | ((c >> 6) & 0x3F))")
+        .addStatement("out.write(0x80 | (c & 0x3F))")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("out.write('\"')")
+        .build();
+    MethodSpec writeBooleanAppendable = MethodSpec.methodBuilder("writeBoolean")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(Appendable.class, "out")
+        .addParameter(boolean.class, "value")
+        .addException(IOException.class)
+        .addStatement("out.append(value ? $S : $S)", "true", "false")
+        .build();
+    MethodSpec writeLongAppendable = MethodSpec.methodBuilder("writeLong")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(Appendable.class, "out")
+        .addParameter(long.class, "value")
+        .addException(IOException.class)
+        .addStatement("out.append($T.toString(value))", Long.class)
+        .build();
+    MethodSpec writeBooleanStream = MethodSpec.methodBuilder("writeBoolean")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(OutputStream.class, "out")
+        .addParameter(boolean.class, "value")
+        .addException(IOException.class)
+        .addStatement("writeAscii(out, value ? $S : $S)", "true", "false")
+        .build();
+    MethodSpec writeLongStream = MethodSpec.methodBuilder("writeLong")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(OutputStream.class, "out")
+        .addParameter(long.class, "value")
+        .addException(IOException.class)
+        .addStatement("writeAscii(out, $T.toString(value))", Long.class)
+        .build();
+    MethodSpec writeAscii = MethodSpec.methodBuilder("writeAscii")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+        .addParameter(OutputStream.class, "out")
+        .addParameter(String.class, "value")
+        .addException(IOException.class)
+        .beginControlFlow("for (int i = 0; i < value.length(); i++)")
+        .addStatement("out.write(value.charAt(i))")
+        .endControlFlow()
+        .build();
+    MethodSpec utf8 = MethodSpec.methodBuilder("utf8")
+        .addModifiers(Modifier.STATIC)
+        .returns(byte[][].class)
+        .addParameter(String[].class, "values")
+        .varargs()
+        .addStatement("byte[][] bytes = new byte[values.length][]")
+        .beginControlFlow("for (int i = 0; i < values.length; i++)")
+        .addStatement("bytes[i] = values[i].getBytes($T.UTF_8)", StandardCharsets.class)
+        .endControlFlow()
+        .addStatement("return bytes")
+        .build();
+
+    return TypeSpec.classBuilder(jsonWriterName(spec))
+        .addModifiers(Modifier.FINAL)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .build())
+        .addMethod(writeValueAppendable)
+        .addMethod(writeStringAppendable)
+        .addMethod(writeValueStream)
+        .addMethod(writeStringStream)
+        .addMethod(writeBooleanAppendable)
+        .addMethod(writeLongAppendable)
+        .addMethod(writeBooleanStream)
+        .addMethod(writeLongStream)
+        .addMethod(utf8)
+        .addMethod(isLiteral)
+        .addMethod(escape)
+        .addMethod(writeAscii)
+        .build();
+  }
+
+  private TypeSpec buildFieldView(ClassName fieldViewType) {
+    TypeName entryType = ParameterizedTypeName.get(ClassName.get(Map.Entry.class),
+        ClassName.get(String.class), ClassName.get(Object.class));
+    TypeSpec iterator = TypeSpec.anonymousClassBuilder("")
+        .addSuperinterface(ParameterizedTypeName.get(ClassName.get(Iterator.class), entryType))
+        .addField(FieldSpec.builder(int.class, "next", Modifier.PRIVATE).build())
+        .addMethod(MethodSpec.methodBuilder("hasNext")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(boolean.class)
+            .addStatement("return next < keys.length")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("next")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(entryType)
+            .beginControlFlow("if (next >= keys.length)")
+            .addStatement("throw new $T()", NoSuchElementException.class)
+            .endControlFlow()
+            .addStatement("int index = next++")
+            .addStatement("return new $T.SimpleImmutableEntry<>(keys[index], valueAt(index))", AbstractMap.class)
+            .build())
+        .build();
+    TypeSpec entrySet = TypeSpec.anonymousClassBuilder("")
+        .superclass(ParameterizedTypeName.get(ClassName.get(AbstractSet.class), entryType))
+        .addMethod(MethodSpec.methodBuilder("size")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(int.class)
+            .addStatement("return keys.length")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("iterator")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(ClassName.get(Iterator.class), entryType))
+            .addStatement("return $L", iterator)
+            .build())
+        .build();
+
+    return TypeSpec.classBuilder(fieldViewType)
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT, Modifier.STATIC)
+        .superclass(ParameterizedTypeName.get(ClassName.get(AbstractMap.class),
+            ClassName.get(String.class), ClassName.get(Object.class)))
+        .addField(FieldSpec.builder(String[].class, "keys", Modifier.PRIVATE, Modifier.FINAL).build())
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PROTECTED)
+            .addParameter(String[].class, "keys")
+            .addStatement("this.keys = keys")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("valueAt")
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .returns(Object.class)
+            .addParameter(int.class, "index")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("keyAt")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(String.class)
+            .addParameter(int.class, "index")
+            .addStatement("return keys[index]")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("indexOf")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(int.class)
+            .addParameter(Object.class, "key")
+            .beginControlFlow("for (int i = 0; i < keys.length; i++)")
+            .beginControlFlow("if (keys[i].equals(key))")
+            .addStatement("return i")
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement("return -1")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("size")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(int.class)
+            .addStatement("return keys.length")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("containsKey")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(boolean.class)
+            .addParameter(Object.class, "key")
+            .addStatement("return indexOf(key) >= 0")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("get")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(Object.class)
+            .addParameter(Object.class, "key")
+            .addStatement("int index = indexOf(key)")
+            .addStatement("return index < 0 ? null : valueAt(index)")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("entrySet")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(ClassName.get(Set.class), entryType))
+            .addStatement("return $L", entrySet)
+            .build())
+        .build();
+  }
+
+  private void addStackTraceSampling(TypeSpec.Builder rootBuilder, ClassName rootClass) {
+    ClassName samplerType = rootClass.nestedClass("StackTraceSampler");
+    ClassName stackWalker = ClassName.get(StackWalker.class);
+    rootBuilder.addField(FieldSpec.builder(stackWalker, "STACK_WALKER", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.getInstance($T.RETAIN_CLASS_REFERENCE)", stackWalker, ClassName.get(StackWalker.Option.class))
+        .build());
+
+    rootBuilder.addMethod(MethodSpec.methodBuilder("fillInStackTrace")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(Throwable.class)
+        .addStatement("$T sampler = stackTraceSampler()", samplerType)
+        .beginControlFlow("if (sampler == null || sampler.sampleFullTrace())")
+        .addStatement("return super.fillInStackTrace()")
+        .endControlFlow()
+        .addStatement("int maxFrames = sampler.maxFrames()")
+        .addStatement("setStackTrace(STACK_WALKER.walk(frames -> frames\n"
+            + ".dropWhile(frame -> $T.class.isAssignableFrom(frame.getDeclaringClass()))\n"
+            + ".limit(maxFrames)\n"
+            + ".map($T.StackFrame::toStackTraceElement)\n"
+            + ".toArray($T[]::new)))", Throwable.class, stackWalker, StackTraceElement.class)
+        .addStatement("return this")
+        .build());
+
+    rootBuilder.addMethod(MethodSpec.methodBuilder("stackTraceSampler")
+        .addModifiers(Modifier.PROTECTED)
+        .returns(samplerType)
+        .addStatement("return null")
+        .build());
+
+    TypeSpec sampler = TypeSpec.classBuilder("StackTraceSampler")
+        .addModifiers(Modifier.PROTECTED, Modifier.STATIC, Modifier.FINAL)
+        .addField(int.class, "sampleRate", Modifier.PRIVATE, Modifier.FINAL)
+        .addField(int.class, "maxFrames", Modifier.PRIVATE, Modifier.FINAL)
+        .addField(FieldSpec.builder(AtomicLong.class, "throwCount", Modifier.PRIVATE, Modifier.FINAL)
+            .initializer("new $T()", AtomicLong.class)
+            .build())
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PROTECTED)
+            .addParameter(int.class, "sampleRate")
+            .addParameter(int.class, "maxFrames")
+            .addStatement("this.sampleRate = sampleRate")
+            .addStatement("this.maxFrames = maxFrames")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("sampleFullTrace")
+            .returns(boolean.class)
+            .addStatement("return throwCount.getAndIncrement() % sampleRate == 0")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("maxFrames")
+            .returns(int.class)
+            .addStatement("return maxFrames")
+            .build())
+        .build();
+    rootBuilder.addType(sampler);
+  }
+
   private TypeSpec buildCategoryException(EdlSpec spec,
                                           CategoryDef category,
                                           Map<String, ClassName> categoryTypes) {
     ClassName rootClass = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
-    ClassName mapType = ClassName.get(Map.class);
-    TypeName mapStringObject = ParameterizedTypeName.get(mapType, ClassName.get(String.class), ClassName.get(Object.class));
 
     TypeName superclass = rootClass;
     if (category.getParent() != null) {
@@ -263,10 +903,9 @@ public final class JavaGenerator {
     if (category.isAbstract()) {
       type.addModifiers(Modifier.ABSTRACT);
     }
-
-    type.addField(FieldSpec.builder(String.class, "CODE_PREFIX", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
-        .initializer("$S", category.getCodePrefix())
-        .build());
+    if (spec.isSealed()) {
+      type.addModifiers(permittedSubclasses(spec, category.getName()).isEmpty() ? Modifier.NON_SEALED : Modifier.SEALED);
+    }
 
     List<Map.Entry<String, String>> coreParams = new ArrayList<>(category.getParams().entrySet());
     List<Map.Entry<String, String>> customCoreParams = new ArrayList<>();
@@ -288,24 +927,11 @@ public final class JavaGenerator {
 
     MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
         .addModifiers(Modifier.PROTECTED)
-        .addParameter(String.class, "errorCode");
-    if (includeHttpStatus) {
-      constructorBuilder.addParameter(int.class, "httpStatus");
-    }
-    constructorBuilder
-        .addParameter(String.class, "descriptionTemplate")
-        .addParameter(String.class, "detailTemplate")
-        .addParameter(mapStringObject, "details")
-        .addParameter(Throwable.class, "cause");
-    if (includeHttpStatus) {
-      constructorBuilder.addStatement(
-          "super(CODE_PREFIX + $T.requireNonNull(errorCode, $S), httpStatus, descriptionTemplate, detailTemplate, details, cause)",
-          Objects.class, "errorCode");
-    } else {
-      constructorBuilder.addStatement(
-          "super(CODE_PREFIX + $T.requireNonNull(errorCode, $S), descriptionTemplate, detailTemplate, details, cause)",
-          Objects.class, "errorCode");
-    }
+        .addParameter(int.class, "ordinal")
+        .addParameter(Throwable.class, "cause")
+        .addParameter(boolean.class, "enableSuppression")
+        .addParameter(boolean.class, "writableStackTrace")
+        .addStatement("super(ordinal, cause, enableSuppression, writableStackTrace)");
     for (Map.Entry<String, String> entry : customCoreParams) {
       TypeName typeName = parseTypeName(entry.getValue());
       constructorBuilder.addParameter(typeName, entry.getKey());
@@ -313,12 +939,35 @@ public final class JavaGenerator {
     }
     MethodSpec constructor = constructorBuilder.build();
     type.addMethod(constructor);
+    boolean visitsRecoverable = infoKeys(category).contains("recoverable");
+    if (visitsRecoverable != (category.getParent() != null
+        && infoKeys(spec.getCategories().get(category.getParent())).contains("recoverable"))) {
+      MethodSpec.Builder visitCoreFields = MethodSpec.methodBuilder("visitCoreFields")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PROTECTED)
+          .addParameter(fieldVisitorType(spec), "visitor");
+      if (visitsRecoverable) {
+        visitCoreFields.addStatement("super.visitCoreFields(visitor)")
+            .addStatement("visitor.onBoolean($S, recoverable())", "recoverable");
+      } else {
+        visitCoreFields.addStatement("visitor.onString($S, source())", "source")
+            .addStatement("visitor.onString($S, code())", "code");
+      }
+      type.addMethod(visitCoreFields.build());
+    }
+    if (!customCoreParams.isEmpty()) {
+      MethodSpec.Builder visitParams = MethodSpec.methodBuilder("visitParams")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PROTECTED)
+          .addParameter(fieldVisitorType(spec), "visitor")
+          .addStatement("super.visitParams(visitor)");
+      for (Map.Entry<String, String> entry : customCoreParams) {
+        visitParams.addStatement(visitField(entry.getKey(), parseTypeName(entry.getValue())));
+      }
+      type.addMethod(visitParams.build());
+    }
 
-    if (includeHttpStatus) {
-      type.addField(FieldSpec.builder(int.class, "HTTP_STATUS", Modifier.PROTECTED, Modifier.STATIC, Modifier.FINAL)
-          .initializer("$L", category.getHttpStatus())
-          .build());
-    } else if (category.getHttpStatus() != null) {
+    if (!includeHttpStatus && category.getHttpStatus() != null) {
       type.addMethod(MethodSpec.methodBuilder("httpStatus")
           .addModifiers(Modifier.PUBLIC)
           .returns(int.class)
@@ -333,41 +982,76 @@ public final class JavaGenerator {
           .build());
     }
 
-    List<String> coreParamNames = category.getParams().isEmpty()
-        ? DEFAULT_CORE_PARAMS
-        : new ArrayList<>(category.getParams().keySet());
-    MethodSpec.Builder coreValues = MethodSpec.methodBuilder("coreValues")
+    List<String> coreParamNames = infoKeys(category);
+    ClassName categoryClass = ClassName.get(spec.getPackageName(), category.getName() + "Exception");
+    CodeBlock.Builder infoKeys = CodeBlock.builder().add("{");
+    MethodSpec.Builder valueAt = MethodSpec.methodBuilder("valueAt")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(Object.class)
+        .addParameter(int.class, "index")
+        .beginControlFlow("switch (index)");
+    for (int i = 0; i < coreParamNames.size(); i++) {
+      String name = coreParamNames.get(i);
+      infoKeys.add(i == 0 ? "$S" : ", $S", name);
+      valueAt.addStatement("case $L: return $T.this.$L()", i, categoryClass, infoAccessor(name));
+    }
+    valueAt.addStatement("default: throw new $T(index)", IndexOutOfBoundsException.class)
+        .endControlFlow();
+    type.addField(FieldSpec.builder(String[].class, "INFO_KEYS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(infoKeys.add("}").build())
+        .build());
+    TypeSpec view = TypeSpec.anonymousClassBuilder("INFO_KEYS")
+        .superclass(fieldViewType(spec))
+        .addMethod(valueAt.build())
+        .build();
+    type.addMethod(MethodSpec.methodBuilder("coreValues")
         .addAnnotation(Override.class)
         .addModifiers(Modifier.PROTECTED)
-        .returns(mapStringObject)
-        .addStatement("$T values = new $T<>()", mapStringObject, LinkedHashMap.class);
-    for (String name : coreParamNames) {
-      if ("source".equals(name)) {
-        coreValues.addStatement("values.put($S, source())", name);
-      } else if ("code".equals(name)) {
-        coreValues.addStatement("values.put($S, code())", name);
-      } else if ("description".equals(name)) {
-        coreValues.addStatement("values.put($S, description())", name);
-      } else if ("detail".equals(name)) {
-        coreValues.addStatement("values.put($S, detail())", name);
-      } else if ("recoverable".equals(name)) {
-        coreValues.addStatement("values.put($S, recoverable())", name);
-      } else if ("details".equals(name)) {
-        coreValues.addStatement("values.put($S, detail())", name);
-      } else {
-        coreValues.addStatement("values.put($S, $L)", name, name);
-      }
+        .returns(fieldViewType(spec))
+        .addStatement("return $L", view)
+        .build());
+    addCategoryJsonWriters(spec, category, type);
+    if (!category.isAbstract()) {
+      addConcreteCategoryRenderers(spec, type);
     }
-    coreValues.addStatement("return $T.copyOf(values)", Map.class);
-    type.addMethod(coreValues.build());
 
     return type.build();
   }
 
+  private void addConcreteCategoryRenderers(EdlSpec spec, TypeSpec.Builder type) {
+    ArrayTypeName kindsType = ArrayTypeName.of(kindType(spec));
+    type.addField(FieldSpec.builder(kindsType, "KINDS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.values()", kindType(spec))
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("kind")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(kindType(spec))
+        .addStatement("return KINDS[ordinal()]")
+        .build());
+    for (String name : List.of("Description", "Detail")) {
+      type.addMethod(MethodSpec.methodBuilder("render" + name)
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PROTECTED)
+          .returns(String.class)
+          .addStatement("return $LTemplate()", name.toLowerCase())
+          .build());
+      type.addMethod(MethodSpec.methodBuilder("render" + name)
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PROTECTED)
+          .returns(StringBuilder.class)
+          .addParameter(StringBuilder.class, "out")
+          .addStatement("return out.append($LTemplate())", name.toLowerCase())
+          .build());
+    }
+  }
+
   private TypeSpec buildCategoryContainerException(EdlSpec spec,
                                                    CategoryDef category,
                                                    Map<String, ClassName> categoryTypes) {
-    ClassName containerBase = ClassName.get(spec.getPackageName(), containerBaseName(spec));
+    ClassName containerBase = ClassName.get(spec.getPackageName(),
+        category.isConcurrent() ? concurrentContainerBaseName(spec) : containerBaseName(spec));
     ClassName categoryType = categoryTypes.get(category.getName());
     ClassName containerType = ClassName.get(spec.getPackageName(), category.getName() + "ContainerException");
     TypeSpec.Builder type = TypeSpec.classBuilder(category.getName() + "ContainerException")
@@ -379,14 +1063,32 @@ public final class JavaGenerator {
           .initializer("$L", category.getHttpStatus())
           .build());
     }
+    type.addField(FieldSpec.builder(boolean.class, "WRITABLE_STACK_TRACE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$L", resolveStackTrace(spec, category, null) != StackTraceMode.NONE)
+        .build());
 
-    MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
-        .addModifiers(Modifier.PUBLIC);
+    List<String> superArgs = new ArrayList<>();
     if (includeHttpStatus) {
-      constructorBuilder.addStatement("super(HTTP_STATUS)");
-    } else {
-      constructorBuilder.addStatement("super()");
+      superArgs.add("HTTP_STATUS");
+    }
+    superArgs.add("WRITABLE_STACK_TRACE");
+    if (category.getMaxErrors() != null || category.isDeduplicate()) {
+      type.addField(FieldSpec.builder(int.class, "MAX_ERRORS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+          .initializer(category.getMaxErrors() == null ? CodeBlock.of("$T.MAX_VALUE", Integer.class)
+              : CodeBlock.of("$L", category.getMaxErrors()))
+          .build());
+      superArgs.add("MAX_ERRORS");
+    }
+    if (!category.isConcurrent() && superArgs.contains("MAX_ERRORS")) {
+      type.addField(FieldSpec.builder(boolean.class, "DEDUPLICATE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+          .initializer("$L", category.isDeduplicate())
+          .build());
+      superArgs.add("DEDUPLICATE");
     }
+
+    MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+        .addModifiers(Modifier.PUBLIC)
+        .addStatement("super($L)", String.join(", ", superArgs));
     type.addMethod(constructorBuilder.build());
 
     type.addMethod(MethodSpec.methodBuilder("add")
@@ -397,16 +1099,144 @@ public final class JavaGenerator {
         .addStatement("return this")
         .build());
 
+    if (hasErrorValues(spec, category)) {
+      type.addMethod(MethodSpec.methodBuilder("add")
+          .addModifiers(Modifier.PUBLIC)
+          .returns(containerType)
+          .addParameter(categoryValueType(spec, category), "error")
+          .addStatement("super.add(error)")
+          .addStatement("return this")
+          .build());
+    }
+
+    if (category.isConcurrent()) {
+      type.addMethod(MethodSpec.methodBuilder("add")
+          .addModifiers(Modifier.PUBLIC)
+          .returns(containerType)
+          .addParameter(int.class, "position")
+          .addParameter(categoryType, "error")
+          .addStatement("super.add(position, error)")
+          .addStatement("return this")
+          .build());
+      if (hasErrorValues(spec, category)) {
+        type.addMethod(MethodSpec.methodBuilder("add")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(containerType)
+            .addParameter(int.class, "position")
+            .addParameter(categoryValueType(spec, category), "error")
+            .addStatement("super.add(position, error)")
+            .addStatement("return this")
+            .build());
+      }
+    }
+
+    type.addMethod(MethodSpec.methodBuilder("merge")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(containerType)
+        .addParameter(containerType, "other")
+        .addStatement("super.merge(other)")
+        .addStatement("return this")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("collector")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .returns(ParameterizedTypeName.get(ClassName.get(Collector.class), categoryType,
+            WildcardTypeName.subtypeOf(Object.class), containerType))
+        .addStatement("return $T.of($T::new, $T::add, $T::merge)", Collector.class,
+            containerType, containerType, containerType)
+        .build());
+
+    return type.build();
+  }
+
+  private TypeSpec buildErrorDescriptor(EdlSpec spec) {
+    ClassName descriptorType = ClassName.get(spec.getPackageName(), errorDescriptorName(spec));
+    ClassName rootClass = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
+    TypeSpec.Builder type = TypeSpec.interfaceBuilder(descriptorType)
+        .addModifiers(Modifier.PUBLIC);
+    Object[][] methods = {
+        {int.class, "ordinal"},
+        {kindType(spec), "kind"},
+        {String.class, "code"},
+        {String.class, "source"},
+        {String.class, "description"},
+        {String.class, "detail"},
+        {boolean.class, "recoverable"},
+        {fieldViewType(spec), "errorInfo"},
+        {fieldViewType(spec), "details"},
+        {int.class, "errorHash"},
+        {rootClass, "toException"}
+    };
+    for (Object[] method : methods) {
+      TypeName returnType = method[0] instanceof TypeName typeName ? typeName : TypeName.get((Class<?>) method[0]);
+      type.addMethod(MethodSpec.methodBuilder((String) method[1])
+          .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+          .returns(returnType)
+          .build());
+    }
+    type.addMethod(MethodSpec.methodBuilder("sameError")
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        .returns(boolean.class)
+        .addParameter(descriptorType, "other")
+        .build());
+    return type.build();
+  }
+
+  private TypeSpec buildFieldVisitor(EdlSpec spec) {
+    TypeSpec.Builder type = TypeSpec.interfaceBuilder(fieldVisitorType(spec))
+        .addModifiers(Modifier.PUBLIC);
+    Object[][] callbacks = {
+        {"onString", String.class},
+        {"onInt", int.class},
+        {"onLong", long.class},
+        {"onDouble", double.class},
+        {"onBoolean", boolean.class},
+        {"onChar", char.class},
+        {"onObject", Object.class}
+    };
+    for (Object[] callback : callbacks) {
+      type.addMethod(MethodSpec.methodBuilder((String) callback[0])
+          .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+          .addParameter(String.class, "name")
+          .addParameter((Class<?>) callback[1], "value")
+          .build());
+    }
     return type.build();
   }
 
+  private CodeBlock visitField(String name, TypeName type) {
+    String callback;
+    if ("String".equals(type.toString()) || "java.lang.String".equals(type.toString())) {
+      callback = "onString";
+    } else if (type.equals(TypeName.INT) || type.equals(TypeName.SHORT) || type.equals(TypeName.BYTE)) {
+      callback = "onInt";
+    } else if (type.equals(TypeName.LONG)) {
+      callback = "onLong";
+    } else if (type.equals(TypeName.DOUBLE) || type.equals(TypeName.FLOAT)) {
+      callback = "onDouble";
+    } else if (type.equals(TypeName.BOOLEAN)) {
+      callback = "onBoolean";
+    } else if (type.equals(TypeName.CHAR)) {
+      callback = "onChar";
+    } else {
+      callback = "onObject";
+    }
+    return CodeBlock.of("visitor.$L($S, $L)", callback, name, name);
+  }
+
   private TypeSpec buildContainerBaseException(EdlSpec spec) {
     ClassName rootClass = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
+    ClassName descriptorType = ClassName.get(spec.getPackageName(), errorDescriptorName(spec));
+    ClassName catalogType = ClassName.get(spec.getPackageName(), errorCatalogName(spec));
     ClassName listType = ClassName.get(List.class);
     ClassName arrayListType = ClassName.get(ArrayList.class);
     ClassName collectionType = ClassName.get("java.util", "Collection");
     TypeName listCategory = ParameterizedTypeName.get(listType, rootClass);
-    TypeName collectionCategory = ParameterizedTypeName.get(collectionType, WildcardTypeName.subtypeOf(rootClass));
+    TypeName listDescriptor = ParameterizedTypeName.get(listType, descriptorType);
+    TypeName collectionCategory = ParameterizedTypeName.get(collectionType, WildcardTypeName.subtypeOf(descriptorType));
+    TypeName consumerCategory = ParameterizedTypeName.get(ClassName.get(Consumer.class), WildcardTypeName.supertypeOf(rootClass));
+
+    ClassName containerType = ClassName.get(spec.getPackageName(), containerBaseName(spec));
 
     TypeSpec.Builder type = TypeSpec.classBuilder(containerBaseName(spec))
         .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
@@ -415,40 +1245,204 @@ public final class JavaGenerator {
     if (includeHttpStatus) {
       type.addField(FieldSpec.builder(int.class, "httpStatus", Modifier.PRIVATE, Modifier.FINAL).build());
     }
-
-    type.addField(FieldSpec.builder(listCategory, "errors", Modifier.PROTECTED, Modifier.FINAL)
+    type.addField(FieldSpec.builder(int.class, "maxErrors", Modifier.PRIVATE, Modifier.FINAL).build());
+    type.addField(FieldSpec.builder(boolean.class, "deduplicate", Modifier.PRIVATE, Modifier.FINAL).build());
+    type.addField(FieldSpec.builder(listDescriptor, "errors", Modifier.PRIVATE, Modifier.FINAL)
         .initializer("new $T<>()", arrayListType)
         .build());
+    type.addField(FieldSpec.builder(listDescriptor, "descriptors", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("$T.unmodifiableList(errors)", Collections.class)
+        .build());
+    type.addField(FieldSpec.builder(BitSet.class, "ordinals", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T($T.size())", BitSet.class, catalogType)
+        .build());
+    type.addField(FieldSpec.builder(long.class, "suppressed", Modifier.PRIVATE).build());
+    type.addField(FieldSpec.builder(int[].class, "repeats", Modifier.PRIVATE).build());
+    type.addField(FieldSpec.builder(int[].class, "dedupSlots", Modifier.PRIVATE).build());
 
     MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
         .addModifiers(Modifier.PROTECTED);
+    MethodSpec.Builder boundedConstructor = MethodSpec.constructorBuilder()
+        .addModifiers(Modifier.PROTECTED);
     if (includeHttpStatus) {
-      constructorBuilder.addParameter(int.class, "httpStatus")
-          .addStatement("super()")
-          .addStatement("this.httpStatus = httpStatus");
-    } else {
-      constructorBuilder.addStatement("super()");
+      constructorBuilder.addParameter(int.class, "httpStatus");
+      boundedConstructor.addParameter(int.class, "httpStatus");
+    }
+    constructorBuilder.addParameter(boolean.class, "writableStackTrace")
+        .addStatement(includeHttpStatus
+            ? "this(httpStatus, writableStackTrace, $T.MAX_VALUE, false)"
+            : "this(writableStackTrace, $T.MAX_VALUE, false)", Integer.class);
+    boundedConstructor.addParameter(boolean.class, "writableStackTrace")
+        .addParameter(int.class, "maxErrors")
+        .addParameter(boolean.class, "deduplicate")
+        .addStatement("super(null, null, true, writableStackTrace)");
+    if (includeHttpStatus) {
+      boundedConstructor.addStatement("this.httpStatus = httpStatus");
     }
+    boundedConstructor.beginControlFlow("if (maxErrors < 1)")
+        .addStatement("throw new $T($S + maxErrors)", IllegalArgumentException.class, "maxErrors must be at least 1: ")
+        .endControlFlow()
+        .addStatement("this.maxErrors = maxErrors")
+        .addStatement("this.deduplicate = deduplicate");
     type.addMethod(constructorBuilder.build());
+    type.addMethod(boundedConstructor.build());
 
     type.addMethod(MethodSpec.methodBuilder("add")
         .addModifiers(Modifier.PUBLIC)
         .returns(void.class)
         .addParameter(rootClass, "error")
-        .addStatement("errors.add($T.requireNonNull(error, $S))", Objects.class, "error")
+        .addStatement("add(($T) error)", descriptorType)
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("add")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(descriptorType, "error")
+        .addStatement("add($T.requireNonNull(error, $S), 1)", Objects.class, "error")
         .build());
 
     type.addMethod(MethodSpec.methodBuilder("addAll")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(ParameterizedTypeName.get(collectionType, WildcardTypeName.subtypeOf(rootClass)), "errors")
+        .addStatement("addAllDescriptors(errors)")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("addAllDescriptors")
         .addModifiers(Modifier.PUBLIC)
         .returns(void.class)
         .addParameter(collectionCategory, "errors")
-        .addStatement("this.errors.addAll($T.requireNonNull(errors, $S))", Objects.class, "errors")
+        .beginControlFlow("for ($T error : $T.requireNonNull(errors, $S))", descriptorType, Objects.class, "errors")
+        .addStatement("add(error)")
+        .endControlFlow()
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("merge")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(containerType, "other")
+        .addStatement("$T.requireNonNull(other, $S)", Objects.class, "other")
+        .beginControlFlow("if (other == this)")
+        .addStatement("return")
+        .endControlFlow()
+        .addStatement("$T items = other.descriptors()", listDescriptor)
+        .beginControlFlow("for (int i = 0, count = items.size(); i < count; i++)")
+        .addStatement("add(items.get(i), other.occurrences(i))")
+        .endControlFlow()
+        .addStatement("suppressed += other.suppressedCount()")
+        .beginControlFlow("for (int ordinal = 0, count = $T.size(); ordinal < count; ordinal++)", catalogType)
+        .beginControlFlow("if (other.containsOrdinal(ordinal))")
+        .addStatement("ordinals.set(ordinal)")
+        .endControlFlow()
+        .endControlFlow()
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("throwIfNotEmpty")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .beginControlFlow("if (!isEmpty())")
+        .addStatement("throw this")
+        .endControlFlow()
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("size")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addStatement("return errors.size()")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("isEmpty")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(boolean.class)
+        .addStatement("return size() == 0")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("errorAt")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(rootClass)
+        .addParameter(int.class, "index")
+        .addStatement("$T error = descriptorAt(index)", descriptorType)
+        .beginControlFlow("if (error instanceof $T)", rootClass)
+        .addStatement("return ($T) error", rootClass)
+        .endControlFlow()
+        .addStatement("return materialize(index, error)")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("materialize")
+        .returns(rootClass)
+        .addParameter(int.class, "index")
+        .addParameter(descriptorType, "error")
+        .addStatement("$T exception = error.toException()", rootClass)
+        .addStatement("errors.set(index, exception)")
+        .addStatement("return exception")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("descriptorAt")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(descriptorType)
+        .addParameter(int.class, "index")
+        .addStatement("return errors.get(index)")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("descriptors")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(listDescriptor)
+        .addStatement("return descriptors")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("occurrences")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addParameter(int.class, "index")
+        .addStatement("$T.checkIndex(index, size())", Objects.class)
+        .addStatement("return repeats == null ? 1 : repeats[index] + 1")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("suppressedCount")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(long.class)
+        .addStatement("return suppressed")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("maxErrors")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addStatement("return maxErrors")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("containsOrdinal")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(boolean.class)
+        .addParameter(int.class, "ordinal")
+        .addStatement("return ordinals.get(ordinal)")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("containsCode")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(boolean.class)
+        .addParameter(String.class, "code")
+        .addStatement("int ordinal = $T.ordinalOf(code)", catalogType)
+        .addStatement("return ordinal >= 0 && containsOrdinal(ordinal)")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("forEachError")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(consumerCategory, "action")
+        .addStatement("$T.requireNonNull(action, $S)", Objects.class, "action")
+        .beginControlFlow("for (int i = 0, count = size(); i < count; i++)")
+        .addStatement("action.accept(errorAt(i))")
+        .endControlFlow()
         .build());
 
     type.addMethod(MethodSpec.methodBuilder("errors")
         .addModifiers(Modifier.PUBLIC)
         .returns(listCategory)
-        .addStatement("return $T.copyOf(errors)", List.class)
+        .addStatement("$T[] snapshot = new $T[size()]", rootClass, rootClass)
+        .beginControlFlow("for (int i = 0; i < snapshot.length; i++)")
+        .addStatement("snapshot[i] = errorAt(i)")
+        .endControlFlow()
+        .addStatement("return $T.of(snapshot)", List.class)
         .build());
 
     if (includeHttpStatus) {
@@ -459,124 +1453,1997 @@ public final class JavaGenerator {
           .build());
     }
 
+    type.addMethod(MethodSpec.methodBuilder("add")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(void.class)
+        .addParameter(descriptorType, "error")
+        .addParameter(int.class, "times")
+        .addStatement("ordinals.set(error.ordinal())")
+        .addStatement("int hash = 0")
+        .beginControlFlow("if (deduplicate)")
+        .addStatement("hash = error.errorHash()")
+        .addStatement("int existing = indexOfSame(error, hash)")
+        .beginControlFlow("if (existing >= 0)")
+        .addStatement("repeats[existing] += times")
+        .addStatement("return")
+        .endControlFlow()
+        .endControlFlow()
+        .beginControlFlow("if (errors.size() >= maxErrors)")
+        .addStatement("suppressed += times")
+        .addStatement("return")
+        .endControlFlow()
+        .addStatement("errors.add(error)")
+        .beginControlFlow("if (deduplicate)")
+        .addStatement("remember(errors.size() - 1, hash)")
+        .addStatement("repeats[errors.size() - 1] = times - 1")
+        .endControlFlow()
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("indexOfSame")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(int.class)
+        .addParameter(descriptorType, "error")
+        .addParameter(int.class, "hash")
+        .beginControlFlow("if (dedupSlots == null)")
+        .addStatement("return -1")
+        .endControlFlow()
+        .addStatement("int mask = dedupSlots.length - 1")
+        .beginControlFlow("for (int slot = spread(hash) & mask; dedupSlots[slot] != 0; slot = (slot + 1) & mask)")
+        .addStatement("int index = dedupSlots[slot] - 1")
+        .beginControlFlow("if (errors.get(index).sameError(error))")
+        .addStatement("return index")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("return -1")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("remember")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(void.class)
+        .addParameter(int.class, "index")
+        .addParameter(int.class, "hash")
+        .beginControlFlow("if (repeats == null || index >= repeats.length)")
+        .addStatement("repeats = repeats == null ? new int[16] : $T.copyOf(repeats, repeats.length * 2)", Arrays.class)
+        .endControlFlow()
+        .beginControlFlow("if (dedupSlots == null || (index + 1) * 2 > dedupSlots.length)")
+        .addStatement("dedupSlots = new int[dedupSlots == null ? 32 : dedupSlots.length * 2]")
+        .beginControlFlow("for (int i = 0; i < index; i++)")
+        .addStatement("insertSlot(i, errors.get(i).errorHash())")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("insertSlot(index, hash)")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("insertSlot")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(void.class)
+        .addParameter(int.class, "index")
+        .addParameter(int.class, "hash")
+        .addStatement("int mask = dedupSlots.length - 1")
+        .addStatement("int slot = spread(hash) & mask")
+        .beginControlFlow("while (dedupSlots[slot] != 0)")
+        .addStatement("slot = (slot + 1) & mask")
+        .endControlFlow()
+        .addStatement("dedupSlots[slot] = index + 1")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("spread")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+        .returns(int.class)
+        .addParameter(int.class, "hash")
+        .addStatement("return hash ^ (hash >>> 16)")
+        .build());
+
+    addContainerJsonWriters(spec, type);
     return type.build();
   }
 
-  private TypeSpec buildErrorException(EdlSpec spec,
-                                       CategoryDef category,
-                                       ErrorDef error,
-                                       Map<String, ClassName> categoryTypes) {
-    ClassName categoryType = categoryTypes.get(category.getName());
-    TypeSpec.Builder type = TypeSpec.classBuilder(NameUtils.toPascalCase(error.getName()) + "Exception")
-        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-        .superclass(categoryType);
+  private TypeSpec buildConcurrentContainerBaseException(EdlSpec spec) {
+    ClassName rootClass = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
+    ClassName descriptorType = ClassName.get(spec.getPackageName(), errorDescriptorName(spec));
+    ClassName catalogType = ClassName.get(spec.getPackageName(), errorCatalogName(spec));
+    ClassName collectionType = ClassName.get("java.util", "Collection");
+    TypeName collectionCategory = ParameterizedTypeName.get(collectionType, WildcardTypeName.subtypeOf(descriptorType));
+    ClassName referenceArray = ClassName.get(AtomicReferenceArray.class);
+    TypeName slotsType = ParameterizedTypeName.get(referenceArray, descriptorType);
+    ClassName chunkType = ClassName.get(spec.getPackageName(), concurrentContainerBaseName(spec), "Chunk");
+    TypeName chunksType = ParameterizedTypeName.get(referenceArray, chunkType);
+    TypeName listRoot = ParameterizedTypeName.get(ClassName.get(List.class), rootClass);
+    TypeName listDescriptor = ParameterizedTypeName.get(ClassName.get(List.class), descriptorType);
+    TypeName consumerRoot = ParameterizedTypeName.get(ClassName.get(Consumer.class), WildcardTypeName.supertypeOf(rootClass));
 
-    type.addField(FieldSpec.builder(String.class, "ERROR_CODE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-        .initializer("$S", error.getNumericCode())
+    ClassName containerBase = ClassName.get(spec.getPackageName(), containerBaseName(spec));
+    ClassName concurrentType = ClassName.get(spec.getPackageName(), concurrentContainerBaseName(spec));
+
+    TypeSpec.Builder type = TypeSpec.classBuilder(concurrentContainerBaseName(spec))
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        .superclass(containerBase);
+
+    type.addField(FieldSpec.builder(int.class, "FIRST_CHUNK_BITS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("4")
         .build());
-    type.addField(FieldSpec.builder(String.class, "DESCRIPTION_TEMPLATE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-        .initializer("$S", error.getDescription())
+    type.addField(FieldSpec.builder(int.class, "FIRST_CHUNK_SIZE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("1 << FIRST_CHUNK_BITS")
         .build());
-    type.addField(FieldSpec.builder(String.class, "DETAIL_TEMPLATE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-        .initializer("$S", error.getDetail())
+    type.addField(FieldSpec.builder(int.class, "MAX_SIZE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.MAX_VALUE - FIRST_CHUNK_SIZE", Integer.class)
         .build());
-    type.addField(FieldSpec.builder(boolean.class, "RECOVERABLE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-        .initializer("$L", error.isRecoverable())
+    type.addField(FieldSpec.builder(int.class, "UNPOSITIONED", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.MAX_VALUE", Integer.class)
+        .build());
+    type.addField(FieldSpec.builder(int.class, "limit", Modifier.PRIVATE, Modifier.FINAL).build());
+    type.addField(FieldSpec.builder(AtomicInteger.class, "reserved", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T()", AtomicInteger.class)
+        .build());
+    type.addField(FieldSpec.builder(chunksType, "chunks", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T<>(31 - FIRST_CHUNK_BITS)", referenceArray)
+        .build());
+    type.addField(FieldSpec.builder(LongAdder.class, "suppressed", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T()", LongAdder.class)
+        .build());
+    type.addField(FieldSpec.builder(AtomicLongArray.class, "ordinals", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T(($T.size() + 63) >>> 6)", AtomicLongArray.class, catalogType)
+        .build());
+    type.addField(FieldSpec.builder(ParameterizedTypeName.get(AtomicReference.class, int[].class), "order",
+            Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T<>(new int[0])", AtomicReference.class)
         .build());
 
-    if (includeHttpStatus && error.getHttpStatus() != null) {
-      type.addField(FieldSpec.builder(int.class, "HTTP_STATUS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
-          .initializer("$L", error.getHttpStatus())
-          .build());
-    } else if (!includeHttpStatus && error.getHttpStatus() != null) {
-      type.addMethod(MethodSpec.methodBuilder("httpStatus")
-          .addModifiers(Modifier.PUBLIC)
-          .addAnnotation(Override.class)
-          .returns(int.class)
-          .addStatement("return $L", error.getHttpStatus())
-          .build());
+    MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+        .addModifiers(Modifier.PROTECTED);
+    MethodSpec.Builder boundedConstructor = MethodSpec.constructorBuilder()
+        .addModifiers(Modifier.PROTECTED);
+    if (includeHttpStatus) {
+      constructorBuilder.addParameter(int.class, "httpStatus");
+      boundedConstructor.addParameter(int.class, "httpStatus");
     }
+    constructorBuilder.addParameter(boolean.class, "writableStackTrace")
+        .addStatement(includeHttpStatus
+            ? "this(httpStatus, writableStackTrace, $T.MAX_VALUE)"
+            : "this(writableStackTrace, $T.MAX_VALUE)", Integer.class);
+    boundedConstructor.addParameter(boolean.class, "writableStackTrace")
+        .addParameter(int.class, "maxErrors")
+        .addStatement(includeHttpStatus
+            ? "super(httpStatus, writableStackTrace, maxErrors, false)"
+            : "super(writableStackTrace, maxErrors, false)")
+        .addStatement("this.limit = $T.min(maxErrors, MAX_SIZE)", Math.class);
+    type.addMethod(constructorBuilder.build());
+    type.addMethod(boundedConstructor.build());
 
-    List<Map.Entry<String, String>> customCoreParams = new ArrayList<>();
-    for (Map.Entry<String, String> entry : category.getParams().entrySet()) {
-      if (!DERIVED_PARAMS.contains(entry.getKey())) {
-        customCoreParams.add(entry);
-      }
-    }
+    type.addMethod(MethodSpec.methodBuilder("add")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(descriptorType, "error")
+        .addStatement("add(UNPOSITIONED, error)")
+        .build());
 
-    List<ParameterSpec> params = new ArrayList<>();
-    List<TypeName> paramTypes = new ArrayList<>();
-    List<String> coreParamNames = new ArrayList<>();
-    for (Map.Entry<String, String> entry : customCoreParams) {
-      TypeName typeName = parseTypeName(entry.getValue());
-      paramTypes.add(typeName);
-      params.add(ParameterSpec.builder(typeName, entry.getKey()).build());
-      coreParamNames.add(entry.getKey());
-    }
+    type.addMethod(MethodSpec.methodBuilder("add")
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(int.class, "position")
+        .addParameter(descriptorType, "error")
+        .beginControlFlow("if (position < 0)")
+        .addStatement("throw new $T($S + position)", IllegalArgumentException.class, "position must not be negative: ")
+        .endControlFlow()
+        .addStatement("$T.requireNonNull(error, $S)", Objects.class, "error")
+        .addStatement("markOrdinal(error.ordinal())")
+        .addStatement("int slot = reserve(1)")
+        .beginControlFlow("if (slot >= 0)")
+        .addStatement("store(slot, position, error)")
+        .endControlFlow()
+        .build());
 
-    for (Map.Entry<String, String> entry : error.getRequiredParams().entrySet()) {
-      TypeName typeName = parseTypeName(entry.getValue());
-      paramTypes.add(typeName);
-      params.add(ParameterSpec.builder(typeName, entry.getKey()).build());
-      type.addField(FieldSpec.builder(typeName, entry.getKey(), Modifier.PRIVATE, Modifier.FINAL).build());
-      type.addMethod(MethodSpec.methodBuilder(entry.getKey())
-          .addModifiers(Modifier.PUBLIC)
-          .returns(typeName)
-          .addStatement("return $L", entry.getKey())
-          .build());
-    }
+    type.addMethod(MethodSpec.methodBuilder("addAllDescriptors")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(collectionCategory, "errors")
+        .addStatement("$T[] added = $T.requireNonNull(errors, $S).toArray()", Object.class, Objects.class, "errors")
+        .beginControlFlow("for ($T error : added)", Object.class)
+        .addStatement("markOrdinal((($T) $T.requireNonNull(error, $S)).ordinal())", descriptorType, Objects.class, "error")
+        .endControlFlow()
+        .addStatement("int start = reserve(added.length)")
+        .beginControlFlow("for (int i = 0; start >= 0 && i < added.length && start + i < limit; i++)")
+        .addStatement("$T error = ($T) added[i]", descriptorType, descriptorType)
+        .addStatement("store(start + i, UNPOSITIONED, error)")
+        .endControlFlow()
+        .build());
 
-    for (Map.Entry<String, String> entry : error.getOptionalParams().entrySet()) {
-      TypeName typeName = parseTypeName(entry.getValue());
-      paramTypes.add(typeName);
-      params.add(ParameterSpec.builder(typeName, entry.getKey()).build());
-      type.addField(FieldSpec.builder(typeName, entry.getKey(), Modifier.PRIVATE, Modifier.FINAL).build());
-      type.addMethod(MethodSpec.methodBuilder(entry.getKey())
-          .addModifiers(Modifier.PUBLIC)
-          .returns(typeName)
-          .addStatement("return $L", entry.getKey())
-          .build());
-    }
-    type.addMethod(MethodSpec.methodBuilder("recoverable")
+    type.addMethod(MethodSpec.methodBuilder("merge")
+        .addAnnotation(Override.class)
         .addModifiers(Modifier.PUBLIC)
-        .returns(boolean.class)
-        .addStatement("return RECOVERABLE")
+        .returns(void.class)
+        .addParameter(containerBase, "other")
+        .addStatement("$T.requireNonNull(other, $S)", Objects.class, "other")
+        .beginControlFlow("if (other == this)")
+        .addStatement("return")
+        .endControlFlow()
+        .beginControlFlow("for (int ordinal = 0, count = $T.size(); ordinal < count; ordinal++)", catalogType)
+        .beginControlFlow("if (other.containsOrdinal(ordinal))")
+        .addStatement("markOrdinal(ordinal)")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("$T source = other instanceof $T ? ($T) other : null", concurrentType, concurrentType, concurrentType)
+        .addStatement("int[] sourceOrder = source == null ? null : source.order()")
+        .addStatement("$T items = source == null ? other.descriptors() : null", listDescriptor)
+        .addStatement("int count = sourceOrder == null ? items.size() : sourceOrder.length")
+        .addStatement("int start = reserve(count)")
+        .beginControlFlow("for (int i = 0; start >= 0 && i < count && start + i < limit; i++)")
+        .beginControlFlow("if (sourceOrder == null)")
+        .addStatement("store(start + i, UNPOSITIONED, items.get(i))")
+        .nextControlFlow("else")
+        .addStatement("store(start + i, source.positionAt(sourceOrder[i]), source.slotAt(sourceOrder[i]))")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("suppressed.add(other.suppressedCount())")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("size")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addStatement("return order().length")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("descriptorAt")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(descriptorType)
+        .addParameter(int.class, "index")
+        .addStatement("int[] order = order()")
+        .addStatement("return slotAt(order[$T.checkIndex(index, order.length)])", Objects.class)
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("descriptors")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(listDescriptor)
+        .addStatement("int[] order = order()")
+        .addStatement("return $L", TypeSpec.anonymousClassBuilder("")
+            .superclass(ParameterizedTypeName.get(ClassName.get(AbstractList.class), descriptorType))
+            .addMethod(MethodSpec.methodBuilder("get")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(descriptorType)
+                .addParameter(int.class, "index")
+                .addStatement("return slotAt(order[$T.checkIndex(index, order.length)])", Objects.class)
+                .build())
+            .addMethod(MethodSpec.methodBuilder("size")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("return order.length")
+                .build())
+            .build())
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("errorAt")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(rootClass)
+        .addParameter(int.class, "index")
+        .addStatement("int[] order = order()")
+        .addStatement("return materializeSlot(order[$T.checkIndex(index, order.length)])", Objects.class)
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("forEachError")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(void.class)
+        .addParameter(consumerRoot, "action")
+        .addStatement("$T.requireNonNull(action, $S)", Objects.class, "action")
+        .beginControlFlow("for (int slot : order())")
+        .addStatement("action.accept(materializeSlot(slot))")
+        .endControlFlow()
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("errors")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(listRoot)
+        .addStatement("int[] order = order()")
+        .addStatement("$T[] snapshot = new $T[order.length]", rootClass, rootClass)
+        .beginControlFlow("for (int i = 0; i < snapshot.length; i++)")
+        .addStatement("snapshot[i] = materializeSlot(order[i])")
+        .endControlFlow()
+        .addStatement("return $T.of(snapshot)", List.class)
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("suppressedCount")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(long.class)
+        .addStatement("return suppressed.sum()")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("containsOrdinal")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(boolean.class)
+        .addParameter(int.class, "ordinal")
+        .addStatement("return (ordinals.get(ordinal >>> 6) & (1L << ordinal)) != 0")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("markOrdinal")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(void.class)
+        .addParameter(int.class, "ordinal")
+        .addStatement("long bit = 1L << ordinal")
+        .beginControlFlow("if ((ordinals.get(ordinal >>> 6) & bit) == 0)")
+        .addStatement("ordinals.accumulateAndGet(ordinal >>> 6, bit, (left, right) -> left | right)")
+        .endControlFlow()
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("reserve")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(int.class)
+        .addParameter(int.class, "count")
+        .addStatement("int start")
+        .addStatement("int accepted")
+        .beginControlFlow("do")
+        .addStatement("start = reserved.get()")
+        .addStatement("accepted = $T.min(count, limit - start)", Math.class)
+        .beginControlFlow("if (accepted <= 0)")
+        .addStatement("suppressed.add(count)")
+        .addStatement("return -1")
+        .endControlFlow()
+        .endControlFlow("while (!reserved.compareAndSet(start, start + accepted))")
+        .beginControlFlow("if (accepted < count)")
+        .addStatement("suppressed.add(count - accepted)")
+        .endControlFlow()
+        .addStatement("return start")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("store")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(void.class)
+        .addParameter(int.class, "slot")
+        .addParameter(int.class, "position")
+        .addParameter(descriptorType, "error")
+        .addStatement("int biased = slot + FIRST_CHUNK_SIZE")
+        .addStatement("int index = chunkOf(biased)")
+        .addStatement("$T chunk = chunks.getAcquire(index)", chunkType)
+        .beginControlFlow("if (chunk == null)")
+        .addStatement("$T created = new $T(FIRST_CHUNK_SIZE << index)", chunkType, chunkType)
+        .addStatement("chunk = chunks.compareAndExchange(index, null, created)")
+        .beginControlFlow("if (chunk == null)")
+        .addStatement("chunk = created")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("int offset = biased - $T.highestOneBit(biased)", Integer.class)
+        .addStatement("chunk.positions[offset] = position")
+        .addStatement("chunk.slots.setRelease(offset, error)")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("slotAt")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(descriptorType)
+        .addParameter(int.class, "slot")
+        .addStatement("int biased = slot + FIRST_CHUNK_SIZE")
+        .addStatement("$T chunk = chunks.getAcquire(chunkOf(biased))", chunkType)
+        .addStatement("return chunk == null ? null : chunk.slots.getAcquire(biased - $T.highestOneBit(biased))",
+            Integer.class)
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("positionAt")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(int.class)
+        .addParameter(int.class, "slot")
+        .addStatement("int biased = slot + FIRST_CHUNK_SIZE")
+        .addStatement("return chunks.getAcquire(chunkOf(biased)).positions[biased - $T.highestOneBit(biased)]",
+            Integer.class)
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("materializeSlot")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(rootClass)
+        .addParameter(int.class, "slot")
+        .addStatement("int biased = slot + FIRST_CHUNK_SIZE")
+        .addStatement("$T slots = chunks.getAcquire(chunkOf(biased)).slots", slotsType)
+        .addStatement("int offset = biased - $T.highestOneBit(biased)", Integer.class)
+        .addStatement("$T error = slots.getAcquire(offset)", descriptorType)
+        .beginControlFlow("if (error instanceof $T)", rootClass)
+        .addStatement("return ($T) error", rootClass)
+        .endControlFlow()
+        .addStatement("$T exception = error.toException()", rootClass)
+        .addStatement("$T witness = slots.compareAndExchange(offset, error, exception)", descriptorType)
+        .addStatement("return witness == error ? exception : ($T) witness", rootClass)
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("order")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(int[].class)
+        .beginControlFlow("while (true)")
+        .addStatement("int[] current = order.get()")
+        .addStatement("int published = current.length")
+        .addStatement("int count = reserved.get()")
+        .beginControlFlow("while (published < count && slotAt(published) != null)")
+        .addStatement("published++")
+        .endControlFlow()
+        .beginControlFlow("if (published == current.length)")
+        .addStatement("return current")
+        .endControlFlow()
+        .addStatement("int[] next = extendOrder(current, published)")
+        .beginControlFlow("if (order.compareAndSet(current, next))")
+        .addStatement("return next")
+        .endControlFlow()
+        .endControlFlow()
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("extendOrder")
+        .addModifiers(Modifier.PRIVATE)
+        .returns(int[].class)
+        .addParameter(int[].class, "current")
+        .addParameter(int.class, "published")
+        .addStatement("int[] next = $T.copyOf(current, published)", Arrays.class)
+        .addStatement("int last = current.length == 0 ? 0 : positionAt(current[current.length - 1])")
+        .addStatement("boolean inOrder = true")
+        .beginControlFlow("for (int slot = current.length; slot < published; slot++)")
+        .addStatement("int position = positionAt(slot)")
+        .addStatement("inOrder &= position >= last")
+        .addStatement("last = position")
+        .addStatement("next[slot] = slot")
+        .endControlFlow()
+        .beginControlFlow("if (inOrder)")
+        .addStatement("return next")
+        .endControlFlow()
+        .addStatement("long[] keys = new long[published]")
+        .beginControlFlow("for (int slot = 0; slot < published; slot++)")
+        .addStatement("keys[slot] = (long) positionAt(slot) << 32 | slot")
+        .endControlFlow()
+        .addStatement("$T.sort(keys)", Arrays.class)
+        .beginControlFlow("for (int i = 0; i < published; i++)")
+        .addStatement("next[i] = (int) keys[i]")
+        .endControlFlow()
+        .addStatement("return next")
+        .build());
+
+    type.addMethod(MethodSpec.methodBuilder("chunkOf")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+        .returns(int.class)
+        .addParameter(int.class, "biased")
+        .addStatement("return 31 - $T.numberOfLeadingZeros(biased) - FIRST_CHUNK_BITS", Integer.class)
+        .build());
+
+    type.addType(TypeSpec.classBuilder("Chunk")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .addField(slotsType, "slots", Modifier.FINAL)
+        .addField(int[].class, "positions", Modifier.FINAL)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addParameter(int.class, "size")
+            .addStatement("this.slots = new $T<>(size)", referenceArray)
+            .addStatement("this.positions = new int[size]")
+            .build())
+        .build());
+
+    return type.build();
+  }
+
+  private void addContainerJsonWriters(EdlSpec spec, TypeSpec.Builder type) {
+    ClassName jsonType = ClassName.get(spec.getPackageName(), jsonWriterName(spec));
+    ClassName descriptorType = ClassName.get(spec.getPackageName(), errorDescriptorName(spec));
+    Object template = spec.getContainerResponseTemplate() == null ? Map.of() : spec.getContainerResponseTemplate();
+    Object itemTemplate = containerItemTemplate(template);
+    boolean occurrences = itemTemplate != null && mentionsValue(itemTemplate, "occurrences");
+    List<String> chunks = new ArrayList<>();
+    CodeBlock.Builder text = CodeBlock.builder();
+    CodeBlock.Builder bytes = CodeBlock.builder();
+    if (itemTemplate != null) {
+      TypeName listDescriptor = ParameterizedTypeName.get(ClassName.get(List.class), descriptorType);
+      text.addStatement("$T items = descriptors()", listDescriptor);
+      bytes.addStatement("$T items = descriptors()", listDescriptor);
+    }
+    StringBuilder pending = new StringBuilder();
+    writeContainerJson(spec, template, null, Set.of(), occurrences, pending, chunks, text, bytes);
+    flushJsonChunk(pending, chunks, text, bytes);
+
+    CodeBlock.Builder itemText = CodeBlock.builder();
+    CodeBlock.Builder itemBytes = CodeBlock.builder();
+    if (itemTemplate != null) {
+      Set<String> knownKeys = new HashSet<>(DERIVED_PARAMS);
+      for (CategoryDef category : spec.getCategories().values()) {
+        knownKeys.addAll(infoKeys(category));
+      }
+      for (CategoryDef category : categoriesDeepestFirst(spec)) {
+        if (!category.isContainer()) {
+          continue;
+        }
+        List<TypeName> itemTypes = new ArrayList<>();
+        itemTypes.add(ClassName.get(spec.getPackageName(), category.getName() + "Exception"));
+        if (hasErrorValues(spec, category)) {
+          itemTypes.add(categoryValueType(spec, category));
+        }
+        for (TypeName itemType : itemTypes) {
+          for (CodeBlock.Builder code : List.of(itemText, itemBytes)) {
+            code.beginControlFlow("if (error instanceof $T)", itemType)
+                .addStatement("$T item = ($T) error", itemType, itemType);
+          }
+          writeContainerJson(spec, itemTemplate, jsonFields(spec, category), knownKeys, occurrences,
+              pending, chunks, itemText, itemBytes);
+          flushJsonChunk(pending, chunks, itemText, itemBytes);
+          for (CodeBlock.Builder code : List.of(itemText, itemBytes)) {
+            code.addStatement("return").endControlFlow();
+          }
+        }
+      }
+      for (CodeBlock.Builder code : List.of(itemText, itemBytes)) {
+        code.addStatement("$T item = error", descriptorType);
+      }
+      writeContainerJson(spec, itemTemplate, jsonFields(spec, null), knownKeys, occurrences,
+          pending, chunks, itemText, itemBytes);
+      flushJsonChunk(pending, chunks, itemText, itemBytes);
+    }
+
+    CodeBlock.Builder chunkLiterals = CodeBlock.builder();
+    for (int i = 0; i < chunks.size(); i++) {
+      chunkLiterals.add(i == 0 ? "$S" : ", $S", chunks.get(i));
+    }
+    type.addField(FieldSpec.builder(byte[][].class, "JSON_CHUNKS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.utf8($L)", jsonType, chunkLiterals.build())
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("writeJson")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(Appendable.class, "out")
+        .addException(IOException.class)
+        .addCode(text.build())
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("writeJson")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(OutputStream.class, "out")
+        .addException(IOException.class)
+        .addCode(bytes.build())
+        .build());
+    type.addMethod(buildToJsonBytes());
+    if (itemTemplate == null) {
+      return;
+    }
+    for (Class<?> sink : List.of(Appendable.class, OutputStream.class)) {
+      MethodSpec.Builder writeItem = MethodSpec.methodBuilder("writeItem")
+          .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+          .addParameter(sink, "out")
+          .addParameter(descriptorType, "error");
+      if (occurrences) {
+        writeItem.addParameter(int.class, "occurrences");
+      }
+      type.addMethod(writeItem.addException(IOException.class)
+          .addCode((sink == Appendable.class ? itemText : itemBytes).build())
+          .build());
+    }
+  }
+
+  private void writeContainerJson(EdlSpec spec,
+                                  Object template,
+                                  Map<String, TypeName> itemFields,
+                                  Set<String> knownKeys,
+                                  boolean occurrences,
+                                  StringBuilder pending,
+                                  List<String> chunks,
+                                  CodeBlock.Builder text,
+                                  CodeBlock.Builder bytes) {
+    ClassName jsonType = ClassName.get(spec.getPackageName(), jsonWriterName(spec));
+    boolean inItem = itemFields != null;
+    if (template instanceof Map<?, ?> map) {
+      pending.append('{');
+      boolean first = true;
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        if (omitsContainerValue(entry.getValue(), itemFields, knownKeys)) {
+          continue;
+        }
+        if (!first) {
+          pending.append(',');
+        }
+        first = false;
+        pending.append(jsonString(String.valueOf(entry.getKey()))).append(':');
+        writeContainerJson(spec, entry.getValue(), itemFields, knownKeys, occurrences, pending, chunks, text, bytes);
+      }
+      pending.append('}');
+    } else if (template instanceof List<?> list && (inItem || list.size() != 1)) {
+      if (!inItem) {
+        pending.append(jsonLiteral(list));
+        return;
+      }
+      pending.append('[');
+      boolean first = true;
+      for (Object value : list) {
+        if (omitsContainerValue(value, itemFields, knownKeys)) {
+          continue;
+        }
+        if (!first) {
+          pending.append(',');
+        }
+        first = false;
+        writeContainerJson(spec, value, itemFields, knownKeys, occurrences, pending, chunks, text, bytes);
+      }
+      pending.append(']');
+    } else if (template instanceof List<?>) {
+      pending.append('[');
+      flushJsonChunk(pending, chunks, text, bytes);
+      for (CodeBlock.Builder code : List.of(text, bytes)) {
+        code.beginControlFlow("for (int i = 0, count = items.size(); i < count; i++)")
+            .beginControlFlow("if (i > 0)")
+            .addStatement(code == text ? "out.append(',')" : "out.write(',')")
+            .endControlFlow()
+            .addStatement(occurrences ? "writeItem(out, items.get(i), occurrences(i))" : "writeItem(out, items.get(i))")
+            .endControlFlow();
+      }
+      pending.append(']');
+    } else if (template instanceof String key && isContainerCounter(key, inItem)) {
+      flushJsonChunk(pending, chunks, text, bytes);
+      for (CodeBlock.Builder code : List.of(text, bytes)) {
+        code.addStatement("$T.writeLong(out, $L)", jsonType, inItem ? "occurrences" : "suppressedCount()");
+      }
+    } else if (template instanceof String key && inItem && itemFields.containsKey(key)) {
+      writeJsonField(spec, key, itemFields.get(key), "item.", pending, chunks, text, bytes);
+    } else {
+      pending.append(jsonLiteral(template));
+    }
+  }
+
+  private boolean omitsContainerValue(Object value, Map<String, TypeName> itemFields, Set<String> knownKeys) {
+    return itemFields != null && value instanceof String key && !isContainerCounter(key, true)
+        && !itemFields.containsKey(key) && knownKeys.contains(key);
+  }
+
+  private boolean isContainerCounter(String key, boolean inItem) {
+    return inItem ? "occurrences".equals(key) : "suppressed".equals(key);
+  }
+
+  private boolean mentionsValue(Object template, String value) {
+    if (template instanceof Map<?, ?> map) {
+      return map.values().stream().anyMatch(item -> mentionsValue(item, value));
+    }
+    if (template instanceof List<?> list) {
+      return list.stream().anyMatch(item -> mentionsValue(item, value));
+    }
+    return value.equals(template);
+  }
+
+  private void flushJsonChunk(StringBuilder pending,
+                              List<String> chunks,
+                              CodeBlock.Builder text,
+                              CodeBlock.Builder bytes) {
+    if (pending.length() == 0) {
+      return;
+    }
+    String chunk = pending.toString();
+    pending.setLength(0);
+    text.addStatement("out.append($S)", chunk);
+    bytes.addStatement("out.write(JSON_CHUNKS[$L])", jsonChunk(chunk, chunks));
+  }
+
+  private int jsonChunk(String chunk, List<String> chunks) {
+    int index = chunks.indexOf(chunk);
+    if (index >= 0) {
+      return index;
+    }
+    chunks.add(chunk);
+    return chunks.size() - 1;
+  }
+
+  private String jsonLiteral(Object value) {
+    if (value == null) {
+      return "null";
+    }
+    if (value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+      return value.toString();
+    }
+    if (value instanceof Double number && Double.isFinite(number)) {
+      return number.toString();
+    }
+    if (value instanceof Map<?, ?> map) {
+      StringBuilder json = new StringBuilder("{");
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        if (json.length() > 1) {
+          json.append(',');
+        }
+        json.append(jsonString(String.valueOf(entry.getKey()))).append(':').append(jsonLiteral(entry.getValue()));
+      }
+      return json.append('}').toString();
+    }
+    if (value instanceof List<?> list) {
+      StringBuilder json = new StringBuilder("[");
+      for (Object item : list) {
+        if (json.length() > 1) {
+          json.append(',');
+        }
+        json.append(jsonLiteral(item));
+      }
+      return json.append(']').toString();
+    }
+    return jsonString(value.toString());
+  }
+
+  private TypeSpec buildErrorException(EdlSpec spec,
+                                       CategoryDef category,
+                                       ErrorDef error,
+                                       Map<String, ClassName> categoryTypes) {
+    ClassName categoryType = categoryTypes.get(category.getName());
+    TypeSpec.Builder type = TypeSpec.classBuilder(NameUtils.toPascalCase(error.getName()) + "Exception")
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .superclass(categoryType);
+
+    type.addField(FieldSpec.builder(String.class, "ERROR_CODE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$S", error.getNumericCode())
+        .build());
+    type.addField(FieldSpec.builder(String.class, "DESCRIPTION_TEMPLATE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$S", error.getDescription())
+        .build());
+    type.addField(FieldSpec.builder(String.class, "DETAIL_TEMPLATE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$S", error.getDetail())
+        .build());
+    type.addField(FieldSpec.builder(boolean.class, "RECOVERABLE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$L", error.isRecoverable())
+        .build());
+    type.addField(FieldSpec.builder(int.class, "ORDINAL", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$L", ordinalOf(spec, error))
+        .build());
+    type.addField(FieldSpec.builder(kindType(spec), "KIND", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.$L", kindType(spec), NameUtils.toConstantCase(error.getName()))
+        .build());
+    StackTraceMode stackTrace = resolveStackTrace(spec, category, error);
+    type.addField(FieldSpec.builder(boolean.class, "WRITABLE_STACK_TRACE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$L", stackTrace != StackTraceMode.NONE)
+        .build());
+    if (stackTrace == StackTraceMode.SAMPLED) {
+      ClassName samplerType = ClassName.get(spec.getPackageName(), baseExceptionName(spec)).nestedClass("StackTraceSampler");
+      int sampleRate = resolveSetting(spec, category, error,
+          ErrorDef::getSampleRate, CategoryDef::getSampleRate, spec.getSampleRate(), DEFAULT_SAMPLE_RATE);
+      int maxFrames = resolveSetting(spec, category, error,
+          ErrorDef::getMaxFrames, CategoryDef::getMaxFrames, spec.getMaxFrames(), DEFAULT_MAX_FRAMES);
+      type.addField(FieldSpec.builder(samplerType, "STACK_TRACE_SAMPLER", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+          .initializer("new $T($L, $L)", samplerType, sampleRate, maxFrames)
+          .build());
+      type.addMethod(MethodSpec.methodBuilder("stackTraceSampler")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PROTECTED)
+          .returns(samplerType)
+          .addStatement("return STACK_TRACE_SAMPLER")
+          .build());
+    }
+
+    if (!includeHttpStatus && error.getHttpStatus() != null) {
+      type.addMethod(MethodSpec.methodBuilder("httpStatus")
+          .addModifiers(Modifier.PUBLIC)
+          .addAnnotation(Override.class)
+          .returns(int.class)
+          .addStatement("return $L", error.getHttpStatus())
+          .build());
+    }
+
+    List<Map.Entry<String, String>> customCoreParams = new ArrayList<>();
+    for (Map.Entry<String, String> entry : category.getParams().entrySet()) {
+      if (!DERIVED_PARAMS.contains(entry.getKey())) {
+        customCoreParams.add(entry);
+      }
+    }
+
+    List<ParameterSpec> params = new ArrayList<>();
+    List<TypeName> paramTypes = new ArrayList<>();
+    List<String> coreParamNames = new ArrayList<>();
+    for (Map.Entry<String, String> entry : customCoreParams) {
+      TypeName typeName = parseTypeName(entry.getValue());
+      paramTypes.add(typeName);
+      params.add(ParameterSpec.builder(typeName, entry.getKey()).build());
+      coreParamNames.add(entry.getKey());
+    }
+
+    for (Map.Entry<String, String> entry : error.getRequiredParams().entrySet()) {
+      TypeName typeName = parseTypeName(entry.getValue());
+      paramTypes.add(typeName);
+      params.add(ParameterSpec.builder(typeName, entry.getKey()).build());
+      type.addField(FieldSpec.builder(typeName, entry.getKey(), Modifier.PRIVATE, Modifier.FINAL).build());
+      type.addMethod(MethodSpec.methodBuilder(entry.getKey())
+          .addModifiers(Modifier.PUBLIC)
+          .returns(typeName)
+          .addStatement("return $L", entry.getKey())
+          .build());
+    }
+
+    for (Map.Entry<String, String> entry : error.getOptionalParams().entrySet()) {
+      TypeName typeName = parseTypeName(entry.getValue());
+      paramTypes.add(typeName);
+      params.add(ParameterSpec.builder(typeName, entry.getKey()).build());
+      type.addField(FieldSpec.builder(typeName, entry.getKey(), Modifier.PRIVATE, Modifier.FINAL).build());
+      type.addMethod(MethodSpec.methodBuilder(entry.getKey())
+          .addModifiers(Modifier.PUBLIC)
+          .returns(typeName)
+          .addStatement("return $L", entry.getKey())
+          .build());
+    }
+    type.addMethod(MethodSpec.methodBuilder("kind")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(kindType(spec))
+        .addStatement("return KIND")
+        .build());
+    String descriptionConstant = addStaticRendering(spec, type, category, error, error.getDescription(), "DESCRIPTION");
+    String detailConstant = addStaticRendering(spec, type, category, error, error.getDetail(), "DETAIL");
+    type.addMethod(buildRenderer(spec, "renderDescription", error.getDescription(), descriptionConstant, category, error));
+    type.addMethod(buildAppendRenderer(spec, "renderDescription", error.getDescription(), descriptionConstant, category, error));
+    type.addMethod(buildRenderer(spec, "renderDetail", error.getDetail(), detailConstant, category, error));
+    type.addMethod(buildAppendRenderer(spec, "renderDetail", error.getDetail(), detailConstant, category, error));
+    for (String template : List.of(error.getDescription(), error.getDetail())) {
+      MethodSpec staticRenderer = buildStaticRenderer(spec, template == error.getDescription()
+          ? "renderDescription" : "renderDetail", template, category, error);
+      if (staticRenderer != null) {
+        type.addMethod(staticRenderer);
+      }
+    }
+
+    ClassName errorClass = ClassName.get(spec.getPackageName(), type.build().name);
+    ClassName valueClass = errorValueType(spec, error);
+    if (!params.isEmpty()) {
+      addDetailsView(spec, type, errorClass, params);
+      addErrorIdentity(spec, type, params, List.of(errorClass, valueClass));
+    }
+
+    MethodSpec.Builder ctor = MethodSpec.constructorBuilder();
+    for (ParameterSpec param : params) {
+      ctor.addParameter(param);
+    }
+    ctor.addParameter(Throwable.class, "cause");
+    String coreArgs = String.join(", ", coreParamNames);
+    String extra = coreArgs.isEmpty() ? "" : ", " + coreArgs;
+    ctor.addStatement("super(ORDINAL, cause, true, WRITABLE_STACK_TRACE$L)", extra);
+    Set<String> coreParamNameSet = new LinkedHashSet<>(coreParamNames);
+    MethodSpec.Builder visitParams = MethodSpec.methodBuilder("visitParams")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .addParameter(fieldVisitorType(spec), "visitor")
+        .addStatement("super.visitParams(visitor)");
+    for (ParameterSpec param : params) {
+      if (!coreParamNameSet.contains(param.name)) {
+        ctor.addStatement("this.$L = $L", param.name, param.name);
+        visitParams.addStatement(visitField(param.name, param.type));
+      }
+    }
+    ctor.addStatement("$T.created(ORDINAL)", errorStatsType(spec));
+    if (spec.isJfr()) {
+      ctor.addStatement("$T.emit(ORDINAL)", errorEventType(spec));
+    }
+    type.addMethod(ctor.build());
+    if (params.size() > coreParamNameSet.size()) {
+      type.addMethod(visitParams.build());
+    }
+
+    boolean cachedInstance = params.isEmpty() && resolveSetting(spec, category, error,
+        ErrorDef::getCachedInstance, ignored -> null, spec.getCachedInstance(), false);
+    if (cachedInstance) {
+      addCachedInstance(spec, type);
+    }
+
+    type.addMethod(MethodSpec.methodBuilder("builder")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .returns(ClassName.get("", "Builder"))
+        .addStatement("return new Builder()")
+        .build());
+    addStaticFactories(category, error, type, errorClass, params);
+
+    if (!containerCategoriesOf(spec, category).isEmpty()) {
+      addDescriptorFactories(spec, category, error, type, params);
+    }
+
+    type.addType(buildBuilder(category, error, params, paramTypes));
+
+    return type.build();
+  }
+
+  private TypeSpec buildErrorValues(EdlSpec spec) {
+    ClassName valuesType = ClassName.get(spec.getPackageName(), errorValuesName(spec));
+    TypeSpec.Builder type = TypeSpec.classBuilder(valuesType)
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT, Modifier.SEALED)
+        .addSuperinterface(ClassName.get(spec.getPackageName(), errorDescriptorName(spec)))
+        .addField(FieldSpec.builder(String.class, "SOURCE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer("$S", spec.getSource())
+            .build())
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("source")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(String.class)
+            .addStatement("return SOURCE")
+            .build());
+
+    for (ErrorDef error : spec.getErrors().values()) {
+      addErrorValueFactory(spec, spec.getCategories().get(error.getCategory()), error, type);
+    }
+    for (CategoryDef category : spec.getCategories().values()) {
+      if (!hasErrorValues(spec, category)) {
+        continue;
+      }
+      TypeSpec.Builder categoryType = TypeSpec.classBuilder(categoryValueType(spec, category))
+          .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT, Modifier.STATIC, Modifier.SEALED)
+          .superclass(category.getParent() == null
+              ? valuesType
+              : categoryValueType(spec, spec.getCategories().get(category.getParent())))
+          .addMethod(MethodSpec.constructorBuilder()
+              .addModifiers(Modifier.PRIVATE)
+              .build());
+      for (Map.Entry<String, String> entry : category.getParams().entrySet()) {
+        if (!DERIVED_PARAMS.contains(entry.getKey())) {
+          categoryType.addMethod(MethodSpec.methodBuilder(entry.getKey())
+              .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+              .returns(parseTypeName(entry.getValue()))
+              .build());
+        }
+      }
+      categoryType.addMethod(MethodSpec.methodBuilder("toException")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+          .returns(ClassName.get(spec.getPackageName(), category.getName() + "Exception"))
+          .build());
+      type.addType(categoryType.build());
+    }
+    for (ErrorDef error : spec.getErrors().values()) {
+      type.addType(buildErrorValue(spec, spec.getCategories().get(error.getCategory()), error));
+    }
+    return type.build();
+  }
+
+  private TypeSpec buildResult(EdlSpec spec) {
+    ClassName resultType = ClassName.get(spec.getPackageName(), spec.getBaseException() + "Result");
+    ClassName valuesType = ClassName.get(spec.getPackageName(), errorValuesName(spec));
+    TypeVariableName t = TypeVariableName.get("T");
+    TypeVariableName u = TypeVariableName.get("U");
+    TypeName resultOfT = ParameterizedTypeName.get(resultType, t);
+    TypeName resultOfU = ParameterizedTypeName.get(resultType, u);
+    TypeName mapper = ParameterizedTypeName.get(ClassName.get(Function.class),
+        WildcardTypeName.supertypeOf(t), WildcardTypeName.subtypeOf(u));
+    TypeName flatMapper = ParameterizedTypeName.get(ClassName.get(Function.class),
+        WildcardTypeName.supertypeOf(t), resultOfU);
+
+    return TypeSpec.classBuilder(resultType)
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .addTypeVariable(t)
+        .addField(FieldSpec.builder(t, "value", Modifier.PRIVATE, Modifier.FINAL).build())
+        .addField(FieldSpec.builder(valuesType, "error", Modifier.PRIVATE, Modifier.FINAL).build())
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(t, "value")
+            .addParameter(valuesType, "error")
+            .addStatement("this.value = value")
+            .addStatement("this.error = error")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("success")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addTypeVariable(t)
+            .returns(resultOfT)
+            .addParameter(t, "value")
+            .addStatement("return new $T<>(value, null)", resultType)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("failure")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addTypeVariable(t)
+            .returns(resultOfT)
+            .addParameter(valuesType, "error")
+            .addStatement("return new $T<>(null, $T.requireNonNull(error, $S))", resultType, Objects.class, "error")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("isSuccess")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(boolean.class)
+            .addStatement("return error == null")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("isFailure")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(boolean.class)
+            .addStatement("return error != null")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("value")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(t)
+            .beginControlFlow("if (error != null)")
+            .addStatement("throw new $T($S + error)", IllegalStateException.class, "No value present: ")
+            .endControlFlow()
+            .addStatement("return value")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("error")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(valuesType)
+            .addStatement("return error")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("orElse")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(t)
+            .addParameter(t, "other")
+            .addStatement("return error == null ? value : other")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("orElseThrow")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(t)
+            .beginControlFlow("if (error != null)")
+            .addStatement("throw error.toException()")
+            .endControlFlow()
+            .addStatement("return value")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("map")
+            .addModifiers(Modifier.PUBLIC)
+            .addTypeVariable(u)
+            .returns(resultOfU)
+            .addParameter(mapper, "mapper")
+            .addStatement("return error == null ? success(mapper.apply(value)) : castFailure()")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("flatMap")
+            .addModifiers(Modifier.PUBLIC)
+            .addTypeVariable(u)
+            .returns(resultOfU)
+            .addParameter(flatMapper, "mapper")
+            .addStatement("return error == null ? $T.requireNonNull(mapper.apply(value), $S) : castFailure()",
+                Objects.class, "result")
+            .build())
+        // A failure holds no value, so it is reused as is for any result type.
+        .addMethod(MethodSpec.methodBuilder("castFailure")
+            .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                .addMember("value", "$S", "unchecked")
+                .build())
+            .addModifiers(Modifier.PRIVATE)
+            .addTypeVariable(u)
+            .returns(resultOfU)
+            .addStatement("return ($T) this", resultOfU)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("toString")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(String.class)
+            .addStatement("return error == null ? $S + value + $S : $S + error + $S",
+                "Success[", "]", "Failure[", "]")
+            .build())
+        .build();
+  }
+
+  private TypeSpec buildErrorValue(EdlSpec spec, CategoryDef category, ErrorDef error) {
+    ClassName errorClass = ClassName.get(spec.getPackageName(), NameUtils.toPascalCase(error.getName()) + "Exception");
+    ClassName valueClass = errorValueType(spec, error);
+    ClassName fieldView = fieldViewType(spec);
+    List<ParameterSpec> params = errorParams(category, error);
+    TypeSpec.Builder type = TypeSpec.classBuilder(valueClass)
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .superclass(categoryValueType(spec, category));
+
+    type.addField(FieldSpec.builder(int.class, "ORDINAL", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.ORDINAL", errorClass)
+        .build());
+    type.addField(FieldSpec.builder(kindType(spec), "KIND", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.$L", kindType(spec), NameUtils.toConstantCase(error.getName()))
+        .build());
+    type.addField(FieldSpec.builder(boolean.class, "RECOVERABLE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$T.RECOVERABLE", errorClass)
+        .build());
+    type.addField(FieldSpec.builder(String.class, "CODE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$S", category.getCodePrefix() + error.getNumericCode())
+        .build());
+    List<String> infoKeys = infoKeys(category);
+    CodeBlock.Builder keys = CodeBlock.builder().add("{");
+    MethodSpec.Builder valueAt = MethodSpec.methodBuilder("valueAt")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(Object.class)
+        .addParameter(int.class, "index")
+        .beginControlFlow("switch (index)");
+    for (int i = 0; i < infoKeys.size(); i++) {
+      keys.add(i == 0 ? "$S" : ", $S", infoKeys.get(i));
+      valueAt.addStatement("case $L: return $T.this.$L()", i, valueClass, infoAccessor(infoKeys.get(i)));
+    }
+    valueAt.addStatement("default: throw new $T(index)", IndexOutOfBoundsException.class)
+        .endControlFlow();
+    type.addField(FieldSpec.builder(String[].class, "INFO_KEYS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(keys.add("}").build())
+        .build());
+
+    if (params.isEmpty()) {
+      type.addField(FieldSpec.builder(valueClass, "INSTANCE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+          .initializer("new $T()", valueClass)
+          .build());
+    }
+    MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+        .addModifiers(Modifier.PRIVATE);
+    for (ParameterSpec param : params) {
+      type.addField(FieldSpec.builder(param.type, param.name, Modifier.PRIVATE, Modifier.FINAL).build());
+      constructor.addParameter(param).addStatement("this.$L = $L", param.name, param.name);
+    }
+    type.addMethod(constructor.build());
+    for (ParameterSpec param : params) {
+      type.addMethod(MethodSpec.methodBuilder(param.name)
+          .addModifiers(Modifier.PUBLIC)
+          .returns(param.type)
+          .addStatement("return $L", param.name)
+          .build());
+    }
+
+    type.addMethod(MethodSpec.methodBuilder("ordinal")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addStatement("return ORDINAL")
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("kind")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(kindType(spec))
+        .addStatement("return KIND")
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("code")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(String.class)
+        .addStatement("return CODE")
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("recoverable")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(boolean.class)
+        .addStatement("return RECOVERABLE")
+        .build());
+    addValueRenderer(spec, type, errorClass, "description", error.getDescription(), category, error);
+    addValueRenderer(spec, type, errorClass, "detail", error.getDetail(), category, error);
+    type.addMethod(MethodSpec.methodBuilder("errorInfo")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(fieldView)
+        .addStatement("return $L", TypeSpec.anonymousClassBuilder("INFO_KEYS")
+            .superclass(fieldView)
+            .addMethod(valueAt.build())
+            .build())
+        .build());
+    addDetailsView(spec, type, valueClass, params);
+    if (params.isEmpty()) {
+      type.addMethod(MethodSpec.methodBuilder("sameError")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PUBLIC)
+          .returns(boolean.class)
+          .addParameter(ClassName.get(spec.getPackageName(), errorDescriptorName(spec)), "other")
+          .addStatement("return other.ordinal() == ORDINAL")
+          .build());
+      type.addMethod(MethodSpec.methodBuilder("errorHash")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PUBLIC)
+          .returns(int.class)
+          .addStatement("return ORDINAL")
+          .build());
+    } else {
+      addErrorIdentity(spec, type, params, List.of(errorClass, valueClass));
+      type.addMethod(MethodSpec.methodBuilder("equals")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PUBLIC)
+          .returns(boolean.class)
+          .addParameter(Object.class, "other")
+          .addStatement("return other instanceof $T && sameError(($T) other)", valueClass, valueClass)
+          .build());
+      type.addMethod(MethodSpec.methodBuilder("hashCode")
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PUBLIC)
+          .returns(int.class)
+          .addStatement("return errorHash()")
+          .build());
+    }
+    List<String> names = new ArrayList<>();
+    for (ParameterSpec param : params) {
+      names.add(param.name);
+    }
+    names.add("null");
+    type.addMethod(MethodSpec.methodBuilder("toException")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(errorClass)
+        .addStatement("return new $T($L)", errorClass, String.join(", ", names))
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("toString")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(String.class)
+        .addStatement("return CODE + $S + description()", ": ")
+        .build());
+    return type.build();
+  }
+
+  private void addErrorValueFactory(EdlSpec spec,
+                                    CategoryDef category,
+                                    ErrorDef error,
+                                    TypeSpec.Builder valuesType) {
+    ClassName valueClass = errorValueType(spec, error);
+    List<ParameterSpec> params = errorParams(category, error);
+    Set<String> required = requiredParams(category, error);
+    for (List<ParameterSpec> overload : factoryOverloads(error, params)) {
+      MethodSpec.Builder factory = MethodSpec.methodBuilder(error.getName())
+          .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+          .returns(valueClass);
+      List<String> args = new ArrayList<>();
+      for (ParameterSpec param : params) {
+        if (!overload.contains(param)) {
+          args.add("null");
+          continue;
+        }
+        factory.addParameter(param);
+        if (required.contains(param.name) && !param.type.isPrimitive()) {
+          factory.addStatement("$T.requireNonNull($L, $S)", Objects.class, param.name, param.name);
+        }
+        args.add(param.name);
+      }
+      valuesType.addMethod(params.isEmpty()
+          ? factory.addStatement("return $T.INSTANCE", valueClass).build()
+          : factory.addStatement("return new $T($L)", valueClass, String.join(", ", args)).build());
+    }
+  }
+
+  private void addStaticFactories(CategoryDef category,
+                                  ErrorDef error,
+                                  TypeSpec.Builder errorType,
+                                  ClassName errorClass,
+                                  List<ParameterSpec> params) {
+    Set<String> required = requiredParams(category, error);
+    Set<List<TypeName>> signatures = new HashSet<>();
+    for (List<ParameterSpec> overload : factoryOverloads(error, params)) {
+      for (boolean withCause : new boolean[] {false, true}) {
+        List<TypeName> signature = new ArrayList<>();
+        for (ParameterSpec param : overload) {
+          signature.add(param.type);
+        }
+        if (withCause) {
+          signature.add(TypeName.get(Throwable.class));
+        }
+        if (!signatures.add(signature)) {
+          continue;
+        }
+        MethodSpec.Builder factory = MethodSpec.methodBuilder("of")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(errorClass)
+            .addParameters(overload);
+        List<String> args = new ArrayList<>();
+        for (ParameterSpec param : params) {
+          if (!overload.contains(param)) {
+            args.add("null");
+            continue;
+          }
+          if (required.contains(param.name) && !param.type.isPrimitive()) {
+            factory.addStatement("$T.requireNonNull($L, $S)", Objects.class, param.name, param.name);
+          }
+          args.add(param.name);
+        }
+        if (withCause) {
+          factory.addParameter(Throwable.class, "cause");
+        }
+        args.add(withCause ? "cause" : "null");
+        errorType.addMethod(factory.addStatement("return new $T($L)", errorClass, String.join(", ", args)).build());
+      }
+    }
+  }
+
+  private void addDescriptorFactories(EdlSpec spec,
+                                      CategoryDef category,
+                                      ErrorDef error,
+                                      TypeSpec.Builder errorType,
+                                      List<ParameterSpec> params) {
+    ClassName valuesType = ClassName.get(spec.getPackageName(), errorValuesName(spec));
+    for (List<ParameterSpec> overload : factoryOverloads(error, params)) {
+      List<String> names = new ArrayList<>();
+      for (ParameterSpec param : overload) {
+        names.add(param.name);
+      }
+      errorType.addMethod(MethodSpec.methodBuilder("descriptor")
+          .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+          .returns(errorValueType(spec, error))
+          .addParameters(overload)
+          .addStatement("return $T.$L($L)", valuesType, error.getName(), String.join(", ", names))
+          .build());
+    }
+  }
+
+  private List<List<ParameterSpec>> factoryOverloads(ErrorDef error, List<ParameterSpec> params) {
+    List<ParameterSpec> requiredParams = new ArrayList<>();
+    for (ParameterSpec param : params) {
+      if (!error.getOptionalParams().containsKey(param.name) || param.type.isPrimitive()) {
+        requiredParams.add(param);
+      }
+    }
+    return requiredParams.size() == params.size()
+        ? List.of(params)
+        : List.of(requiredParams, params);
+  }
+
+  private Set<String> requiredParams(CategoryDef category, ErrorDef error) {
+    Set<String> required = new LinkedHashSet<>();
+    for (String param : category.getParams().keySet()) {
+      if (!DERIVED_PARAMS.contains(param)) {
+        required.add(param);
+      }
+    }
+    required.addAll(error.getRequiredParams().keySet());
+    required.addAll(extractPlaceholders(error.getDescription(), error.getDetail()));
+    return required;
+  }
+
+  private TypeSpec buildErrorCatalog(EdlSpec spec) {
+    ClassName catalogType = ClassName.get(spec.getPackageName(), errorCatalogName(spec));
+    ClassName entryType = catalogType.nestedClass("Entry");
+
+    List<ErrorDef> errors = new ArrayList<>(spec.getErrors().values());
+    List<String> codes = new ArrayList<>();
+    CodeBlock.Builder entries = CodeBlock.builder().add("{$>");
+    for (int i = 0; i < errors.size(); i++) {
+      ErrorDef error = errors.get(i);
+      CategoryDef category = spec.getCategories().get(error.getCategory());
+      String code = category.getCodePrefix() + error.getNumericCode();
+      codes.add(code);
+      int httpStatus = resolveSetting(spec, category, error,
+          ErrorDef::getHttpStatus, CategoryDef::getHttpStatus, null, 0);
+      boolean retryable = resolveSetting(spec, category, error,
+          ignored -> null, CategoryDef::getRetryable, null, false);
+      entries.add(i == 0 ? "\n" : ",\n")
+          .add("new $T($L, $S, $S, $L, $L, $L, $S, $S)", entryType, i, code, category.getName(), httpStatus,
+              error.isRecoverable(), retryable, error.getDescription(), error.getDetail());
+    }
+    entries.add("$<\n}");
+
+    List<Integer> sorted = new ArrayList<>();
+    for (int i = 0; i < codes.size(); i++) {
+      sorted.add(i);
+    }
+    sorted.sort((left, right) -> codes.get(left).compareTo(codes.get(right)));
+    CodeBlock.Builder sortedCodes = CodeBlock.builder().add("{");
+    CodeBlock.Builder sortedOrdinals = CodeBlock.builder().add("{");
+    for (int i = 0; i < sorted.size(); i++) {
+      sortedCodes.add(i == 0 ? "$S" : ", $S", codes.get(sorted.get(i)));
+      sortedOrdinals.add(i == 0 ? "$L" : ", $L", sorted.get(i));
+    }
+
+    String[][] entryFields = {
+        {"int", "ordinal"},
+        {"String", "code"},
+        {"String", "category"},
+        {"int", "httpStatus"},
+        {"boolean", "recoverable"},
+        {"boolean", "retryable"},
+        {"String", "descriptionTemplate"},
+        {"String", "detailTemplate"}
+    };
+    TypeSpec.Builder entry = TypeSpec.classBuilder(entryType)
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL);
+    MethodSpec.Builder entryConstructor = MethodSpec.constructorBuilder()
+        .addModifiers(Modifier.PRIVATE);
+    for (String[] field : entryFields) {
+      TypeName fieldType = "String".equals(field[0]) ? ClassName.get(String.class) : parseTypeName(field[0]);
+      entry.addField(FieldSpec.builder(fieldType, field[1], Modifier.PRIVATE, Modifier.FINAL).build());
+      entryConstructor.addParameter(fieldType, field[1])
+          .addStatement("this.$L = $L", field[1], field[1]);
+    }
+    entry.addMethod(entryConstructor.build());
+    for (String[] field : entryFields) {
+      TypeName fieldType = "String".equals(field[0]) ? ClassName.get(String.class) : parseTypeName(field[0]);
+      entry.addMethod(MethodSpec.methodBuilder(field[1])
+          .addModifiers(Modifier.PUBLIC)
+          .returns(fieldType)
+          .addStatement("return $L", field[1])
+          .build());
+    }
+
+    return TypeSpec.classBuilder(catalogType)
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .addField(FieldSpec.builder(ArrayTypeName.of(entryType), "ENTRIES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer(entries.build())
+            .build())
+        .addField(FieldSpec.builder(String[].class, "SORTED_CODES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer(sortedCodes.add("}").build())
+            .build())
+        .addField(FieldSpec.builder(int[].class, "SORTED_ORDINALS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer(sortedOrdinals.add("}").build())
+            .build())
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("size")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(int.class)
+            .addStatement("return ENTRIES.length")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("byOrdinal")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(entryType)
+            .addParameter(int.class, "ordinal")
+            .addStatement("return ENTRIES[$T.checkIndex(ordinal, ENTRIES.length)]", Objects.class)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("ordinalOf")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(int.class)
+            .addParameter(String.class, "code")
+            .addStatement("int index = $T.binarySearch(SORTED_CODES, $T.requireNonNull(code, $S))",
+                Arrays.class, Objects.class, "code")
+            .addStatement("return index < 0 ? -1 : SORTED_ORDINALS[index]")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("byCode")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(entryType)
+            .addParameter(String.class, "code")
+            .addStatement("int ordinal = ordinalOf(code)")
+            .addStatement("return ordinal < 0 ? null : ENTRIES[ordinal]")
+            .build())
+        .addType(entry.build())
+        .build();
+  }
+
+  private TypeSpec buildErrorEvent(EdlSpec spec) {
+    ClassName eventType = errorEventType(spec);
+    ClassName catalogType = ClassName.get(spec.getPackageName(), errorCatalogName(spec));
+    String[][] eventFields = {
+        {"String", "code", "Code"},
+        {"String", "category", "Category"},
+        {"int", "httpStatus", "HTTP Status"},
+        {"boolean", "recoverable", "Recoverable"}
+    };
+    TypeSpec.Builder type = TypeSpec.classBuilder(eventType)
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .superclass(ClassName.get("jdk.jfr", "Event"))
+        .addAnnotation(AnnotationSpec.builder(ClassName.get("jdk.jfr", "Name"))
+            .addMember("value", "$S", spec.getPackageName() + "." + errorValuesName(spec))
+            .build())
+        .addAnnotation(AnnotationSpec.builder(ClassName.get("jdk.jfr", "Label"))
+            .addMember("value", "$S", spec.getBaseException() + " Error")
+            .build())
+        .addAnnotation(AnnotationSpec.builder(ClassName.get("jdk.jfr", "Category"))
+            .addMember("value", "{$S, $S}", "EDL", spec.getSource())
+            .build())
+        .addAnnotation(AnnotationSpec.builder(ClassName.get("jdk.jfr", "StackTrace"))
+            .addMember("value", "true")
+            .build());
+    MethodSpec.Builder emit = MethodSpec.methodBuilder("emit")
+        .addModifiers(Modifier.STATIC)
+        .addParameter(int.class, "ordinal")
+        .addStatement("$T event = new $T()", eventType, eventType)
+        .beginControlFlow("if (event.isEnabled())")
+        .addStatement("$T entry = $T.byOrdinal(ordinal)", catalogType.nestedClass("Entry"), catalogType);
+    for (String[] field : eventFields) {
+      TypeName fieldType = "String".equals(field[0]) ? ClassName.get(String.class) : parseTypeName(field[0]);
+      type.addField(FieldSpec.builder(fieldType, field[1])
+          .addAnnotation(AnnotationSpec.builder(ClassName.get("jdk.jfr", "Label"))
+              .addMember("value", "$S", field[2])
+              .build())
+          .build());
+      emit.addStatement("event.$L = entry.$L()", field[1], field[1]);
+    }
+    emit.addStatement("event.commit()")
+        .endControlFlow();
+    return type.addMethod(emit.build()).build();
+  }
+
+  private TypeSpec buildErrorStats(EdlSpec spec) {
+    ClassName statsType = errorStatsType(spec);
+    ClassName catalogType = ClassName.get(spec.getPackageName(), errorCatalogName(spec));
+    ClassName snapshotType = statsType.nestedClass("Snapshot");
+    ClassName mxBeanType = statsType.nestedClass("StatsMXBean");
+    ClassName objectNameType = ClassName.get("javax.management", "ObjectName");
+    ClassName serverType = ClassName.get("javax.management", "MBeanServer");
+    ClassName managementFactory = ClassName.get("java.lang.management", "ManagementFactory");
+    TypeName countsMap = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class),
+        ClassName.get(Long.class));
+    TypeName adders = ArrayTypeName.of(LongAdder.class);
+
+    TypeSpec.Builder type = TypeSpec.classBuilder(statsType)
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .addField(FieldSpec.builder(String.class, "OBJECT_NAME", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .initializer("$S", spec.getPackageName() + ":type=ErrorStats,name=" + spec.getBaseException())
+            .build())
+        .addField(FieldSpec.builder(adders, "CREATED", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer("adders()")
+            .build())
+        .addField(FieldSpec.builder(adders, "HANDLED", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+            .initializer("adders()")
+            .build());
+    if (spec.isJmx()) {
+      type.addStaticBlock(CodeBlock.builder()
+          .beginControlFlow("try")
+          .addStatement("registerMBean()")
+          .nextControlFlow("catch ($T | $T e)", IllegalStateException.class, SecurityException.class)
+          .add("// statistics keep counting without JMX\n")
+          .endControlFlow()
+          .build());
+    }
+    type.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("adders")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(adders)
+            .addStatement("$T counters = new $T[$T.size()]", adders, LongAdder.class, catalogType)
+            .beginControlFlow("for (int i = 0; i < counters.length; i++)")
+            .addStatement("counters[i] = new $T()", LongAdder.class)
+            .endControlFlow()
+            .addStatement("return counters")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("created")
+            .addModifiers(Modifier.STATIC)
+            .addParameter(int.class, "ordinal")
+            .addStatement("CREATED[ordinal].increment()")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("handled")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addParameter(int.class, "ordinal")
+            .addStatement("HANDLED[ordinal].increment()")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("handled")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addParameter(int.class, "ordinal")
+            .addParameter(long.class, "count")
+            .addStatement("HANDLED[ordinal].add(count)")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("createdCount")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(long.class)
+            .addParameter(int.class, "ordinal")
+            .addStatement("return CREATED[ordinal].sum()")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("handledCount")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(long.class)
+            .addParameter(int.class, "ordinal")
+            .addStatement("return HANDLED[ordinal].sum()")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("snapshot")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(snapshotType)
+            .addStatement("long[] created = new long[CREATED.length]")
+            .addStatement("long[] handled = new long[HANDLED.length]")
+            .beginControlFlow("for (int i = 0; i < created.length; i++)")
+            .addStatement("created[i] = CREATED[i].sum()")
+            .addStatement("handled[i] = HANDLED[i].sum()")
+            .endControlFlow()
+            .addStatement("return new $T(created, handled)", snapshotType)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("reset")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .beginControlFlow("for (int i = 0; i < CREATED.length; i++)")
+            .addStatement("CREATED[i].reset()")
+            .addStatement("HANDLED[i].reset()")
+            .endControlFlow()
+            .build())
+        .addMethod(MethodSpec.methodBuilder("registerMBean")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.SYNCHRONIZED)
+            .returns(objectNameType)
+            .beginControlFlow("try")
+            .addStatement("$T name = new $T(OBJECT_NAME)", objectNameType, objectNameType)
+            .addStatement("$T server = $T.getPlatformMBeanServer()", serverType, managementFactory)
+            .beginControlFlow("if (!server.isRegistered(name))")
+            .addStatement("server.registerMBean(new Bean(), name)")
+            .endControlFlow()
+            .addStatement("return name")
+            .nextControlFlow("catch ($T e)", ClassName.get("javax.management", "JMException"))
+            .addStatement("throw new $T($S + OBJECT_NAME, e)", IllegalStateException.class, "Cannot register ")
+            .endControlFlow()
+            .build());
+
+    type.addType(TypeSpec.classBuilder(snapshotType)
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .addField(long[].class, "created", Modifier.PRIVATE, Modifier.FINAL)
+        .addField(long[].class, "handled", Modifier.PRIVATE, Modifier.FINAL)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(long[].class, "created")
+            .addParameter(long[].class, "handled")
+            .addStatement("this.created = created")
+            .addStatement("this.handled = handled")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("size")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(int.class)
+            .addStatement("return created.length")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("created")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(long.class)
+            .addParameter(int.class, "ordinal")
+            .addStatement("return created[ordinal]")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("handled")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(long.class)
+            .addParameter(int.class, "ordinal")
+            .addStatement("return handled[ordinal]")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("totalCreated")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(long.class)
+            .addStatement("return $T.stream(created).sum()", Arrays.class)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("totalHandled")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(long.class)
+            .addStatement("return $T.stream(handled).sum()", Arrays.class)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("createdByCode")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(countsMap)
+            .addStatement("return byCode(created)")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("handledByCode")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(countsMap)
+            .addStatement("return byCode(handled)")
+            .build())
+        .addMethod(MethodSpec.methodBuilder("byCode")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(countsMap)
+            .addParameter(long[].class, "counts")
+            .addStatement("$T byCode = new $T<>(counts.length * 4 / 3 + 1)", countsMap, LinkedHashMap.class)
+            .beginControlFlow("for (int i = 0; i < counts.length; i++)")
+            .addStatement("byCode.put($T.byOrdinal(i).code(), counts[i])", catalogType)
+            .endControlFlow()
+            .addStatement("return byCode")
+            .build())
+        .build());
+
+    String[][] beanMethods = {
+        {"getCreatedByCode", "createdByCode"},
+        {"getHandledByCode", "handledByCode"},
+        {"getTotalCreated", "totalCreated"},
+        {"getTotalHandled", "totalHandled"}
+    };
+    TypeSpec.Builder mxBean = TypeSpec.interfaceBuilder(mxBeanType)
+        .addModifiers(Modifier.PUBLIC);
+    TypeSpec.Builder bean = TypeSpec.classBuilder("Bean")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .addSuperinterface(mxBeanType);
+    for (String[] method : beanMethods) {
+      TypeName returnType = method[1].startsWith("total") ? TypeName.LONG : countsMap;
+      mxBean.addMethod(MethodSpec.methodBuilder(method[0])
+          .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+          .returns(returnType)
+          .build());
+      bean.addMethod(MethodSpec.methodBuilder(method[0])
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PUBLIC)
+          .returns(returnType)
+          .addStatement("return snapshot().$L()", method[1])
+          .build());
+    }
+    mxBean.addMethod(MethodSpec.methodBuilder("reset")
+        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+        .build());
+    bean.addMethod(MethodSpec.methodBuilder("reset")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addStatement("$T.reset()", statsType)
+        .build());
+    return type.addType(mxBean.build()).addType(bean.build()).build();
+  }
+
+  private List<ClassName> permittedSubclasses(EdlSpec spec, String categoryName) {
+    List<ClassName> permitted = new ArrayList<>();
+    if (!spec.isSealed()) {
+      return permitted;
+    }
+    for (CategoryDef category : spec.getCategories().values()) {
+      if (Objects.equals(category.getParent(), categoryName)) {
+        permitted.add(ClassName.get(spec.getPackageName(), category.getName() + "Exception"));
+      }
+    }
+    if (categoryName != null) {
+      for (ErrorDef error : spec.getErrors().values()) {
+        if (categoryName.equals(error.getCategory())) {
+          permitted.add(ClassName.get(spec.getPackageName(), NameUtils.toPascalCase(error.getName()) + "Exception"));
+        }
+      }
+    }
+    return permitted;
+  }
+
+  private int ordinalOf(EdlSpec spec, ErrorDef error) {
+    return new ArrayList<>(spec.getErrors().keySet()).indexOf(error.getName());
+  }
+
+  private void addCachedInstance(EdlSpec spec, TypeSpec.Builder type) {
+    ClassName errorClass = ClassName.get("", type.build().name);
+    type.addField(FieldSpec.builder(errorClass, "INSTANCE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("new $T()", errorClass)
+        .build());
+    type.addMethod(MethodSpec.constructorBuilder()
+        .addModifiers(Modifier.PRIVATE)
+        .addStatement("super(ORDINAL, null, false, false)")
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("instance")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .returns(errorClass)
+        .addStatement("return INSTANCE")
+        .build());
+    MethodSpec.Builder throwIt = MethodSpec.methodBuilder("throwIt")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .returns(void.class)
+        .addStatement("$T.created(ORDINAL)", errorStatsType(spec));
+    if (spec.isJfr()) {
+      throwIt.addStatement("$T.emit(ORDINAL)", errorEventType(spec));
+    }
+    type.addMethod(throwIt.addStatement("throw INSTANCE").build());
+  }
+
+  private void addDetailsView(EdlSpec spec, TypeSpec.Builder type, ClassName errorClass, List<ParameterSpec> params) {
+    Set<String> errorFields = new LinkedHashSet<>();
+    for (FieldSpec field : type.fieldSpecs) {
+      errorFields.add(field.name);
+    }
+    CodeBlock.Builder detailKeys = CodeBlock.builder().add("{");
+    MethodSpec.Builder valueAt = MethodSpec.methodBuilder("valueAt")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(Object.class)
+        .addParameter(int.class, "index")
+        .beginControlFlow("switch (index)");
+    for (int i = 0; i < params.size(); i++) {
+      String name = params.get(i).name;
+      detailKeys.add(i == 0 ? "$S" : ", $S", name);
+      if (errorFields.contains(name)) {
+        valueAt.addStatement("case $L: return $T.this.$L", i, errorClass, name);
+      } else {
+        valueAt.addStatement("case $L: return $T.this.$L()", i, errorClass, name);
+      }
+    }
+    valueAt.addStatement("default: throw new $T(index)", IndexOutOfBoundsException.class)
+        .endControlFlow();
+    type.addField(FieldSpec.builder(String[].class, "DETAIL_KEYS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(detailKeys.add("}").build())
+        .build());
+    type.addMethod(MethodSpec.methodBuilder("details")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(fieldViewType(spec))
+        .addStatement("return $L", TypeSpec.anonymousClassBuilder("DETAIL_KEYS")
+            .superclass(fieldViewType(spec))
+            .addMethod(valueAt.build())
+            .build())
+        .build());
+  }
+
+  private void addErrorIdentity(EdlSpec spec, TypeSpec.Builder type, List<ParameterSpec> params,
+                                List<ClassName> sameTypes) {
+    TypeName otherType = ClassName.get(spec.getPackageName(), errorDescriptorName(spec));
+    CodeBlock.Builder same = CodeBlock.builder();
+    MethodSpec.Builder errorHash = MethodSpec.methodBuilder("errorHash")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(int.class)
+        .addStatement("int hash = ORDINAL");
+    for (int i = 0; i < params.size(); i++) {
+      String name = params.get(i).name;
+      TypeName typeName = params.get(i).type;
+      if (i > 0) {
+        same.add("\n&& ");
+      }
+      if (typeName.isPrimitive()) {
+        same.add("$T.compare($L(), that.$L()) == 0", typeName.box(), name, name);
+        errorHash.addStatement("hash = 31 * hash + $T.hashCode($L())", typeName.box(), name);
+      } else if (typeName instanceof ArrayTypeName) {
+        same.add("$T.equals($L(), that.$L())", Arrays.class, name, name);
+        errorHash.addStatement("hash = 31 * hash + $T.hashCode($L())", Arrays.class, name);
+      } else {
+        same.add("$T.equals($L(), that.$L())", Objects.class, name, name);
+        errorHash.addStatement("hash = 31 * hash + $T.hashCode($L())", Objects.class, name);
+      }
+    }
+    MethodSpec.Builder sameError = MethodSpec.methodBuilder("sameError")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(boolean.class)
+        .addParameter(otherType, "other");
+    for (ClassName sameType : sameTypes) {
+      sameError.beginControlFlow("if (other instanceof $T)", sameType)
+          .addStatement("$T that = ($T) other", sameType, sameType)
+          .addStatement("return $L", same.build())
+          .endControlFlow();
+    }
+    type.addMethod(sameError.addStatement("return false").build());
+    type.addMethod(errorHash.addStatement("return hash").build());
+  }
+
+  private MethodSpec buildRenderer(EdlSpec spec,
+                                   String methodName,
+                                   String template,
+                                   String templateConstant,
+                                   CategoryDef category,
+                                   ErrorDef error) {
+    List<Object> segments = templateSegments(spec, template, category, error);
+    CodeBlock rendered = segments.stream().noneMatch(CodeBlock.class::isInstance)
+        ? CodeBlock.of("$L", templateConstant)
+        : CodeBlock.of("$L(new $T($L)).toString()", methodName, StringBuilder.class, templateCapacity(segments));
+    return MethodSpec.methodBuilder(methodName)
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(String.class)
+        .addStatement("return $L", rendered)
+        .build();
+  }
+
+  private MethodSpec buildAppendRenderer(EdlSpec spec,
+                                         String methodName,
+                                         String template,
+                                         String templateConstant,
+                                         CategoryDef category,
+                                         ErrorDef error) {
+    List<Object> segments = templateSegments(spec, template, category, error);
+    CodeBlock rendered = segments.stream().noneMatch(CodeBlock.class::isInstance)
+        ? CodeBlock.of("out.append($L)", templateConstant)
+        : CodeBlock.of("$L(out$L)", methodName, staticRendererArgs(template, category, error, true));
+    return MethodSpec.methodBuilder(methodName)
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(StringBuilder.class)
+        .addParameter(StringBuilder.class, "out")
+        .addStatement("return $L", rendered)
+        .build();
+  }
+
+  // Shared by the exception and its error value; takes only the params the template renders.
+  private MethodSpec buildStaticRenderer(EdlSpec spec,
+                                         String methodName,
+                                         String template,
+                                         CategoryDef category,
+                                         ErrorDef error) {
+    List<Object> segments = templateSegments(spec, template, category, error, true);
+    if (segments.stream().noneMatch(CodeBlock.class::isInstance)) {
+      return null;
+    }
+    CodeBlock.Builder chain = CodeBlock.builder().add("out");
+    for (Object segment : segments) {
+      chain.add(segment instanceof CodeBlock ? "\n.append($L)" : "\n.append($S)", segment);
+    }
+    MethodSpec.Builder renderer = MethodSpec.methodBuilder(methodName)
+        .addModifiers(Modifier.STATIC)
+        .returns(StringBuilder.class)
+        .addParameter(StringBuilder.class, "out");
+    for (ParameterSpec param : templateParams(template, category, error)) {
+      renderer.addParameter(param);
+    }
+    return renderer.addStatement("return $L", chain.build()).build();
+  }
+
+  private String staticRendererArgs(String template, CategoryDef category, ErrorDef error, boolean inException) {
+    StringBuilder args = new StringBuilder();
+    for (ParameterSpec param : templateParams(template, category, error)) {
+      args.append(", ").append(inException ? placeholderValue(param.name, category, error) : param.name);
+    }
+    return args.toString();
+  }
+
+  private List<ParameterSpec> templateParams(String template, CategoryDef category, ErrorDef error) {
+    Set<String> placeholders = extractPlaceholders(template);
+    List<ParameterSpec> params = new ArrayList<>();
+    for (ParameterSpec param : errorParams(category, error)) {
+      if (placeholders.contains(param.name)) {
+        params.add(param);
+      }
+    }
+    return params;
+  }
+
+  // Error values render through the exception's static renderer and cache the result like the exception does.
+  private void addValueRenderer(EdlSpec spec,
+                                TypeSpec.Builder type,
+                                ClassName errorClass,
+                                String accessor,
+                                String template,
+                                CategoryDef category,
+                                ErrorDef error) {
+    String suffix = accessor.substring(0, 1).toUpperCase() + accessor.substring(1);
+    String constant = staticRenderingConstant(spec, category, error, template, accessor.toUpperCase());
+    MethodSpec.Builder method = MethodSpec.methodBuilder(accessor)
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(String.class);
+    List<Object> segments = templateSegments(spec, template, category, error);
+    if (segments.stream().noneMatch(CodeBlock.class::isInstance)) {
+      type.addMethod(method.addStatement("return $T.$L", errorClass, constant).build());
+      return;
+    }
+    String cacheField = "rendered" + suffix;
+    type.addField(FieldSpec.builder(String.class, cacheField, Modifier.PRIVATE).build());
+    type.addMethod(method
+        .addStatement("$T rendered = $L", String.class, cacheField)
+        .beginControlFlow("if (rendered == null)")
+        .addStatement("rendered = $T.render$L(new $T($L)$L).toString()", errorClass, suffix, StringBuilder.class,
+            templateCapacity(segments), staticRendererArgs(template, category, error, false))
+        .addStatement("$L = rendered", cacheField)
+        .endControlFlow()
+        .addStatement("return rendered")
         .build());
+  }
 
-    TypeName mapStringObject = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(Object.class));
-    MethodSpec.Builder ctor = MethodSpec.constructorBuilder()
-        .addModifiers(Modifier.PRIVATE);
-    for (ParameterSpec param : params) {
-      ctor.addParameter(param);
+  private int templateCapacity(List<Object> segments) {
+    int capacity = 0;
+    for (Object segment : segments) {
+      capacity += segment instanceof CodeBlock ? 16 : ((String) segment).length();
     }
-    ctor.addParameter(mapStringObject, "details");
-    ctor.addParameter(Throwable.class, "cause");
-    String coreArgs = String.join(", ", coreParamNames);
-    String extra = coreArgs.isEmpty() ? "" : ", " + coreArgs;
-    if (includeHttpStatus) {
-      ctor.addStatement("super(ERROR_CODE, $L, DESCRIPTION_TEMPLATE, DETAIL_TEMPLATE, $T.requireNonNull(details, $S), cause$L)",
-          "HTTP_STATUS", Objects.class, "details", extra);
-    } else {
-      ctor.addStatement("super(ERROR_CODE, DESCRIPTION_TEMPLATE, DETAIL_TEMPLATE, $T.requireNonNull(details, $S), cause$L)",
-          Objects.class, "details", extra);
+    return capacity;
+  }
+
+  // Templates without per-instance values are rendered here once; the constant holds the result.
+  private String addStaticRendering(EdlSpec spec,
+                                    TypeSpec.Builder type,
+                                    CategoryDef category,
+                                    ErrorDef error,
+                                    String template,
+                                    String name) {
+    String constant = staticRenderingConstant(spec, category, error, template, name);
+    if (!constant.endsWith("_TEMPLATE")) {
+      type.addField(FieldSpec.builder(String.class, constant, Modifier.STATIC, Modifier.FINAL)
+          .initializer("$S", templateSegments(spec, template, category, error).get(0))
+          .build());
     }
-    Set<String> coreParamNameSet = new LinkedHashSet<>(coreParamNames);
-    for (ParameterSpec param : params) {
-      if (!coreParamNameSet.contains(param.name)) {
-        ctor.addStatement("this.$L = $L", param.name, param.name);
+    return constant;
+  }
+
+  private String staticRenderingConstant(EdlSpec spec,
+                                         CategoryDef category,
+                                         ErrorDef error,
+                                         String template,
+                                         String name) {
+    List<Object> segments = templateSegments(spec, template, category, error);
+    boolean folded = segments.size() == 1 && segments.get(0) instanceof String && !template.equals(segments.get(0));
+    return folded ? "RENDERED_" + name : name + "_TEMPLATE";
+  }
+
+  // Literal text as String, renderable placeholders as CodeBlock, in template order.
+  // source, code and recoverable are constant per error and are folded into the literal text.
+  private List<Object> templateSegments(EdlSpec spec, String template, CategoryDef category, ErrorDef error) {
+    return templateSegments(spec, template, category, error, false);
+  }
+
+  private List<Object> templateSegments(EdlSpec spec,
+                                        String template,
+                                        CategoryDef category,
+                                        ErrorDef error,
+                                        boolean paramsInScope) {
+    List<Object> segments = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
+    int last = 0;
+    while (matcher.find()) {
+      literal.append(template, last, matcher.start());
+      last = matcher.end();
+      String derived = derivedValue(spec, matcher.group(1), category, error);
+      if (derived != null) {
+        literal.append(derived);
+        continue;
+      }
+      CodeBlock value = placeholderValue(matcher.group(1), category, error);
+      if (value != null && paramsInScope) {
+        value = CodeBlock.of("$L", matcher.group(1));
+      }
+      if (value == null) {
+        literal.append(matcher.group());
+        continue;
+      }
+      if (literal.length() > 0) {
+        segments.add(literal.toString());
+        literal.setLength(0);
       }
+      segments.add(value);
     }
-    type.addMethod(ctor.build());
-
-    type.addMethod(MethodSpec.methodBuilder("builder")
-        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-        .returns(ClassName.get("", "Builder"))
-        .addStatement("return new Builder()")
-        .build());
+    literal.append(template.substring(last));
+    if (literal.length() > 0) {
+      segments.add(literal.toString());
+    }
+    return segments;
+  }
 
-    type.addType(buildBuilder(category, error, params, paramTypes));
+  private String derivedValue(EdlSpec spec, String name, CategoryDef category, ErrorDef error) {
+    if (!RENDERABLE_DERIVED_PARAMS.contains(name)) {
+      return null;
+    }
+    switch (name) {
+      case "source":
+        return spec.getSource();
+      case "code":
+        return category.getCodePrefix() + error.getNumericCode();
+      default:
+        return String.valueOf(error.isRecoverable());
+    }
+  }
 
-    return type.build();
+  private CodeBlock placeholderValue(String name, CategoryDef category, ErrorDef error) {
+    if (error.getRequiredParams().containsKey(name) || error.getOptionalParams().containsKey(name)) {
+      return CodeBlock.of("$L", name);
+    }
+    if (category.getParams().containsKey(name) && !DERIVED_PARAMS.contains(name)) {
+      return CodeBlock.of("$L()", name);
+    }
+    return null;
   }
 
   private TypeSpec buildBuilder(CategoryDef category,
@@ -586,28 +3453,44 @@ public final class JavaGenerator {
     TypeSpec.Builder builder = TypeSpec.classBuilder("Builder")
         .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL);
 
-    ClassName linkedHashMap = ClassName.get(LinkedHashMap.class);
-    TypeName mapStringObject = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(Object.class));
-
-    List<TypeName> boxedTypes = new ArrayList<>();
-    for (TypeName typeName : paramTypes) {
-      boxedTypes.add(typeName.isPrimitive() ? typeName.box() : typeName);
+    Set<String> required = requiredParams(category, error);
+    List<String> requiredNames = new ArrayList<>();
+    for (int i = 0; i < params.size(); i++) {
+      if (required.contains(params.get(i).name) || paramTypes.get(i).isPrimitive()) {
+        requiredNames.add(params.get(i).name);
+      }
     }
+    boolean wideMask = requiredNames.size() > Integer.SIZE;
+    TypeName maskType = wideMask ? TypeName.LONG : TypeName.INT;
+    String suffix = wideMask ? "L" : "";
 
     for (int i = 0; i < params.size(); i++) {
-      builder.addField(FieldSpec.builder(boxedTypes.get(i), params.get(i).name, Modifier.PRIVATE).build());
+      builder.addField(FieldSpec.builder(paramTypes.get(i), params.get(i).name, Modifier.PRIVATE).build());
     }
     builder.addField(FieldSpec.builder(Throwable.class, "cause", Modifier.PRIVATE).build());
+    if (!requiredNames.isEmpty()) {
+      long allSet = requiredNames.size() == Long.SIZE ? -1L : (1L << requiredNames.size()) - 1;
+      builder.addField(FieldSpec.builder(maskType, "REQUIRED", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+          .initializer("0x$L$L", Long.toHexString(allSet), suffix)
+          .build());
+      builder.addField(FieldSpec.builder(maskType, "set", Modifier.PRIVATE).build());
+    }
 
     for (int i = 0; i < params.size(); i++) {
       ParameterSpec param = params.get(i);
-      builder.addMethod(MethodSpec.methodBuilder(param.name)
+      MethodSpec.Builder setter = MethodSpec.methodBuilder(param.name)
           .addModifiers(Modifier.PUBLIC)
           .returns(ClassName.get("", "Builder"))
-          .addParameter(param)
-          .addStatement("this.$L = $L", param.name, param.name)
-          .addStatement("return this")
-          .build());
+          .addParameter(param);
+      int bit = requiredNames.indexOf(param.name);
+      setter.addStatement("this.$L = $L", param.name, param.name);
+      if (bit >= 0 && !paramTypes.get(i).isPrimitive()) {
+        setter.addStatement("set = $L == null ? set & ~0x$L$L : set | 0x$L$L", param.name,
+            Long.toHexString(1L << bit), suffix, Long.toHexString(1L << bit), suffix);
+      } else if (bit >= 0) {
+        setter.addStatement("set |= 0x$L$L", Long.toHexString(1L << bit), suffix);
+      }
+      builder.addMethod(setter.addStatement("return this").build());
     }
 
     builder.addMethod(MethodSpec.methodBuilder("cause")
@@ -622,75 +3505,31 @@ public final class JavaGenerator {
     MethodSpec.Builder buildMethod = MethodSpec.methodBuilder("build")
         .addModifiers(Modifier.PUBLIC)
         .returns(exceptionType);
-
-    Set<String> required = new LinkedHashSet<>();
-    for (String param : category.getParams().keySet()) {
-      if (!DERIVED_PARAMS.contains(param)) {
-        required.add(param);
-      }
-    }
-    required.addAll(error.getRequiredParams().keySet());
-    required.addAll(extractPlaceholders(error.getDescription(), error.getDetail()));
-
-    for (int i = 0; i < params.size(); i++) {
-      ParameterSpec param = params.get(i);
-      TypeName paramType = paramTypes.get(i);
-      TypeName boxedType = boxedTypes.get(i);
-      String localName = "resolved" + NameUtils.toPascalCase(param.name);
-      buildMethod.addStatement("$T $L = this.$L", boxedType, localName, param.name);
-      boolean isRequired = required.contains(param.name) || paramType.isPrimitive();
-      if (isRequired) {
-        buildMethod.beginControlFlow("if ($L == null)", localName)
-            .addStatement("throw new $T($S + $S)", IllegalStateException.class, "Missing required param: ", param.name)
+    MethodSpec.Builder missingParams = null;
+    if (!requiredNames.isEmpty()) {
+      buildMethod.beginControlFlow("if (set != REQUIRED)")
+          .addStatement("throw new $T(missingParams(set))", IllegalStateException.class)
+          .endControlFlow();
+      missingParams = MethodSpec.methodBuilder("missingParams")
+          .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+          .returns(String.class)
+          .addParameter(maskType, "set")
+          .addStatement("$T missing = new $T($S, $S, $S)", StringJoiner.class, StringJoiner.class,
+              ", ", "Missing required params: ", "");
+      for (int bit = 0; bit < requiredNames.size(); bit++) {
+        missingParams.beginControlFlow("if ((set & 0x$L$L) == 0)", Long.toHexString(1L << bit), suffix)
+            .addStatement("missing.add($S)", requiredNames.get(bit))
             .endControlFlow();
       }
+      missingParams.addStatement("return missing.toString()");
     }
 
-    buildMethod.addStatement("$T details = new $T<>()", mapStringObject, linkedHashMap);
-    for (int i = 0; i < params.size(); i++) {
-      ParameterSpec param = params.get(i);
-      String localName = "resolved" + NameUtils.toPascalCase(param.name);
-      buildMethod.addStatement("details.put($S, $L)", param.name, localName);
-    }
-
-    StringBuilder constructorArgs = new StringBuilder();
-    for (int i = 0; i < params.size(); i++) {
-      if (i > 0) {
-        constructorArgs.append(", ");
-      }
-      String localName = "resolved" + NameUtils.toPascalCase(params.get(i).name);
-      TypeName paramType = paramTypes.get(i);
-      if (paramType.isPrimitive()) {
-        String unboxed = boxedTypes.get(i).toString();
-        if ("java.lang.Integer".equals(unboxed)) {
-          constructorArgs.append(localName).append(".intValue()");
-        } else if ("java.lang.Long".equals(unboxed)) {
-          constructorArgs.append(localName).append(".longValue()");
-        } else if ("java.lang.Boolean".equals(unboxed)) {
-          constructorArgs.append(localName).append(".booleanValue()");
-        } else if ("java.lang.Byte".equals(unboxed)) {
-          constructorArgs.append(localName).append(".byteValue()");
-        } else if ("java.lang.Short".equals(unboxed)) {
-          constructorArgs.append(localName).append(".shortValue()");
-        } else if ("java.lang.Float".equals(unboxed)) {
-          constructorArgs.append(localName).append(".floatValue()");
-        } else if ("java.lang.Double".equals(unboxed)) {
-          constructorArgs.append(localName).append(".doubleValue()");
-        } else if ("java.lang.Character".equals(unboxed)) {
-          constructorArgs.append(localName).append(".charValue()");
-        } else {
-          constructorArgs.append(localName);
-        }
-      } else {
-        constructorArgs.append(localName);
-      }
-    }
-    if (constructorArgs.length() > 0) {
-      constructorArgs.append(", ");
+    List<String> constructorArgs = new ArrayList<>();
+    for (ParameterSpec param : params) {
+      constructorArgs.add(param.name);
     }
-    constructorArgs.append("details, cause");
-
-    buildMethod.addStatement("return new $T($L)", exceptionType, constructorArgs.toString());
+    constructorArgs.add("cause");
+    buildMethod.addStatement("return new $T($L)", exceptionType, String.join(", ", constructorArgs));
 
     builder.addMethod(buildMethod.build());
     builder.addMethod(MethodSpec.methodBuilder("throwException")
@@ -698,6 +3537,9 @@ public final class JavaGenerator {
         .returns(void.class)
         .addStatement("throw build()")
         .build());
+    if (missingParams != null) {
+      builder.addMethod(missingParams.build());
+    }
     return builder.build();
   }
 
@@ -785,6 +3627,41 @@ public final class JavaGenerator {
     return parseTypeName(arg);
   }
 
+  private StackTraceMode resolveStackTrace(EdlSpec spec, CategoryDef category, ErrorDef error) {
+    return resolveSetting(spec, category, error,
+        ErrorDef::getStackTrace, CategoryDef::getStackTrace, spec.getStackTrace(), StackTraceMode.FULL);
+  }
+
+  private boolean usesSampledStackTraces(EdlSpec spec) {
+    for (ErrorDef error : spec.getErrors().values()) {
+      CategoryDef category = spec.getCategories().get(error.getCategory());
+      if (resolveStackTrace(spec, category, error) == StackTraceMode.SAMPLED) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private <T> T resolveSetting(EdlSpec spec,
+                               CategoryDef category,
+                               ErrorDef error,
+                               Function<ErrorDef, T> errorValue,
+                               Function<CategoryDef, T> categoryValue,
+                               T specValue,
+                               T defaultValue) {
+    if (error != null && errorValue.apply(error) != null) {
+      return errorValue.apply(error);
+    }
+    CategoryDef current = category;
+    while (current != null) {
+      if (categoryValue.apply(current) != null) {
+        return categoryValue.apply(current);
+      }
+      current = current.getParent() == null ? null : spec.getCategories().get(current.getParent());
+    }
+    return specValue == null ? defaultValue : specValue;
+  }
+
   private Set<String> extractPlaceholders(String... templates) {
     Set<String> placeholders = new LinkedHashSet<>();
     for (String template : templates) {
@@ -797,8 +3674,42 @@ public final class JavaGenerator {
   }
 
   private Path writeIfChanged(Path packageDir, JavaFile javaFile) throws IOException {
-    Path file = packageDir.resolve(javaFile.typeSpec.name + ".java");
+    return writeIfChanged(packageDir, javaFile.typeSpec.name, javaFile.toString());
+  }
+
+  // JavaPoet 1.13 predates sealed classes: it prints NON_SEALED as "non_sealed" and has no permits clause,
+  // so only the top-level declaration of a sealed or non-sealed type is completed here.
+  private Path writeIfChanged(Path packageDir, JavaFile javaFile, List<ClassName> permitted) throws IOException {
+    Set<Modifier> modifiers = javaFile.typeSpec.modifiers;
+    boolean sealed = modifiers.contains(Modifier.SEALED);
+    if (!sealed && !modifiers.contains(Modifier.NON_SEALED)) {
+      return writeIfChanged(packageDir, javaFile);
+    }
+    if (sealed == permitted.isEmpty()) {
+      throw new IllegalStateException("Permitted subclasses do not match the modifiers of " + javaFile.typeSpec.name);
+    }
     String content = javaFile.toString();
+    Matcher declaration = Pattern.compile("^((?:[a-z]+ )*)" + (sealed ? "sealed" : "non_sealed") + " class "
+        + Pattern.quote(javaFile.typeSpec.name) + "( [^\n]*)? \\{$", Pattern.MULTILINE).matcher(content);
+    if (!declaration.find()) {
+      throw new IllegalStateException("Missing declaration of " + javaFile.typeSpec.name);
+    }
+    StringBuilder patched = new StringBuilder(content.length() + 64)
+        .append(content, 0, declaration.start())
+        .append(declaration.group(1))
+        .append(sealed ? "sealed" : "non-sealed")
+        .append(" class ")
+        .append(javaFile.typeSpec.name)
+        .append(declaration.group(2) == null ? "" : declaration.group(2));
+    for (int i = 0; i < permitted.size(); i++) {
+      patched.append(i == 0 ? " permits " : ", ").append(permitted.get(i).simpleName());
+    }
+    patched.append(" {").append(content, declaration.end(), content.length());
+    return writeIfChanged(packageDir, javaFile.typeSpec.name, patched.toString());
+  }
+
+  private Path writeIfChanged(Path packageDir, String typeName, String content) throws IOException {
+    Path file = packageDir.resolve(typeName + ".java");
     if (Files.exists(file)) {
       String existing = Files.readString(file, StandardCharsets.UTF_8);
       if (existing.equals(content)) {
@@ -822,15 +3733,25 @@ public final class JavaGenerator {
         .superclass(ClassName.get(spec.getPackageName(), "ExceptionHandlerBase"));
 
     ClassName rootType = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
+    boolean jsonBody = spec.getResponseBody() == ResponseBodyMode.JSON;
+    ClassName mediaType = ClassName.get("org.springframework.http", "MediaType");
+    TypeName jsonResponse = ParameterizedTypeName.get(responseEntity, TypeName.get(byte[].class));
     MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder("handle" + baseExceptionName(spec))
         .addModifiers(Modifier.PUBLIC)
         .addAnnotation(AnnotationSpec.builder(exceptionHandler)
             .addMember("value", "$T.class", rootType)
             .build())
         .addParameter(rootType, "exception")
-        .returns(ParameterizedTypeName.get(responseEntity, mapStringObject))
-        .addStatement("$T body = mapResponse(exception.errorInfo())", mapStringObject);
-    methodBuilder.addStatement("return $T.status(exception.httpStatus()).body(body)", responseEntity);
+        .addStatement("$T.handled(exception.ordinal())", errorStatsType(spec));
+    if (jsonBody) {
+      methodBuilder.returns(jsonResponse)
+          .addStatement("return $T.status(exception.httpStatus()).contentType($T.APPLICATION_JSON).body(exception.toJsonBytes())",
+              responseEntity, mediaType);
+    } else {
+      methodBuilder.returns(ParameterizedTypeName.get(responseEntity, mapStringObject))
+          .addStatement("$T body = mapResponse(exception)", mapStringObject)
+          .addStatement("return $T.status(exception.httpStatus()).body(body)", responseEntity);
+    }
     type.addMethod(methodBuilder.build());
 
     for (CategoryDef category : spec.getCategories().values()) {
@@ -844,14 +3765,18 @@ public final class JavaGenerator {
               .addMember("value", "$T.class", containerType)
               .build())
           .addParameter(containerType, "exception")
+          .addStatement("countHandled(exception)");
+      if (jsonBody) {
+        containerHandler.returns(jsonResponse)
+            .addStatement("return $T.status(exception.httpStatus()).contentType($T.APPLICATION_JSON).body(exception.toJsonBytes())",
+                responseEntity, mediaType);
+        type.addMethod(containerHandler.build());
+        continue;
+      }
+      containerHandler
           .returns(ParameterizedTypeName.get(responseEntity, mapStringObject))
-          .addStatement("$T infos = new $T<>()", ParameterizedTypeName.get(ClassName.get(List.class), mapStringObject),
-              ArrayList.class)
-          .beginControlFlow("for ($T error : exception.errors())", rootType)
-          .addStatement("infos.add(error.errorInfo())")
-          .endControlFlow()
-          .addStatement("$T rendered = renderContainerTemplate(CONTAINER_TEMPLATE, infos)", Object.class)
-          .addStatement("return $T.status(exception.httpStatus()).body(($T) rendered)", responseEntity, mapStringObject);
+          .addStatement("$T body = mapContainerResponse(exception)", mapStringObject)
+          .addStatement("return $T.status(exception.httpStatus()).body(body)", responseEntity);
       type.addMethod(containerHandler.build());
     }
 
@@ -866,129 +3791,401 @@ public final class JavaGenerator {
     TypeSpec.Builder type = TypeSpec.classBuilder("ExceptionHandlerBase")
         .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT);
 
-    FieldSpec templateField = FieldSpec.builder(Object.class, "CONTAINER_TEMPLATE",
-        Modifier.PROTECTED, Modifier.STATIC, Modifier.FINAL)
-        .initializer("$L", renderTemplateLiteral(spec.getContainerResponseTemplate()))
-        .build();
-    type.addField(templateField);
-
-    MethodSpec.Builder mapResponse = MethodSpec.methodBuilder("mapResponse")
+    int responseCapacity = spec.getResponseFields().size() * 4 / 3 + 1;
+    MethodSpec.Builder mapViewResponse = MethodSpec.methodBuilder("mapResponse")
         .addModifiers(Modifier.PROTECTED)
         .returns(mapStringObject)
-        .addParameter(mapStringObject, "info")
-        .addStatement("$T body = new $T<>()", mapStringObject, linkedHashMap);
+        .addParameter(fieldViewType(spec), "info")
+        .addStatement("$T body = new $T<>($L)", mapStringObject, linkedHashMap, responseCapacity)
+        .addStatement("int index");
     for (Map.Entry<String, String> entry : spec.getResponseFields().entrySet()) {
-      String key = entry.getKey();
-      String responseKey = entry.getValue();
-      mapResponse.beginControlFlow("if (info.containsKey($S))", key)
-          .addStatement("body.put($S, info.get($S))", responseKey, key)
+      mapViewResponse.addStatement("index = info.indexOf($S)", entry.getKey())
+          .beginControlFlow("if (index >= 0)")
+          .addStatement("body.put($S, info.valueAt(index))", entry.getValue())
           .endControlFlow();
     }
-    mapResponse.addStatement("return body");
-    type.addMethod(mapResponse.build());
+    mapViewResponse.addStatement("return body");
+    type.addMethod(mapViewResponse.build());
 
-    MethodSpec.Builder renderContainer = MethodSpec.methodBuilder("renderContainerTemplate")
+    ClassName rootType = ClassName.get(spec.getPackageName(), baseExceptionName(spec));
+    MethodSpec.Builder dispatch = MethodSpec.methodBuilder("mapResponse")
         .addModifiers(Modifier.PROTECTED)
-        .returns(Object.class)
-        .addParameter(Object.class, "template")
-        .addParameter(ParameterizedTypeName.get(ClassName.get(List.class), mapStringObject), "infos");
-    renderContainer.beginControlFlow("if (template instanceof $T)", Map.class)
-        .addStatement("$T result = new $T<>()", mapStringObject, linkedHashMap)
-        .addStatement("$T map = ($T) template", mapStringObject, mapStringObject)
-        .beginControlFlow("for ($T.Entry<String, Object> entry : map.entrySet())", Map.class)
-        .addStatement("result.put(entry.getKey(), renderContainerTemplate(entry.getValue(), infos))")
-        .endControlFlow()
-        .addStatement("return result")
-        .endControlFlow();
-    renderContainer.beginControlFlow("if (template instanceof $T)", List.class)
-        .addStatement("$T list = ($T) template", List.class, List.class)
-        .beginControlFlow("if (list.size() == 1)")
-        .addStatement("$T rendered = new $T<>()",
-            ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(Object.class)),
-            ArrayList.class)
-        .beginControlFlow("for ($T info : infos)", mapStringObject)
-        .addStatement("rendered.add(renderValue(list.get(0), info))")
-        .endControlFlow()
-        .addStatement("return rendered")
-        .endControlFlow()
-        .addStatement("return list")
-        .endControlFlow();
-    renderContainer.addStatement("return template");
-    type.addMethod(renderContainer.build());
+        .returns(mapStringObject)
+        .addParameter(rootType, "exception");
+    for (CategoryDef category : categoriesDeepestFirst(spec)) {
+      ClassName categoryType = ClassName.get(spec.getPackageName(), category.getName() + "Exception");
+      String methodName = "map" + category.getName() + "Response";
+      dispatch.beginControlFlow("if (exception instanceof $T)", categoryType)
+          .addStatement("return $L(($T) exception)", methodName, categoryType)
+          .endControlFlow();
+
+      List<String> keys = infoKeys(category);
+      List<Map.Entry<String, String>> fields = new ArrayList<>();
+      for (Map.Entry<String, String> entry : spec.getResponseFields().entrySet()) {
+        if (keys.contains(entry.getKey())) {
+          fields.add(entry);
+        }
+      }
+      MethodSpec.Builder categoryResponse = MethodSpec.methodBuilder(methodName)
+          .addModifiers(Modifier.PROTECTED)
+          .returns(mapStringObject)
+          .addParameter(categoryType, "exception")
+          .addStatement("$T body = new $T<>($L)", mapStringObject, linkedHashMap, fields.size() * 4 / 3 + 1);
+      for (Map.Entry<String, String> entry : fields) {
+        categoryResponse.addStatement("body.put($S, exception.$L())", entry.getValue(), infoAccessor(entry.getKey()));
+      }
+      categoryResponse.addStatement("return body");
+      type.addMethod(categoryResponse.build());
+    }
+    dispatch.addStatement("return mapResponse(exception.errorInfo())");
+    type.addMethod(dispatch.build());
+
+    if (spec.getCategories().values().stream().anyMatch(CategoryDef::isContainer)) {
+      addContainerResponseBuilders(spec, type);
+    }
+
+    return type.build();
+  }
+
+  private void addContainerResponseBuilders(EdlSpec spec, TypeSpec.Builder type) {
+    ClassName descriptorType = ClassName.get(spec.getPackageName(), errorDescriptorName(spec));
+    ClassName containerType = ClassName.get(spec.getPackageName(), containerBaseName(spec));
+    TypeName mapStringObject = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class),
+        ClassName.get(Object.class));
+    Object template = spec.getContainerResponseTemplate() == null ? Map.of() : spec.getContainerResponseTemplate();
+    Object itemTemplate = containerItemTemplate(template);
+    TypeName itemType = itemTemplate instanceof Map ? mapStringObject : ClassName.get(Object.class);
+    boolean occurrences = mentionsValue(itemTemplate, "occurrences");
 
-    MethodSpec.Builder renderValue = MethodSpec.methodBuilder("renderValue")
+    TypeName listDescriptor = ParameterizedTypeName.get(ClassName.get(List.class), descriptorType);
+    type.addMethod(MethodSpec.methodBuilder("countHandled")
         .addModifiers(Modifier.PROTECTED)
-        .returns(Object.class)
-        .addParameter(Object.class, "template")
-        .addParameter(mapStringObject, "info");
-    renderValue.beginControlFlow("if (template instanceof $T)", Map.class)
-        .addStatement("$T result = new $T<>()", mapStringObject, linkedHashMap)
-        .addStatement("$T map = ($T) template", mapStringObject, mapStringObject)
-        .beginControlFlow("for ($T.Entry<String, Object> entry : map.entrySet())", Map.class)
-        .addStatement("result.put(entry.getKey(), renderValue(entry.getValue(), info))")
-        .endControlFlow()
-        .addStatement("return result")
-        .endControlFlow();
-    renderValue.beginControlFlow("if (template instanceof $T)", List.class)
-        .addStatement("$T list = ($T) template", List.class, List.class)
-        .addStatement("$T rendered = new $T<>()",
-            ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(Object.class)),
-            ArrayList.class)
-        .beginControlFlow("for (Object entry : list)")
-        .addStatement("rendered.add(renderValue(entry, info))")
+        .addParameter(containerType, "exception")
+        .addStatement("$T items = exception.descriptors()", listDescriptor)
+        .beginControlFlow("for (int i = 0, count = items.size(); i < count; i++)")
+        .addStatement("$T.handled(items.get(i).ordinal(), exception.occurrences(i))", errorStatsType(spec))
         .endControlFlow()
-        .addStatement("return rendered")
-        .endControlFlow();
-    renderValue.beginControlFlow("if (template instanceof $T)", String.class)
-        .addStatement("$T key = ($T) template", String.class, String.class)
-        .beginControlFlow("if (info.containsKey(key))")
-        .addStatement("return info.get(key)")
-        .endControlFlow()
-        .addStatement("return key")
-        .endControlFlow();
-    renderValue.addStatement("return template");
-    type.addMethod(renderValue.build());
+        .build());
 
-    return type.build();
+    MethodSpec.Builder containerResponse = MethodSpec.methodBuilder("mapContainerResponse")
+        .addModifiers(Modifier.PROTECTED)
+        .returns(mapStringObject)
+        .addParameter(containerType, "exception");
+    if (itemTemplate != null) {
+      containerResponse.addStatement("$T items = exception.descriptors()", listDescriptor)
+          .addStatement("int count = items.size()");
+    }
+    CodeBlock body = containerResponseValue(template, occurrences, containerResponse, new int[1]);
+    containerResponse.addStatement("return $L", body);
+    type.addMethod(containerResponse.build());
+    if (itemTemplate == null) {
+      return;
+    }
+
+    MethodSpec.Builder dispatch = MethodSpec.methodBuilder("mapContainerItem")
+        .addModifiers(Modifier.PROTECTED)
+        .returns(itemType)
+        .addParameter(descriptorType, "error");
+    if (occurrences) {
+      dispatch.addParameter(int.class, "occurrences");
+    }
+    String itemArgs = occurrences ? "error, occurrences" : "error";
+    Set<String> knownKeys = new HashSet<>(DERIVED_PARAMS);
+    for (CategoryDef category : spec.getCategories().values()) {
+      knownKeys.addAll(infoKeys(category));
+    }
+    List<MethodSpec> itemMethods = new ArrayList<>();
+    for (CategoryDef category : categoriesDeepestFirst(spec)) {
+      if (!category.isContainer()) {
+        continue;
+      }
+      String methodName = "map" + category.getName() + "ContainerItem";
+      List<TypeName> itemParams = new ArrayList<>();
+      itemParams.add(ClassName.get(spec.getPackageName(), category.getName() + "Exception"));
+      if (hasErrorValues(spec, category)) {
+        itemParams.add(categoryValueType(spec, category));
+      }
+      for (TypeName itemParam : itemParams) {
+        dispatch.beginControlFlow("if (error instanceof $T)", itemParam)
+            .addStatement("return $L(($T) $L)", methodName, itemParam, itemArgs)
+            .endControlFlow();
+        MethodSpec.Builder item = MethodSpec.methodBuilder(methodName)
+            .addModifiers(Modifier.PROTECTED)
+            .returns(itemType)
+            .addParameter(itemParam, "error");
+        if (occurrences) {
+          item.addParameter(int.class, "occurrences");
+        }
+        CodeBlock value = containerItemValue(itemTemplate, infoKeys(category), knownKeys, item, new int[1]);
+        itemMethods.add(item.addStatement("return $L", value).build());
+      }
+    }
+    CodeBlock fallback = containerItemValue(itemTemplate, DEFAULT_CORE_PARAMS, knownKeys, dispatch, new int[1]);
+    type.addMethod(dispatch.addStatement("return $L", fallback).build());
+    for (MethodSpec itemMethod : itemMethods) {
+      type.addMethod(itemMethod);
+    }
+  }
+
+  private Object containerItemTemplate(Object template) {
+    if (template instanceof Map<?, ?> map) {
+      for (Object value : map.values()) {
+        Object item = containerItemTemplate(value);
+        if (item != null) {
+          return item;
+        }
+      }
+    }
+    if (template instanceof List<?> list && list.size() == 1) {
+      return list.get(0);
+    }
+    return null;
+  }
+
+  private CodeBlock containerResponseValue(Object template, boolean occurrences, MethodSpec.Builder method, int[] counter) {
+    if (template instanceof Map<?, ?> map) {
+      String name = "node" + counter[0]++;
+      TypeName mapStringObject = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class),
+          ClassName.get(Object.class));
+      method.addStatement("$T $L = new $T<>($L)", mapStringObject, name, LinkedHashMap.class, map.size() * 4 / 3 + 1);
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        CodeBlock value = containerResponseValue(entry.getValue(), occurrences, method, counter);
+        method.addStatement("$L.put($S, $L)", name, String.valueOf(entry.getKey()), value);
+      }
+      return CodeBlock.of("$L", name);
+    }
+    if (template instanceof List<?> list && list.size() == 1) {
+      String name = "node" + counter[0]++;
+      TypeName listObject = ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(Object.class));
+      method.addStatement("$T $L = new $T<>(count)", listObject, name, ArrayList.class)
+          .beginControlFlow("for (int i = 0; i < count; i++)")
+          .addStatement(occurrences
+              ? "$L.add(mapContainerItem(items.get(i), exception.occurrences(i)))"
+              : "$L.add(mapContainerItem(items.get(i)))", name)
+          .endControlFlow();
+      return CodeBlock.of("$L", name);
+    }
+    if (template instanceof String key && isContainerCounter(key, false)) {
+      return CodeBlock.of("exception.suppressedCount()");
+    }
+    return renderTemplateLiteral(template, method, "node", counter);
+  }
+
+  private CodeBlock containerItemValue(Object template, List<String> keys, Set<String> knownKeys,
+                                       MethodSpec.Builder method, int[] counter) {
+    if (template instanceof Map<?, ?> map) {
+      String name = "item" + counter[0]++;
+      TypeName mapStringObject = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class),
+          ClassName.get(Object.class));
+      method.addStatement("$T $L = new $T<>($L)", mapStringObject, name, LinkedHashMap.class, map.size() * 4 / 3 + 1);
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        CodeBlock value = containerItemValue(entry.getValue(), keys, knownKeys, method, counter);
+        if (value != null) {
+          method.addStatement("$L.put($S, $L)", name, String.valueOf(entry.getKey()), value);
+        }
+      }
+      return CodeBlock.of("$L", name);
+    }
+    if (template instanceof List<?> list) {
+      String name = "item" + counter[0]++;
+      TypeName listObject = ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(Object.class));
+      method.addStatement("$T $L = new $T<>($L)", listObject, name, ArrayList.class, list.size());
+      for (Object value : list) {
+        CodeBlock item = containerItemValue(value, keys, knownKeys, method, counter);
+        if (item != null) {
+          method.addStatement("$L.add($L)", name, item);
+        }
+      }
+      return CodeBlock.of("$L", name);
+    }
+    if (template instanceof String key && isContainerCounter(key, true)) {
+      return CodeBlock.of("occurrences");
+    }
+    if (template instanceof String key && keys.contains(key)) {
+      return CodeBlock.of("error.$L()", infoAccessor(key));
+    }
+    if (template instanceof String key && knownKeys.contains(key)) {
+      return null;
+    }
+    return renderTemplateLiteral(template, method, "item", counter);
   }
 
   private String baseExceptionName(EdlSpec spec) {
     return spec.getBaseException() + "Exception";
   }
 
+  private List<String> infoKeys(CategoryDef category) {
+    return category.getParams().isEmpty()
+        ? DEFAULT_CORE_PARAMS
+        : new ArrayList<>(category.getParams().keySet());
+  }
+
+  private String infoAccessor(String name) {
+    if ("detail".equals(name) || "details".equals(name)) {
+      return "detail";
+    }
+    return name;
+  }
+
+  private List<CategoryDef> categoriesDeepestFirst(EdlSpec spec) {
+    List<CategoryDef> categories = new ArrayList<>(spec.getCategories().values());
+    categories.sort((left, right) -> Integer.compare(categoryDepth(spec, right), categoryDepth(spec, left)));
+    return categories;
+  }
+
+  private int categoryDepth(EdlSpec spec, CategoryDef category) {
+    int depth = 0;
+    CategoryDef current = category;
+    while (current != null && current.getParent() != null && depth < spec.getCategories().size()) {
+      current = spec.getCategories().get(current.getParent());
+      depth += 1;
+    }
+    return depth;
+  }
+
+  private String jsonWriterName(EdlSpec spec) {
+    return spec.getBaseException() + "Json";
+  }
+
+  private String jsonString(String value) {
+    StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        case '\b' -> json.append("\\b");
+        case '\f' -> json.append("\\f");
+        default -> {
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    return json.append('"').toString();
+  }
+
+  private String errorCatalogName(EdlSpec spec) {
+    return spec.getBaseException() + "ErrorCatalog";
+  }
+
+  private ClassName kindType(EdlSpec spec) {
+    return ClassName.get(spec.getPackageName(), baseExceptionName(spec)).nestedClass("Kind");
+  }
+
+  private ClassName fieldViewType(EdlSpec spec) {
+    return ClassName.get(spec.getPackageName(), baseExceptionName(spec)).nestedClass("FieldView");
+  }
+
+  private String errorValuesName(EdlSpec spec) {
+    return spec.getBaseException() + "Error";
+  }
+
+  private ClassName categoryValueType(EdlSpec spec, CategoryDef category) {
+    return ClassName.get(spec.getPackageName(), errorValuesName(spec)).nestedClass(category.getName() + "Error");
+  }
+
+  private ClassName errorValueType(EdlSpec spec, ErrorDef error) {
+    return ClassName.get(spec.getPackageName(), errorValuesName(spec))
+        .nestedClass(NameUtils.toPascalCase(error.getName()) + "Error");
+  }
+
+  private boolean hasErrorValues(EdlSpec spec, CategoryDef category) {
+    for (ErrorDef error : spec.getErrors().values()) {
+      for (CategoryDef current = spec.getCategories().get(error.getCategory()); current != null;
+          current = current.getParent() == null ? null : spec.getCategories().get(current.getParent())) {
+        if (current == category) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private List<ParameterSpec> errorParams(CategoryDef category, ErrorDef error) {
+    List<ParameterSpec> params = new ArrayList<>();
+    for (Map.Entry<String, String> entry : category.getParams().entrySet()) {
+      if (!DERIVED_PARAMS.contains(entry.getKey())) {
+        params.add(ParameterSpec.builder(parseTypeName(entry.getValue()), entry.getKey()).build());
+      }
+    }
+    for (Map.Entry<String, String> entry : error.getRequiredParams().entrySet()) {
+      params.add(ParameterSpec.builder(parseTypeName(entry.getValue()), entry.getKey()).build());
+    }
+    for (Map.Entry<String, String> entry : error.getOptionalParams().entrySet()) {
+      params.add(ParameterSpec.builder(parseTypeName(entry.getValue()), entry.getKey()).build());
+    }
+    return params;
+  }
+
+  private ClassName fieldVisitorType(EdlSpec spec) {
+    return ClassName.get(spec.getPackageName(), spec.getBaseException() + "ErrorFieldVisitor");
+  }
+
+  private ClassName errorStatsType(EdlSpec spec) {
+    return ClassName.get(spec.getPackageName(), spec.getBaseException() + "ErrorStats");
+  }
+
+  private ClassName errorEventType(EdlSpec spec) {
+    return ClassName.get(spec.getPackageName(), spec.getBaseException() + "ErrorEvent");
+  }
+
+  private String errorDescriptorName(EdlSpec spec) {
+    return spec.getBaseException() + "ErrorDescriptor";
+  }
+
+  private boolean hasContainerCategories(EdlSpec spec) {
+    return spec.getCategories().values().stream().anyMatch(CategoryDef::isContainer);
+  }
+
+  private List<CategoryDef> containerCategoriesOf(EdlSpec spec, CategoryDef category) {
+    List<CategoryDef> containers = new ArrayList<>();
+    for (CategoryDef current = category; current != null; current = current.getParent() == null
+        ? null : spec.getCategories().get(current.getParent())) {
+      if (current.isContainer()) {
+        containers.add(current);
+      }
+    }
+    return containers;
+  }
+
   private String containerBaseName(EdlSpec spec) {
     return spec.getBaseException() + "ContainerException";
   }
 
-  private CodeBlock renderTemplateLiteral(Object template) {
+  private String concurrentContainerBaseName(EdlSpec spec) {
+    return spec.getBaseException() + "ConcurrentContainerException";
+  }
+
+  private CodeBlock renderTemplateLiteral(Object template, MethodSpec.Builder method, String prefix, int[] counter) {
     if (template == null) {
-      return CodeBlock.of("$T.of()", Map.class);
+      return CodeBlock.of("null");
     }
     if (template instanceof Map<?, ?> map) {
-      CodeBlock.Builder builder = CodeBlock.builder();
-      builder.add("$T.ofEntries(", Map.class);
-      boolean first = true;
+      String name = prefix + counter[0]++;
+      TypeName mapStringObject = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class),
+          ClassName.get(Object.class));
+      method.addStatement("$T $L = new $T<>($L)", mapStringObject, name, LinkedHashMap.class, map.size() * 4 / 3 + 1);
       for (Map.Entry<?, ?> entry : map.entrySet()) {
-        if (!first) {
-          builder.add(", ");
-        }
-        first = false;
-        builder.add("$T.entry($S, $L)", Map.class, String.valueOf(entry.getKey()), renderTemplateLiteral(entry.getValue()));
+        CodeBlock value = renderTemplateLiteral(entry.getValue(), method, prefix, counter);
+        method.addStatement("$L.put($S, $L)", name, String.valueOf(entry.getKey()), value);
       }
-      builder.add(")");
-      return builder.build();
+      return CodeBlock.of("$L", name);
     }
     if (template instanceof List<?> list) {
-      CodeBlock.Builder builder = CodeBlock.builder();
-      builder.add("$T.of(", List.class);
-      for (int i = 0; i < list.size(); i++) {
-        if (i > 0) {
-          builder.add(", ");
-        }
-        builder.add("$L", renderTemplateLiteral(list.get(i)));
+      String name = prefix + counter[0]++;
+      TypeName listObject = ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(Object.class));
+      method.addStatement("$T $L = new $T<>($L)", listObject, name, ArrayList.class, list.size());
+      for (Object value : list) {
+        method.addStatement("$L.add($L)", name, renderTemplateLiteral(value, method, prefix, counter));
       }
-      builder.add(")");
-      return builder.build();
+      return CodeBlock.of("$L", name);
     }
     if (template instanceof String) {
       return CodeBlock.of("$S", template);
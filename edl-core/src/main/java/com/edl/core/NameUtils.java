@@ -1,5 +1,7 @@
 package com.edl.core;
 
+import java.util.Locale;
+
 public final class NameUtils {
   private NameUtils() {
   }
@@ -10,4 +12,11 @@ public final class NameUtils {
     }
     return Character.toUpperCase(camelCase.charAt(0)) + camelCase.substring(1);
   }
+
+  public static String toConstantCase(String camelCase) {
+    if (camelCase == null || camelCase.isEmpty()) {
+      return camelCase;
+    }
+    return camelCase.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+  }
 }
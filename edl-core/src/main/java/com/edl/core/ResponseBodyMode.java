@@ -0,0 +1,6 @@
+package com.edl.core;
+
+public enum ResponseBodyMode {
+  MAP,
+  JSON
+}
@@ -25,6 +25,14 @@ public final class SpecParser {
     }
     String source = readString(map, diagnostics, file, marks, "source", true);
     Map<String, Object> options = readMap(map, diagnostics, file, marks, "options", false);
+    StackTraceMode stackTrace = readStackTraceMode(options, diagnostics, file, marks, "options.stackTrace");
+    Integer sampleRate = readInteger(options, diagnostics, file, marks, "options.sampleRate", false);
+    Integer maxFrames = readInteger(options, diagnostics, file, marks, "options.maxFrames", false);
+    Boolean cachedInstance = readBoolean(options, diagnostics, file, marks, "options.cachedInstance", false);
+    ResponseBodyMode responseBody = readResponseBodyMode(options, diagnostics, file, marks, "options.responseBody");
+    Boolean sealed = readBoolean(options, diagnostics, file, marks, "options.sealed", false);
+    Boolean jfr = readBoolean(options, diagnostics, file, marks, "options.jfr", false);
+    Boolean jmx = readBoolean(options, diagnostics, file, marks, "options.jmx", false);
     LinkedHashMap<String, String> responseFields = readStringMap(map, diagnostics, file, marks, "response", false);
     Object containerResponse = readObject(map, diagnostics, file, marks, "containerResponse", false);
     LinkedHashMap<String, CategoryDef> categories = readCategories(map, diagnostics, file, marks);
@@ -41,7 +49,9 @@ public final class SpecParser {
     String containerItemKey = "error";
     Object containerTemplate = containerResponse;
     EdlSpec spec = new EdlSpec(packageName, baseException, source, options,
-        containerWrapperKey, containerItemKey, containerTemplate, responseFields, categories, errors);
+        containerWrapperKey, containerItemKey, containerTemplate, responseFields, categories, errors, stackTrace,
+        sampleRate, maxFrames, cachedInstance, responseBody, Boolean.TRUE.equals(sealed),
+        Boolean.TRUE.equals(jfr), Boolean.TRUE.equals(jmx));
     return new ParseResult(spec, diagnostics);
   }
 
@@ -74,16 +84,25 @@ public final class SpecParser {
       Boolean retryable = readBoolean(categoryMap, diagnostics, file, marks, path + ".retryable", false);
       Boolean abstractFlag = readBoolean(categoryMap, diagnostics, file, marks, path + ".abstract", false);
       Boolean containerFlag = readBoolean(categoryMap, diagnostics, file, marks, path + ".container", false);
+      Boolean concurrentFlag = readBoolean(categoryMap, diagnostics, file, marks, path + ".concurrent", false);
+      Integer maxErrors = readInteger(categoryMap, diagnostics, file, marks, path + ".maxErrors", false);
+      Boolean deduplicateFlag = readBoolean(categoryMap, diagnostics, file, marks, path + ".deduplicate", false);
       LinkedHashMap<String, String> params = readStringMap(categoryMap, diagnostics, file, marks, path + ".params", false);
+      StackTraceMode stackTrace = readStackTraceMode(categoryMap, diagnostics, file, marks, path + ".stackTrace");
+      Integer sampleRate = readInteger(categoryMap, diagnostics, file, marks, path + ".sampleRate", false);
+      Integer maxFrames = readInteger(categoryMap, diagnostics, file, marks, path + ".maxFrames", false);
       boolean isAbstract = abstractFlag == null || abstractFlag;
       boolean isContainer = containerFlag != null && containerFlag;
+      boolean isConcurrent = concurrentFlag != null && concurrentFlag;
+      boolean isDeduplicate = deduplicateFlag != null && deduplicateFlag;
       if (codePrefix == null) {
         continue;
       }
       if (params == null) {
         params = new LinkedHashMap<>();
       }
-      categories.put(name, new CategoryDef(name, parent, codePrefix, httpStatus, retryable, isAbstract, isContainer, params));
+      categories.put(name, new CategoryDef(name, parent, codePrefix, httpStatus, retryable, isAbstract, isContainer, params,
+          stackTrace, sampleRate, maxFrames, isConcurrent, maxErrors, isDeduplicate));
     }
     return categories;
   }
@@ -120,7 +139,7 @@ public final class SpecParser {
       }
       return list;
     }
-    if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+    if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
       return value;
     }
     diagnostics.add(diagnostic(DiagnosticSeverity.ERROR, "Unsupported value in '" + lastSegment(path) + "'", path, file, marks));
@@ -175,6 +194,10 @@ public final class SpecParser {
       LinkedHashMap<String, String> optionalParams = readStringMapOrList(errorMap, diagnostics, file, marks, path + ".optional", false);
       Boolean recoverable = readBoolean(errorMap, diagnostics, file, marks, path + ".recoverable", false);
       Integer httpStatus = readInteger(errorMap, diagnostics, file, marks, path + ".httpStatus", false);
+      StackTraceMode stackTrace = readStackTraceMode(errorMap, diagnostics, file, marks, path + ".stackTrace");
+      Integer sampleRate = readInteger(errorMap, diagnostics, file, marks, path + ".sampleRate", false);
+      Integer maxFrames = readInteger(errorMap, diagnostics, file, marks, path + ".maxFrames", false);
+      Boolean cachedInstance = readBoolean(errorMap, diagnostics, file, marks, path + ".cachedInstance", false);
       if (category == null || description == null || detail == null || codeValue == null) {
         if (codeValue == null) {
           diagnostics.add(diagnostic(DiagnosticSeverity.ERROR, "Missing required key 'code'", path + ".fixed.code", file, marks));
@@ -192,7 +215,8 @@ public final class SpecParser {
         optionalParams = new LinkedHashMap<>();
       }
       boolean isRecoverable = recoverable != null && recoverable;
-      errors.put(name, new ErrorDef(name, category, numericCode, description, detail, requiredParams, optionalParams, isRecoverable, httpStatus));
+      errors.put(name, new ErrorDef(name, category, numericCode, description, detail, requiredParams, optionalParams, isRecoverable, httpStatus,
+          stackTrace, sampleRate, maxFrames, cachedInstance));
     }
     return errors;
   }
@@ -298,6 +322,50 @@ public final class SpecParser {
     return null;
   }
 
+  private ResponseBodyMode readResponseBodyMode(Map<String, Object> map,
+                                               List<Diagnostic> diagnostics,
+                                               String file,
+                                               Map<String, Mark> marks,
+                                               String path) {
+    String value = readString(map, diagnostics, file, marks, path, false);
+    if (value == null) {
+      return null;
+    }
+    switch (value) {
+      case "map":
+        return ResponseBodyMode.MAP;
+      case "json":
+        return ResponseBodyMode.JSON;
+      default:
+        diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+            "Expected 'map' or 'json' for '" + lastSegment(path) + "'", path, file, marks));
+        return null;
+    }
+  }
+
+  private StackTraceMode readStackTraceMode(Map<String, Object> map,
+                                           List<Diagnostic> diagnostics,
+                                           String file,
+                                           Map<String, Mark> marks,
+                                           String path) {
+    String value = readString(map, diagnostics, file, marks, path, false);
+    if (value == null) {
+      return null;
+    }
+    switch (value) {
+      case "full":
+        return StackTraceMode.FULL;
+      case "none":
+        return StackTraceMode.NONE;
+      case "sampled":
+        return StackTraceMode.SAMPLED;
+      default:
+        diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+            "Expected 'full', 'none' or 'sampled' for '" + lastSegment(path) + "'", path, file, marks));
+        return null;
+    }
+  }
+
   private Map<String, Object> readMap(Map<String, Object> map,
                                       List<Diagnostic> diagnostics,
                                       String file,
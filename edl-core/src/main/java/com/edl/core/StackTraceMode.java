@@ -0,0 +1,7 @@
+package com.edl.core;
+
+public enum StackTraceMode {
+  FULL,
+  NONE,
+  SAMPLED
+}
@@ -30,6 +30,8 @@ public final class Validator {
     validateErrors(spec, diagnostics, file, marks);
     validateMessageTemplates(spec, diagnostics, file, marks);
     validateResponseFields(spec, diagnostics, file, marks);
+    validateStackTraceSampling(spec, diagnostics, file, marks);
+    validateCachedInstances(spec, diagnostics, file, marks);
     return new ValidationResult(diagnostics);
   }
 
@@ -78,6 +80,23 @@ public final class Validator {
         diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
             "Unknown parent category '" + parent + "'", "categories." + category.getName() + ".parent", file, marks));
       }
+      if (category.isConcurrent() && !category.isContainer()) {
+        diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+            "'concurrent' requires 'container: true'", "categories." + category.getName() + ".concurrent", file, marks));
+      }
+      validatePositive(category.getMaxErrors(), "categories." + category.getName() + ".maxErrors", diagnostics, file, marks);
+      if (category.getMaxErrors() != null && !category.isContainer()) {
+        diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+            "'maxErrors' requires 'container: true'", "categories." + category.getName() + ".maxErrors", file, marks));
+      }
+      if (category.isDeduplicate() && !category.isContainer()) {
+        diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+            "'deduplicate' requires 'container: true'", "categories." + category.getName() + ".deduplicate", file, marks));
+      } else if (category.isDeduplicate() && category.isConcurrent()) {
+        diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+            "'deduplicate' is not supported on concurrent containers", "categories." + category.getName() + ".deduplicate",
+            file, marks));
+      }
     }
 
     detectCycles(spec, diagnostics, file, marks);
@@ -125,6 +144,12 @@ public final class Validator {
               "errors." + error.getName() + ".optional." + param, file, marks));
         }
       }
+      long paramCount = coreParams.stream().filter(param -> !DERIVED_PARAMS.contains(param)).count()
+          + requiredParams.size() + optionalParams.size();
+      if (paramCount > Long.SIZE) {
+        diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+            "Error has more than " + Long.SIZE + " params", "errors." + error.getName(), file, marks));
+      }
     }
   }
 
@@ -175,6 +200,64 @@ public final class Validator {
             "Response field value '" + value + "' is duplicated", "response." + key, file, marks));
       }
     }
+    Object containerResponse = spec.getContainerResponseTemplate();
+    if (containerResponse != null && !(containerResponse instanceof Map)) {
+      diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+          "'containerResponse' must be a mapping", "containerResponse", file, marks));
+    }
+  }
+
+  private void validateStackTraceSampling(EdlSpec spec, List<Diagnostic> diagnostics, String file, Map<String, Mark> marks) {
+    validatePositive(spec.getSampleRate(), "options.sampleRate", diagnostics, file, marks);
+    validatePositive(spec.getMaxFrames(), "options.maxFrames", diagnostics, file, marks);
+    for (CategoryDef category : spec.getCategories().values()) {
+      String path = "categories." + category.getName();
+      validatePositive(category.getSampleRate(), path + ".sampleRate", diagnostics, file, marks);
+      validatePositive(category.getMaxFrames(), path + ".maxFrames", diagnostics, file, marks);
+    }
+    for (ErrorDef error : spec.getErrors().values()) {
+      String path = "errors." + error.getName();
+      validatePositive(error.getSampleRate(), path + ".sampleRate", diagnostics, file, marks);
+      validatePositive(error.getMaxFrames(), path + ".maxFrames", diagnostics, file, marks);
+    }
+  }
+
+  private void validateCachedInstances(EdlSpec spec, List<Diagnostic> diagnostics, String file, Map<String, Mark> marks) {
+    for (ErrorDef error : spec.getErrors().values()) {
+      if (!Boolean.TRUE.equals(error.getCachedInstance()) || !hasParams(spec, error)) {
+        continue;
+      }
+      diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+          "'cachedInstance' requires an error without params", "errors." + error.getName() + ".cachedInstance",
+          file, marks));
+    }
+  }
+
+  private boolean hasParams(EdlSpec spec, ErrorDef error) {
+    if (!error.getRequiredParams().isEmpty() || !error.getOptionalParams().isEmpty()) {
+      return true;
+    }
+    CategoryDef category = spec.getCategories().get(error.getCategory());
+    if (category == null) {
+      return false;
+    }
+    for (String param : category.getParams().keySet()) {
+      if (!DERIVED_PARAMS.contains(param)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void validatePositive(Integer value,
+                                String path,
+                                List<Diagnostic> diagnostics,
+                                String file,
+                                Map<String, Mark> marks) {
+    if (value != null && value < 1) {
+      diagnostics.add(diagnostic(DiagnosticSeverity.ERROR,
+          "'" + path.substring(path.lastIndexOf('.') + 1) + "' must be at least 1", path, file, marks));
+    }
   }
 
   private void validateTemplatePlaceholders(String template,
@@ -71,9 +71,19 @@ public final class YamlLoader {
           return value;
         }
       }
+      if (Tag.FLOAT.equals(tag)) {
+        try {
+          return Double.parseDouble(value);
+        } catch (NumberFormatException ignored) {
+          return value;
+        }
+      }
       if (Tag.BOOL.equals(tag)) {
         return Boolean.parseBoolean(value);
       }
+      if (Tag.NULL.equals(tag)) {
+        return null;
+      }
       return value;
     }
     return null;
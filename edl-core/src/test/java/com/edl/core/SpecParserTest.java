@@ -3,11 +3,14 @@ package com.edl.core;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 public class SpecParserTest {
@@ -106,4 +109,202 @@ public class SpecParserTest {
     List<Diagnostic> diagnostics = validation.getDiagnostics();
     assertTrue(diagnostics.stream().anyMatch(d -> d.getMessage().contains("missing a param")));
   }
+
+  @Test
+  void parsesStackTraceModes() throws Exception {
+    String yaml = "package: com.example\n"
+        + "baseException: RootEdl\n"
+        + "source: sample-service\n"
+        + "options:\n"
+        + "  stackTrace: none\n"
+        + "categories:\n"
+        + "  Validation:\n"
+        + "    codePrefix: VAL\n"
+        + "    stackTrace: full\n"
+        + "errors:\n"
+        + "  invalidInput:\n"
+        + "    category: Validation\n"
+        + "    stackTrace: sometimes\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Bad input\"\n"
+        + "      detail: \"Bad input detail\"\n";
+
+    Path temp = Files.createTempFile("edl", ".yaml");
+    Files.writeString(temp, yaml);
+    YamlLoader loader = new YamlLoader();
+    YamlDocument document = loader.load(temp);
+
+    SpecParser parser = new SpecParser();
+    ParseResult result = parser.parse(temp, document.getData(), document.getMarks());
+    EdlSpec spec = result.getSpec();
+    assertNotNull(spec);
+    assertEquals(StackTraceMode.NONE, spec.getStackTrace());
+    assertEquals(StackTraceMode.FULL, spec.getCategories().get("Validation").getStackTrace());
+    assertTrue(result.getDiagnostics().stream()
+        .anyMatch(d -> d.getPath().equals("errors.invalidInput.stackTrace")));
+  }
+
+  @Test
+  void rejectsCachedInstanceWithParams() throws Exception {
+    String yaml = "package: com.example\n"
+        + "baseException: RootEdl\n"
+        + "source: sample-service\n"
+        + "categories:\n"
+        + "  Validation:\n"
+        + "    codePrefix: VAL\n"
+        + "errors:\n"
+        + "  missingInput:\n"
+        + "    category: Validation\n"
+        + "    cachedInstance: true\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Missing input\"\n"
+        + "      detail: \"Missing input detail\"\n"
+        + "  invalidInput:\n"
+        + "    category: Validation\n"
+        + "    cachedInstance: true\n"
+        + "    fixed:\n"
+        + "      code: 2\n"
+        + "      description: \"Bad {field}\"\n"
+        + "      detail: \"Bad {field} detail\"\n"
+        + "    required:\n"
+        + "      field: String\n";
+
+    Path temp = Files.createTempFile("edl", ".yaml");
+    Files.writeString(temp, yaml);
+    YamlLoader loader = new YamlLoader();
+    YamlDocument document = loader.load(temp);
+
+    SpecParser parser = new SpecParser();
+    ParseResult result = parser.parse(temp, document.getData(), document.getMarks());
+    assertEquals(Boolean.TRUE, result.getSpec().getErrors().get("missingInput").getCachedInstance());
+    Validator validator = new Validator();
+    ValidationResult validation = validator.validate(result.getSpec(), document.getMarks(), temp);
+
+    List<Diagnostic> diagnostics = validation.getDiagnostics();
+    assertEquals(1, diagnostics.stream().filter(d -> d.getSeverity() == DiagnosticSeverity.ERROR).count());
+    assertTrue(diagnostics.stream().anyMatch(d -> d.getPath().equals("errors.invalidInput.cachedInstance")));
+  }
+
+  @Test
+  void rejectsConcurrentWithoutContainer() throws Exception {
+    String yaml = "package: com.example\n"
+        + "baseException: RootEdl\n"
+        + "source: sample-service\n"
+        + "categories:\n"
+        + "  Validation:\n"
+        + "    codePrefix: VAL\n"
+        + "    container: true\n"
+        + "    concurrent: true\n"
+        + "  Internal:\n"
+        + "    codePrefix: INT\n"
+        + "    concurrent: true\n"
+        + "errors:\n"
+        + "  invalidInput:\n"
+        + "    category: Validation\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Bad input\"\n"
+        + "      detail: \"Bad input detail\"\n";
+
+    Path temp = Files.createTempFile("edl", ".yaml");
+    Files.writeString(temp, yaml);
+    YamlLoader loader = new YamlLoader();
+    YamlDocument document = loader.load(temp);
+
+    SpecParser parser = new SpecParser();
+    ParseResult result = parser.parse(temp, document.getData(), document.getMarks());
+    assertTrue(result.getSpec().getCategories().get("Validation").isConcurrent());
+    Validator validator = new Validator();
+    ValidationResult validation = validator.validate(result.getSpec(), document.getMarks(), temp);
+
+    List<Diagnostic> diagnostics = validation.getDiagnostics();
+    assertEquals(1, diagnostics.stream().filter(d -> d.getSeverity() == DiagnosticSeverity.ERROR).count());
+    assertTrue(diagnostics.stream().anyMatch(d -> d.getPath().equals("categories.Internal.concurrent")));
+  }
+
+  @Test
+  void rejectsBoundsOutsideSequentialContainers() throws Exception {
+    String yaml = "package: com.example\n"
+        + "baseException: RootEdl\n"
+        + "source: sample-service\n"
+        + "categories:\n"
+        + "  Validation:\n"
+        + "    codePrefix: VAL\n"
+        + "    container: true\n"
+        + "    maxErrors: 10\n"
+        + "    deduplicate: true\n"
+        + "  Parallel:\n"
+        + "    codePrefix: PAR\n"
+        + "    container: true\n"
+        + "    concurrent: true\n"
+        + "    deduplicate: true\n"
+        + "  Internal:\n"
+        + "    codePrefix: INT\n"
+        + "    maxErrors: 0\n"
+        + "errors:\n"
+        + "  invalidInput:\n"
+        + "    category: Validation\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Bad input\"\n"
+        + "      detail: \"Bad input detail\"\n";
+
+    Path temp = Files.createTempFile("edl", ".yaml");
+    Files.writeString(temp, yaml);
+    YamlLoader loader = new YamlLoader();
+    YamlDocument document = loader.load(temp);
+
+    SpecParser parser = new SpecParser();
+    ParseResult result = parser.parse(temp, document.getData(), document.getMarks());
+    CategoryDef validation = result.getSpec().getCategories().get("Validation");
+    assertEquals(10, validation.getMaxErrors());
+    assertTrue(validation.isDeduplicate());
+    Validator validator = new Validator();
+    ValidationResult validationResult = validator.validate(result.getSpec(), document.getMarks(), temp);
+
+    List<Diagnostic> diagnostics = validationResult.getDiagnostics();
+    assertEquals(3, diagnostics.stream().filter(d -> d.getSeverity() == DiagnosticSeverity.ERROR).count());
+    assertTrue(diagnostics.stream().anyMatch(d -> d.getPath().equals("categories.Parallel.deduplicate")));
+    assertTrue(diagnostics.stream().anyMatch(d -> d.getPath().equals("categories.Internal.maxErrors")));
+  }
+
+  @Test
+  void keepsNullAndFloatLiteralsInContainerResponse() throws Exception {
+    String yaml = "package: com.example\n"
+        + "baseException: RootEdl\n"
+        + "source: sample-service\n"
+        + "containerResponse:\n"
+        + "  Version: 2\n"
+        + "  Ratio: 1.5\n"
+        + "  Extra: null\n"
+        + "  Tags: [a, ~]\n"
+        + "  Error: [\"{code}\"]\n"
+        + "categories:\n"
+        + "  Validation:\n"
+        + "    codePrefix: VAL\n"
+        + "errors:\n"
+        + "  invalidInput:\n"
+        + "    category: Validation\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Bad input\"\n"
+        + "      detail: \"Bad input detail\"\n";
+
+    Path temp = Files.createTempFile("edl", ".yaml");
+    Files.writeString(temp, yaml);
+    YamlLoader loader = new YamlLoader();
+    YamlDocument document = loader.load(temp);
+
+    SpecParser parser = new SpecParser();
+    ParseResult result = parser.parse(temp, document.getData(), document.getMarks());
+    assertFalse(result.getDiagnostics().stream().anyMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR));
+    Map<?, ?> template = (Map<?, ?>) result.getSpec().getContainerResponseTemplate();
+    assertEquals(2, template.get("Version"));
+    assertEquals(1.5, template.get("Ratio"));
+    assertTrue(template.containsKey("Extra"));
+    assertNull(template.get("Extra"));
+    assertEquals(Arrays.asList("a", null), template.get("Tags"));
+  }
 }
@@ -1,7 +1,10 @@
 package com.edl.samples;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.edl.core.CompilationResult;
@@ -10,21 +13,37 @@ import com.edl.core.Diagnostic;
 import com.edl.core.DiagnosticSeverity;
 import com.edl.core.EdlCompiler;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.tools.JavaCompiler;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import org.springframework.http.ResponseEntity;
@@ -86,6 +105,9 @@ public class GeneratedExceptionRuntimeTest {
       assertEquals("Hello detail {name}", getDetailTemplate.invoke(exception));
       assertEquals("Hello Ada", getDescription.invoke(exception));
       assertEquals("Hello detail Ada", getDetail.invoke(exception));
+      assertEquals("Hello Ada", ((Throwable) exception).getMessage());
+      assertSame(getDescription.invoke(exception), getDescription.invoke(exception));
+      assertSame(getDetail.invoke(exception), getDetail.invoke(exception));
       assertEquals("hello-service", getSource.invoke(exception));
       assertEquals(false, getRecoverable.invoke(exception));
 
@@ -103,6 +125,134 @@ public class GeneratedExceptionRuntimeTest {
       expected.put("details", "Hello detail Ada");
       expected.put("recoverable", false);
       assertEquals(sortedMap(expected), sortedMap(errorInfo));
+      assertEquals(expected.size(), errorInfo.size());
+      assertEquals("CM0001", errorInfo.get("code"));
+      assertThrows(UnsupportedOperationException.class, () -> errorInfo.put("code", "other"));
+
+      Class<?> visitorType = classLoader.loadClass("com.example.hello.HelloErrorFieldVisitor");
+      List<String> visited = new ArrayList<>();
+      Object visitor = Proxy.newProxyInstance(classLoader, new Class<?>[] { visitorType },
+          (proxy, method, args) -> visited.add(method.getName() + ":" + args[0] + "=" + args[1]));
+      exceptionClass.getMethod("forEachField", visitorType).invoke(exception, visitor);
+      assertEquals(List.of("onString:source=hello-service", "onString:code=CM0001", "onBoolean:recoverable=false",
+          "onString:name=Ada"), visited);
+
+      Object nullName = builderMethod.invoke(null);
+      nameSetter.invoke(nullName, "Ada");
+      nameSetter.invoke(nullName, (Object) null);
+      InvocationTargetException missing = assertThrows(InvocationTargetException.class,
+          () -> buildMethod.invoke(nullName));
+      assertEquals("Missing required params: name", missing.getCause().getMessage());
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void precompiledTemplatesRenderTypedValues() throws Exception {
+    String yaml = "package: com.example.render\n"
+        + "baseException: Render\n"
+        + "source: render-service\n"
+        + "categories:\n"
+        + "  Quota:\n"
+        + "    codePrefix: QT\n"
+        + "    params:\n"
+        + "      source: String\n"
+        + "      code: String\n"
+        + "      description: String\n"
+        + "      details: String\n"
+        + "errors:\n"
+        + "  quotaExceeded:\n"
+        + "    category: Quota\n"
+        + "    recoverable: true\n"
+        + "    fixed:\n"
+        + "      code: 3\n"
+        + "      description: \"{code}: {count} of {limit} used by {user}\"\n"
+        + "      details: \"{source} {recoverable} {description} {user}{user}\"\n"
+        + "    required:\n"
+        + "      user: String\n"
+        + "      count: int\n"
+        + "      limit: long\n"
+        + "  quotaLocked:\n"
+        + "    category: Quota\n"
+        + "    fixed:\n"
+        + "      code: 4\n"
+        + "      description: \"{code} locked by {source}\"\n"
+        + "      details: \"Locked, recoverable={recoverable}\"\n";
+
+    Path spec = Files.createTempFile("edl-test", ".yaml");
+    Files.writeString(spec, yaml, StandardCharsets.UTF_8);
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(spec, outputDir, new CompilerOptions(false, false));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() });
+    try {
+      Class<?> exceptionClass = classLoader.loadClass("com.example.render.QuotaExceededException");
+      Object builder = exceptionClass.getMethod("builder").invoke(null);
+      builder.getClass().getMethod("user", String.class).invoke(builder, "ada");
+      builder.getClass().getMethod("count", int.class).invoke(builder, 7);
+      builder.getClass().getMethod("limit", long.class).invoke(builder, 5L);
+      Object exception = builder.getClass().getMethod("build").invoke(builder);
+
+      assertEquals("QT0003: 7 of 5 used by ada", exceptionClass.getMethod("description").invoke(exception));
+      StringBuilder buffer = new StringBuilder("> ");
+      exceptionClass.getMethod("appendDescription", StringBuilder.class).invoke(exception, buffer);
+      assertEquals("> QT0003: 7 of 5 used by ada", buffer.toString());
+      StringWriter writer = new StringWriter();
+      exceptionClass.getMethod("appendDetail", Appendable.class).invoke(exception, writer);
+      assertEquals("render-service true {description} adaada", writer.toString());
+      StringBuilder formatted = new StringBuilder();
+      exceptionClass.getMethod("formatTo", StringBuilder.class).invoke(exception, formatted);
+      assertEquals("QT0003: QT0003: 7 of 5 used by ada", formatted.toString());
+      assertEquals("render-service true {description} adaada", exceptionClass.getMethod("detail").invoke(exception));
+
+      Map<String, Object> expectedDetails = new LinkedHashMap<>();
+      expectedDetails.put("user", "ada");
+      expectedDetails.put("count", 7);
+      expectedDetails.put("limit", 5L);
+      assertEquals(expectedDetails, exceptionClass.getMethod("details").invoke(exception));
+      assertEquals(List.copyOf(expectedDetails.keySet()),
+          List.copyOf(((Map<?, ?>) exceptionClass.getMethod("details").invoke(exception)).keySet()));
+
+      Object viaFactory = exceptionClass.getMethod("of", String.class, int.class, long.class)
+          .invoke(null, "ada", 7, 5L);
+      assertEquals(exceptionClass.getMethod("description").invoke(exception),
+          exceptionClass.getMethod("description").invoke(viaFactory));
+      IllegalStateException cause = new IllegalStateException("quota store");
+      Throwable withCause = (Throwable) exceptionClass.getMethod("of", String.class, int.class, long.class, Throwable.class)
+          .invoke(null, "ada", 7, 5L, cause);
+      assertSame(cause, withCause.getCause());
+      assertThrows(InvocationTargetException.class,
+          () -> exceptionClass.getMethod("of", String.class, int.class, long.class).invoke(null, null, 7, 5L));
+
+      Object partial = exceptionClass.getMethod("builder").invoke(null);
+      partial.getClass().getMethod("count", int.class).invoke(partial, 7);
+      InvocationTargetException missing = assertThrows(InvocationTargetException.class,
+          () -> partial.getClass().getMethod("build").invoke(partial));
+      assertEquals("Missing required params: user, limit", missing.getCause().getMessage());
+
+      Class<?> visitorType = classLoader.loadClass("com.example.render.RenderErrorFieldVisitor");
+      List<String> visited = new ArrayList<>();
+      Object visitor = Proxy.newProxyInstance(classLoader, new Class<?>[] { visitorType },
+          (proxy, method, args) -> visited.add(method.getName() + ":" + args[0] + "=" + args[1]));
+      exceptionClass.getMethod("forEachField", visitorType).invoke(exception, visitor);
+      assertEquals(List.of("onString:source=render-service", "onString:code=QT0003",
+          "onString:user=ada", "onInt:count=7", "onLong:limit=5"), visited);
+
+      Class<?> lockedClass = classLoader.loadClass("com.example.render.QuotaLockedException");
+      Object locked = lockedClass.getMethod("of").invoke(null);
+      assertEquals("QT0004 locked by render-service", lockedClass.getMethod("description").invoke(locked));
+      assertEquals("Locked, recoverable=false", lockedClass.getMethod("detail").invoke(locked));
+      Field folded = lockedClass.getDeclaredField("RENDERED_DESCRIPTION");
+      folded.setAccessible(true);
+      assertSame(folded.get(null), lockedClass.getMethod("description").invoke(locked));
     } finally {
       classLoader.close();
     }
@@ -170,6 +320,884 @@ public class GeneratedExceptionRuntimeTest {
     }
   }
 
+  @Test
+  void stackTraceSettingsControlCapture() throws Exception {
+    Path sample = Path.of("src", "test", "resources", "samples", "stackless.yaml");
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Throwable invalidName = buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "Ada");
+      Throwable upstreamTimeout = buildError(classLoader, "com.example.stackless.UpstreamTimeoutException", "service", "db");
+      Throwable internalFailure = buildError(classLoader, "com.example.stackless.InternalFailureException", "reason", "boom");
+      Throwable container = (Throwable) classLoader.loadClass("com.example.stackless.ValidationContainerException")
+          .getConstructor().newInstance();
+
+      assertEquals(0, invalidName.getStackTrace().length);
+      assertEquals(0, upstreamTimeout.getStackTrace().length);
+      assertEquals(0, container.getStackTrace().length);
+      assertTrue(internalFailure.getStackTrace().length > 0, "Full stack trace expected for Internal category");
+
+      Throwable sampled = buildError(classLoader, "com.example.stackless.PartnerRejectedException", "partner", "acme");
+      Throwable truncated = buildError(classLoader, "com.example.stackless.PartnerRejectedException", "partner", "acme");
+      assertTrue(sampled.getStackTrace().length > 3, "First throw per code should capture a full stack trace");
+      assertEquals(3, truncated.getStackTrace().length);
+      assertEquals("build", truncated.getStackTrace()[0].getMethodName());
+
+      Class<?> missingNameClass = classLoader.loadClass("com.example.stackless.MissingNameException");
+      Throwable shared = (Throwable) missingNameClass.getMethod("instance").invoke(null);
+      assertSame(shared, missingNameClass.getMethod("instance").invoke(null));
+      InvocationTargetException thrown = assertThrows(InvocationTargetException.class,
+          () -> missingNameClass.getMethod("throwIt").invoke(null));
+      assertSame(shared, thrown.getCause());
+      shared.addSuppressed(new IllegalStateException("ignored"));
+      assertEquals(0, shared.getSuppressed().length);
+      assertEquals(0, shared.getStackTrace().length);
+      assertEquals("Missing name", shared.getMessage());
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void jfrOptionCommitsErrorEventsWhileRecording() throws Exception {
+    Path sample = Path.of("src", "test", "resources", "samples", "stackless.yaml");
+    Path outputDir = Files.createTempDirectory("edl-generated");
+    CompilationResult result = new EdlCompiler().compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    Path recordingFile = Files.createTempFile("edl-errors", ".jfr");
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try (Recording recording = new Recording()) {
+      buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "before");
+      recording.enable("com.example.stackless.StacklessError");
+      recording.start();
+      buildError(classLoader, "com.example.stackless.UpstreamTimeoutException", "service", "db");
+      Class<?> missingNameClass = classLoader.loadClass("com.example.stackless.MissingNameException");
+      assertThrows(InvocationTargetException.class, () -> missingNameClass.getMethod("throwIt").invoke(null));
+      recording.stop();
+      recording.dump(recordingFile);
+    } finally {
+      classLoader.close();
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+        .filter(event -> event.getEventType().getName().equals("com.example.stackless.StacklessError"))
+        .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+        .toList();
+    assertEquals(List.of("INT0002", "VAL0002"), events.stream().map(event -> event.getString("code")).toList());
+    RecordedEvent timeout = events.get(0);
+    assertEquals("Internal", timeout.getString("category"));
+    assertEquals(500, timeout.getInt("httpStatus"));
+    assertFalse(timeout.getBoolean("recoverable"));
+    assertNotNull(timeout.getStackTrace());
+  }
+
+  @Test
+  void sealedOptionPermitsSpecTypesAndExposesKinds() throws Exception {
+    String yaml = "package: com.example.sealed\n"
+        + "baseException: Shop\n"
+        + "source: shop-service\n"
+        + "options:\n"
+        + "  sealed: true\n"
+        + "categories:\n"
+        + "  Order:\n"
+        + "    codePrefix: ORD\n"
+        + "  Spare:\n"
+        + "    codePrefix: SPR\n"
+        + "errors:\n"
+        + "  outOfStock:\n"
+        + "    category: Order\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Out of stock {sku}\"\n"
+        + "      details: \"Sku {sku} is out of stock\"\n"
+        + "    required:\n"
+        + "      sku: String\n"
+        + "  paymentDeclined:\n"
+        + "    category: Order\n"
+        + "    fixed:\n"
+        + "      code: 2\n"
+        + "      description: \"Payment declined by rule: non_sealed class {\"\n"
+        + "      details: \"Payment declined\"\n";
+
+    Path spec = Files.createTempFile("edl-test", ".yaml");
+    Files.writeString(spec, yaml, StandardCharsets.UTF_8);
+    Path outputDir = Files.createTempDirectory("edl-generated");
+    CompilationResult result = new EdlCompiler().compile(spec, outputDir, new CompilerOptions(false, false));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() });
+    try {
+      Class<?> root = classLoader.loadClass("com.example.sealed.ShopException");
+      Class<?> order = classLoader.loadClass("com.example.sealed.OrderException");
+      Class<?> spare = classLoader.loadClass("com.example.sealed.SpareException");
+      assertTrue(root.isSealed());
+      assertEquals(Set.of(order, spare), Set.of(root.getPermittedSubclasses()));
+      assertEquals(Set.of(classLoader.loadClass("com.example.sealed.OutOfStockException"),
+          classLoader.loadClass("com.example.sealed.PaymentDeclinedException")),
+          Set.of(order.getPermittedSubclasses()));
+      assertTrue(!spare.isSealed() && !Modifier.isFinal(spare.getModifiers()));
+
+      Throwable outOfStock = buildError(classLoader, "com.example.sealed.OutOfStockException", "sku", "A-1");
+      Object kind = root.getMethod("kind").invoke(outOfStock);
+      assertEquals("OUT_OF_STOCK", ((Enum<?>) kind).name());
+      assertEquals(root.getMethod("ordinal").invoke(outOfStock), ((Enum<?>) kind).ordinal());
+      assertSame(kind, outOfStock.getClass().getField("KIND").get(null));
+      Object declined = classLoader.loadClass("com.example.sealed.ShopError").getMethod("paymentDeclined").invoke(null);
+      assertEquals("PAYMENT_DECLINED", ((Enum<?>) declined.getClass().getMethod("kind").invoke(declined)).name());
+      assertEquals("Payment declined by rule: non_sealed class {", declined.getClass().getMethod("description").invoke(declined));
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void nonAbstractCategoryCompilesAndFallsBackToCatalogTemplates() throws Exception {
+    String yaml = "package: com.example.concrete\n"
+        + "baseException: Legacy\n"
+        + "source: legacy-service\n"
+        + "categories:\n"
+        + "  Batch:\n"
+        + "    codePrefix: BAT\n"
+        + "    abstract: false\n"
+        + "errors:\n"
+        + "  jobFailed:\n"
+        + "    category: Batch\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Job {job} failed\"\n"
+        + "      details: \"Job {job} stopped\"\n"
+        + "    required:\n"
+        + "      job: String\n";
+
+    Path spec = Files.createTempFile("edl-test", ".yaml");
+    Files.writeString(spec, yaml, StandardCharsets.UTF_8);
+    Path outputDir = Files.createTempDirectory("edl-generated");
+    CompilationResult result = new EdlCompiler().compile(spec, outputDir, new CompilerOptions(false, false));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() });
+    try {
+      Class<?> batch = classLoader.loadClass("com.example.concrete.BatchException");
+      assertFalse(Modifier.isAbstract(batch.getModifiers()));
+
+      Throwable jobFailed = buildError(classLoader, "com.example.concrete.JobFailedException", "job", "nightly");
+      assertEquals("Job nightly failed", jobFailed.getMessage());
+
+      Constructor<?> constructor = batch.getDeclaredConstructor(int.class, Throwable.class, boolean.class, boolean.class);
+      constructor.setAccessible(true);
+      Throwable plain = (Throwable) constructor.newInstance(0, null, true, false);
+      assertEquals("BAT0001", batch.getMethod("code").invoke(plain));
+      assertEquals("Job {job} failed", plain.getMessage());
+      assertEquals("Job {job} stopped", batch.getMethod("detail").invoke(plain));
+      assertEquals("Job {job} stopped", batch.getMethod("appendDetail", StringBuilder.class)
+          .invoke(plain, new StringBuilder()).toString());
+      assertEquals("JOB_FAILED", ((Enum<?>) batch.getMethod("kind").invoke(plain)).name());
+      assertTrue(new String((byte[]) batch.getMethod("toJsonBytes").invoke(plain), StandardCharsets.UTF_8)
+          .contains("\"BAT0001\""));
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void errorCatalogResolvesCodesAndOrdinals() throws Exception {
+    Path sample = Path.of("src", "test", "resources", "samples", "stackless.yaml");
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Class<?> catalog = classLoader.loadClass("com.example.stackless.StacklessErrorCatalog");
+      assertEquals(5, catalog.getMethod("size").invoke(null));
+      assertEquals(4, catalog.getMethod("ordinalOf", String.class).invoke(null, "INTG0001"));
+      assertEquals(-1, catalog.getMethod("ordinalOf", String.class).invoke(null, "INTG0002"));
+      assertEquals(null, catalog.getMethod("byCode", String.class).invoke(null, "VAL9999"));
+
+      Object entry = catalog.getMethod("byCode", String.class).invoke(null, "INT0002");
+      Class<?> entryClass = entry.getClass();
+      assertEquals(3, entryClass.getMethod("ordinal").invoke(entry));
+      assertEquals("Internal", entryClass.getMethod("category").invoke(entry));
+      assertEquals(500, entryClass.getMethod("httpStatus").invoke(entry));
+      assertEquals("Upstream {service} timed out", entryClass.getMethod("descriptionTemplate").invoke(entry));
+      assertSame(entry, catalog.getMethod("byOrdinal", int.class).invoke(null, 3));
+
+      Throwable error = buildError(classLoader, "com.example.stackless.UpstreamTimeoutException", "service", "db");
+      assertEquals(3, error.getClass().getMethod("ordinal").invoke(error));
+
+      Class<?> stats = classLoader.loadClass("com.example.stackless.StacklessErrorStats");
+      assertEquals(1L, stats.getMethod("createdCount", int.class).invoke(null, 3));
+      stats.getMethod("handled", int.class).invoke(null, 3);
+      Object snapshot = stats.getMethod("snapshot").invoke(null);
+      Class<?> snapshotClass = snapshot.getClass();
+      assertEquals(1L, snapshotClass.getMethod("handled", int.class).invoke(snapshot, 3));
+      assertEquals(1L, snapshotClass.getMethod("totalCreated").invoke(snapshot));
+      Map<?, ?> createdByCode = (Map<?, ?>) snapshotClass.getMethod("createdByCode").invoke(snapshot);
+      assertEquals(List.of("VAL0001", "VAL0002", "INT0001", "INT0002", "INTG0001"), List.copyOf(createdByCode.keySet()));
+      assertEquals(1L, createdByCode.get("INT0002"));
+      assertEquals(0L, createdByCode.get("VAL0001"));
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void catalogEntriesMatchGeneratedExceptions() throws Exception {
+    Path outputDir = Files.createTempDirectory("edl-generated");
+    EdlCompiler compiler = new EdlCompiler();
+    for (String name : List.of("stackless.yaml", "inheritance.yaml")) {
+      Path sample = Path.of("src", "test", "resources", "samples", name);
+      CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+      assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+          formatDiagnostics(result.getDiagnostics()));
+    }
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      for (String base : List.of("com.example.stackless.Stackless", "com.example.hierarchy.Hierarchy")) {
+        Class<?> catalog = classLoader.loadClass(base + "ErrorCatalog");
+        Method byOrdinal = catalog.getMethod("byOrdinal", int.class);
+        int size = (int) catalog.getMethod("size").invoke(null);
+        Object[] kinds = classLoader.loadClass(base + "Exception$Kind").getEnumConstants();
+        assertEquals(kinds.length, size);
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+          Object entry = byOrdinal.invoke(null, ordinal);
+          Class<?> entryClass = entry.getClass();
+          StringBuilder simpleName = new StringBuilder();
+          for (String part : ((Enum<?>) kinds[ordinal]).name().split("_")) {
+            simpleName.append(part.charAt(0)).append(part.substring(1).toLowerCase());
+          }
+          Class<?> errorClass = classLoader.loadClass(base.substring(0, base.lastIndexOf('.') + 1)
+              + simpleName + "Exception");
+          Method of = Stream.of(errorClass.getMethods())
+              .filter(method -> method.getName().equals("of"))
+              .filter(method -> Stream.of(method.getParameterTypes()).allMatch(String.class::equals))
+              .findFirst()
+              .orElseThrow();
+          Object[] args = new Object[of.getParameterCount()];
+          Arrays.fill(args, "x");
+          Object error = of.invoke(null, args);
+
+          String context = errorClass.getSimpleName();
+          assertEquals(ordinal, errorClass.getField("ORDINAL").getInt(null), context);
+          assertEquals(ordinal, entryClass.getMethod("ordinal").invoke(entry), context);
+          assertEquals(entryClass.getMethod("code").invoke(entry), errorClass.getMethod("code").invoke(error), context);
+          assertEquals(entryClass.getMethod("httpStatus").invoke(entry),
+              errorClass.getMethod("httpStatus").invoke(error), context);
+          assertEquals(entryClass.getMethod("recoverable").invoke(entry),
+              errorClass.getMethod("recoverable").invoke(error), context);
+          assertEquals(entryClass.getMethod("recoverable").invoke(entry), errorClass.getField("RECOVERABLE").get(null), context);
+          assertEquals(entryClass.getMethod("descriptionTemplate").invoke(entry),
+              errorClass.getMethod("descriptionTemplate").invoke(error), context);
+          assertEquals(entryClass.getMethod("descriptionTemplate").invoke(entry),
+              errorClass.getField("DESCRIPTION_TEMPLATE").get(null), context);
+          assertEquals(entryClass.getMethod("detailTemplate").invoke(entry),
+              errorClass.getMethod("detailTemplate").invoke(error), context);
+          assertEquals(entryClass.getMethod("detailTemplate").invoke(entry),
+              errorClass.getField("DETAIL_TEMPLATE").get(null), context);
+          assertEquals(entryClass.getMethod("category").invoke(entry) + "Exception",
+              errorClass.getSuperclass().getSimpleName(), context);
+          assertSame(entry, catalog.getMethod("byCode", String.class).invoke(null, errorClass.getMethod("code").invoke(error)));
+        }
+        for (int outOfRange : new int[] { -1, size }) {
+          InvocationTargetException rejected = assertThrows(InvocationTargetException.class,
+              () -> byOrdinal.invoke(null, outOfRange));
+          assertSame(IndexOutOfBoundsException.class, rejected.getCause().getClass());
+        }
+      }
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void writeJsonFollowsResponseMapping() throws Exception {
+    Path sample = Path.of("src", "test", "resources", "samples", "stackless.yaml");
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Throwable error = buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "A\"d\u00e9\n");
+      String expected = "{\"Source\":\"stackless-service\",\"ReasonCode\":\"VAL0001\","
+          + "\"Description\":\"Invalid name A\\\"d\u00e9\\n\",\"Details\":\"Name A\\\"d\u00e9\\n is invalid\","
+          + "\"Recoverable\":false}";
+      byte[] bytes = (byte[]) error.getClass().getMethod("toJsonBytes").invoke(error);
+      assertEquals(expected, new String(bytes, StandardCharsets.UTF_8));
+      StringBuilder text = new StringBuilder();
+      error.getClass().getMethod("writeJson", Appendable.class).invoke(error, text);
+      assertEquals(expected, text.toString());
+
+      Class<?> containerClass = classLoader.loadClass("com.example.stackless.ValidationContainerException");
+      Class<?> validationClass = classLoader.loadClass("com.example.stackless.ValidationException");
+      Object container = containerClass.getConstructor().newInstance();
+      containerClass.getMethod("add", validationClass).invoke(container, error);
+      Object missingName = classLoader.loadClass("com.example.stackless.MissingNameException").getMethod("instance").invoke(null);
+      containerClass.getMethod("add", validationClass).invoke(container, missingName);
+      byte[] containerBytes = (byte[]) containerClass.getMethod("toJsonBytes").invoke(container);
+      assertEquals("{\"Error\":[" + expected + ",{\"Source\":\"stackless-service\",\"ReasonCode\":\"VAL0002\","
+          + "\"Description\":\"Missing name\",\"Details\":\"Name is required\",\"Recoverable\":false}]}",
+          new String(containerBytes, StandardCharsets.UTF_8));
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void concurrentContainerCollectsParallelAdds() throws Exception {
+    Path sample = Path.of("src", "test", "resources", "samples", "stackless.yaml");
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Class<?> containerClass = classLoader.loadClass("com.example.stackless.ValidationContainerException");
+      Class<?> validationClass = classLoader.loadClass("com.example.stackless.ValidationException");
+      assertEquals("StacklessConcurrentContainerException", containerClass.getSuperclass().getSimpleName());
+      Object container = containerClass.getConstructor().newInstance();
+      Method add = containerClass.getMethod("add", int.class, validationClass);
+      int count = 5000;
+      IntStream.range(0, count).parallel().forEach(i -> {
+        try {
+          add.invoke(container, i,
+              buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "n" + i));
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      });
+
+      assertEquals(count, containerClass.getMethod("size").invoke(container));
+      List<?> errors = (List<?>) containerClass.getMethod("errors").invoke(container);
+      assertEquals(count, errors.size());
+      Method errorAt = containerClass.getMethod("errorAt", int.class);
+      Set<String> messages = new HashSet<>();
+      for (int i = 0; i < count; i++) {
+        Throwable error = (Throwable) errorAt.invoke(container, i);
+        assertSame(errors.get(i), error);
+        assertEquals("Invalid name n" + i, error.getMessage());
+        messages.add(error.getMessage());
+      }
+      assertEquals(count, messages.size());
+      assertThrows(InvocationTargetException.class, () -> errorAt.invoke(container, count));
+
+      Method addUnpositioned = containerClass.getMethod("add", validationClass);
+      Method forEachError = containerClass.getMethod("forEachError", Consumer.class);
+      Object missing = classLoader.loadClass("com.example.stackless.MissingNameException")
+          .getMethod("instance").invoke(null);
+      Object inAddOrder = containerClass.getConstructor().newInstance();
+      List<String> added = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        Throwable error = i % 3 == 0 ? (Throwable) missing
+            : buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "n" + i);
+        addUnpositioned.invoke(inAddOrder, error);
+        added.add(error.getMessage());
+      }
+      List<String> rendered = new ArrayList<>();
+      forEachError.invoke(inAddOrder, (Consumer<Throwable>) error -> rendered.add(error.getMessage()));
+      assertEquals(added, rendered);
+
+      List<?> snapshot = (List<?>) containerClass.getMethod("descriptors").invoke(inAddOrder);
+      addUnpositioned.invoke(inAddOrder, missing);
+      assertEquals(40, snapshot.size());
+      assertSame(missing, snapshot.get(39));
+      assertEquals(41, containerClass.getMethod("size").invoke(inAddOrder));
+
+      Object mixed = containerClass.getConstructor().newInstance();
+      addUnpositioned.invoke(mixed, missing);
+      add.invoke(mixed, 2, buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "two"));
+      add.invoke(mixed, 1, buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "one"));
+      List<String> positioned = new ArrayList<>();
+      forEachError.invoke(mixed, (Consumer<Throwable>) error -> positioned.add(error.getMessage()));
+      assertEquals(List.of("Invalid name one", "Invalid name two", "Missing name"), positioned);
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void boundedContainerDeduplicatesAndCountsSuppressed() throws Exception {
+    Path sample = Path.of("src", "test", "resources", "samples", "error-list.yaml");
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Class<?> containerClass = classLoader.loadClass("com.example.hello.CommonContainerException");
+      Class<?> commonClass = classLoader.loadClass("com.example.hello.CommonException");
+      Object container = containerClass.getConstructor().newInstance();
+      Method add = containerClass.getMethod("add", commonClass);
+      assertEquals(false, containerClass.getMethod("containsCode", String.class).invoke(container, "CM0001"));
+      for (int i = 0; i < 60; i++) {
+        add.invoke(container, buildError(classLoader, "com.example.hello.HelloWorldException", "name", "n" + i));
+      }
+      for (int i = 0; i < 3; i++) {
+        add.invoke(container, buildError(classLoader, "com.example.hello.HelloWorldException", "name", "n7"));
+        add.invoke(container, buildError(classLoader, "com.example.hello.HelloWorldException", "name", "n55"));
+      }
+
+      assertEquals(50, containerClass.getMethod("size").invoke(container));
+      assertEquals(13L, containerClass.getMethod("suppressedCount").invoke(container));
+      Method occurrences = containerClass.getMethod("occurrences", int.class);
+      assertEquals(4, occurrences.invoke(container, 7));
+      assertEquals(1, occurrences.invoke(container, 8));
+      assertEquals(true, containerClass.getMethod("containsCode", String.class).invoke(container, "CM0001"));
+      assertEquals(false, containerClass.getMethod("containsCode", String.class).invoke(container, "CM0002"));
+
+      StringBuilder json = new StringBuilder();
+      containerClass.getMethod("writeJson", Appendable.class).invoke(container, json);
+      assertTrue(json.toString().startsWith("{\"Suppressed\":13,\"Error\":[{\"Source\":\"hello-service\""),
+          json.toString());
+      assertTrue(json.toString().contains("\"Description\":\"Hello n7\",\"Details\":\"Hello detail n7\","
+          + "\"Recoverable\":false,\"Count\":4}"), json.toString());
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void collectorsMergeParallelStreamsIntoContainers() throws Exception {
+    Path outputDir = Files.createTempDirectory("edl-generated");
+    EdlCompiler compiler = new EdlCompiler();
+    for (String name : List.of("error-list.yaml", "stackless.yaml")) {
+      Path sample = Path.of("src", "test", "resources", "samples", name);
+      CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+      assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+          formatDiagnostics(result.getDiagnostics()));
+    }
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      List<Throwable> greetings = new ArrayList<>();
+      for (int i = 0; i < 2000; i++) {
+        greetings.add(buildError(classLoader, "com.example.hello.HelloWorldException", "name", "n" + (i % 40)));
+      }
+      Class<?> commonContainer = classLoader.loadClass("com.example.hello.CommonContainerException");
+      Collector<Object, ?, Object> commonCollector =
+          (Collector<Object, ?, Object>) commonContainer.getMethod("collector").invoke(null);
+      Object collected = greetings.parallelStream().collect(commonCollector);
+      assertEquals(40, commonContainer.getMethod("size").invoke(collected));
+      assertEquals(0L, commonContainer.getMethod("suppressedCount").invoke(collected));
+      Method occurrences = commonContainer.getMethod("occurrences", int.class);
+      for (int i = 0; i < 40; i++) {
+        assertEquals(50, occurrences.invoke(collected, i));
+      }
+      InvocationTargetException thrown = assertThrows(InvocationTargetException.class,
+          () -> commonContainer.getMethod("throwIfNotEmpty").invoke(collected));
+      assertSame(collected, thrown.getCause());
+      Object empty = List.of().stream().collect(commonCollector);
+      commonContainer.getMethod("throwIfNotEmpty").invoke(empty);
+
+      List<Throwable> distinct = new ArrayList<>();
+      for (int i = 0; i < 2000; i++) {
+        distinct.add(buildError(classLoader, "com.example.hello.HelloWorldException", "name", "d" + i));
+      }
+      Object bounded = distinct.parallelStream().collect(commonCollector);
+      assertEquals(50, commonContainer.getMethod("size").invoke(bounded));
+      assertEquals(1950L, commonContainer.getMethod("suppressedCount").invoke(bounded));
+      Method errorAt = commonContainer.getMethod("errorAt", int.class);
+      for (int i = 0; i < 50; i++) {
+        assertSame(distinct.get(i), errorAt.invoke(bounded, i));
+      }
+
+      List<Throwable> invalid = new ArrayList<>();
+      for (int i = 0; i < 3000; i++) {
+        invalid.add(buildError(classLoader, "com.example.stackless.InvalidNameException", "name", "n" + i));
+      }
+      Class<?> validationContainer = classLoader.loadClass("com.example.stackless.ValidationContainerException");
+      Collector<Object, ?, Object> validationCollector =
+          (Collector<Object, ?, Object>) validationContainer.getMethod("collector").invoke(null);
+      Object validation = invalid.parallelStream().collect(validationCollector);
+      assertEquals(3000, validationContainer.getMethod("size").invoke(validation));
+      List<?> collectedErrors = (List<?>) validationContainer.getMethod("errors").invoke(validation);
+      for (int i = 0; i < 3000; i++) {
+        assertSame(invalid.get(i), collectedErrors.get(i));
+      }
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void containersRenderDescriptorsWithoutExceptions() throws Exception {
+    Path outputDir = Files.createTempDirectory("edl-generated");
+    EdlCompiler compiler = new EdlCompiler();
+    for (String name : List.of("catalog.yaml", "error-list.yaml", "stackless.yaml")) {
+      Path sample = Path.of("src", "test", "resources", "samples", name);
+      CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+      assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+          formatDiagnostics(result.getDiagnostics()));
+    }
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Class<?> fooError = classLoader.loadClass("com.example.catalog.FooErrorException");
+      Class<?> fooDescriptor = classLoader.loadClass("com.example.catalog.CatalogError$FooErrorError");
+      Object ada = fooError.getMethod("descriptor", String.class, String.class).invoke(null, "Ada", "eu-west-1");
+      assertEquals("AUTH0001", fooDescriptor.getMethod("code").invoke(ada));
+      assertEquals("Userid invalid Ada", fooDescriptor.getMethod("description").invoke(ada));
+      assertThrows(InvocationTargetException.class,
+          () -> fooError.getMethod("descriptor", String.class).invoke(null, (Object) null));
+
+      Class<?> authContainer = classLoader.loadClass("com.example.catalog.AuthContainerException");
+      Object container = authContainer.getConstructor().newInstance();
+      authContainer.getMethod("add", classLoader.loadClass("com.example.catalog.CatalogError$AuthError"))
+          .invoke(container, ada);
+      authContainer.getMethod("add", classLoader.loadClass("com.example.catalog.AuthException"))
+          .invoke(container, buildFooError(fooError, "Bob"));
+      assertSame(ada, authContainer.getMethod("descriptorAt", int.class).invoke(container, 0));
+      Throwable materialized = (Throwable) authContainer.getMethod("errorAt", int.class).invoke(container, 0);
+      assertSame(fooError, materialized.getClass());
+      assertEquals("Userid invalid Ada", materialized.getMessage());
+      assertEquals("eu-west-1", fooError.getMethod("region").invoke(materialized));
+      assertSame(materialized, authContainer.getMethod("errorAt", int.class).invoke(container, 0));
+      assertSame(materialized, authContainer.getMethod("descriptorAt", int.class).invoke(container, 0));
+
+      Class<?> handlerClass = classLoader.loadClass("com.example.catalog.CatalogExceptionHandler");
+      Object handler = handlerClass.getConstructor().newInstance();
+      @SuppressWarnings("unchecked")
+      ResponseEntity<Map<String, Object>> entity = (ResponseEntity<Map<String, Object>>) handlerClass
+          .getMethod("handleAuthContainerException", authContainer).invoke(handler, container);
+      @SuppressWarnings("unchecked")
+      List<Map<String, Object>> errors = (List<Map<String, Object>>) entity.getBody().get("Error");
+      assertEquals(2, errors.size());
+      assertEquals("Userid Ada does not exist", errors.get(0).get("Details"));
+      assertEquals(false, errors.get(0).get("Recoverable"));
+      assertEquals("Userid invalid Bob", errors.get(1).get("Description"));
+
+      Class<?> helloWorld = classLoader.loadClass("com.example.hello.HelloWorldException");
+      Class<?> helloDescriptor = classLoader.loadClass("com.example.hello.HelloError$CommonError");
+      Class<?> commonContainer = classLoader.loadClass("com.example.hello.CommonContainerException");
+      Object common = commonContainer.getConstructor().newInstance();
+      commonContainer.getMethod("add", helloDescriptor)
+          .invoke(common, helloWorld.getMethod("descriptor", String.class).invoke(null, "Ada"));
+      commonContainer.getMethod("add", classLoader.loadClass("com.example.hello.CommonException"))
+          .invoke(common, buildError(classLoader, "com.example.hello.HelloWorldException", "name", "Ada"));
+      assertEquals(1, commonContainer.getMethod("size").invoke(common));
+      assertEquals(2, commonContainer.getMethod("occurrences", int.class).invoke(common, 0));
+
+      Class<?> validationContainer = classLoader.loadClass("com.example.stackless.ValidationContainerException");
+      Class<?> missingName = classLoader.loadClass("com.example.stackless.MissingNameException");
+      Object missing = missingName.getMethod("descriptor").invoke(null);
+      assertSame(missing, missingName.getMethod("descriptor").invoke(null));
+      Object validation = validationContainer.getConstructor().newInstance();
+      validationContainer.getMethod("add", classLoader.loadClass("com.example.stackless.StacklessError$ValidationError"))
+          .invoke(validation, missing);
+      Class<?> stats = classLoader.loadClass("com.example.stackless.StacklessErrorStats");
+      int missingOrdinal = missingName.getField("ORDINAL").getInt(null);
+      long created = (long) stats.getMethod("createdCount", int.class).invoke(null, missingOrdinal);
+      Method errorAt = validationContainer.getMethod("errorAt", int.class);
+      Object thrown = errorAt.invoke(validation, 0);
+      assertSame(thrown, errorAt.invoke(validation, 0));
+      validationContainer.getMethod("errors").invoke(validation);
+      assertEquals(created + 1, stats.getMethod("createdCount", int.class).invoke(null, missingOrdinal));
+      Class<?> internalContainer = classLoader.loadClass("com.example.stackless.InternalContainerException");
+      Class<?> stacklessDescriptor = classLoader.loadClass("com.example.stackless.StacklessErrorDescriptor");
+      Object internal = internalContainer.getConstructor().newInstance();
+      internalContainer.getMethod("add", classLoader.loadClass("com.example.stackless.StacklessError$InternalError"))
+          .invoke(internal, classLoader.loadClass("com.example.stackless.InternalFailureException")
+              .getMethod("descriptor", String.class).invoke(null, "disk"));
+      internalContainer.getMethod("add", stacklessDescriptor).invoke(internal, missing);
+      Method mapContainerResponse = classLoader.loadClass("com.example.stackless.ExceptionHandlerBase")
+          .getDeclaredMethod("mapContainerResponse", classLoader.loadClass("com.example.stackless.StacklessContainerException"));
+      mapContainerResponse.setAccessible(true);
+      @SuppressWarnings("unchecked")
+      Map<String, Object> internalBody = (Map<String, Object>) mapContainerResponse.invoke(
+          classLoader.loadClass("com.example.stackless.StacklessExceptionHandler").getConstructor().newInstance(), internal);
+      @SuppressWarnings("unchecked")
+      List<Map<String, Object>> internalItems = (List<Map<String, Object>>) internalBody.get("Error");
+      assertEquals("Internal failure disk", internalItems.get(0).get("Description"));
+      assertFalse(internalItems.get(0).containsKey("Recoverable"));
+      assertEquals("Missing name", internalItems.get(1).get("Description"));
+      assertEquals(false, internalItems.get(1).get("Recoverable"));
+      StringBuilder internalJson = new StringBuilder();
+      internalContainer.getMethod("writeJson", Appendable.class).invoke(internal, internalJson);
+      assertEquals("{\"Error\":[{\"Source\":\"stackless-service\",\"ReasonCode\":\"INT0001\","
+          + "\"Description\":\"Internal failure disk\",\"Details\":\"Internal failure disk\"},"
+          + "{\"Source\":\"stackless-service\",\"ReasonCode\":\"VAL0002\",\"Description\":\"Missing name\","
+          + "\"Details\":\"Name is required\",\"Recoverable\":false}]}", internalJson.toString());
+      assertEquals(internalJson.toString(), new String(
+          (byte[]) internalContainer.getMethod("toJsonBytes").invoke(internal), StandardCharsets.UTF_8));
+      StringBuilder json = new StringBuilder();
+      validationContainer.getMethod("writeJson", Appendable.class).invoke(validation, json);
+      assertEquals("{\"Error\":[{\"Source\":\"stackless-service\",\"ReasonCode\":\"VAL0002\","
+          + "\"Description\":\"Missing name\",\"Details\":\"Name is required\",\"Recoverable\":false}]}",
+          json.toString());
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void mapResponseDispatchesToCategoryMappers() throws Exception {
+    Path sample = Path.of("src", "test", "resources", "samples", "stackless.yaml");
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+    Files.writeString(outputDir.resolve("RecordingHandler.java"), "package com.example.stackless;\n"
+        + "import java.util.ArrayList;\n"
+        + "import java.util.List;\n"
+        + "import java.util.Map;\n"
+        + "public class RecordingHandler extends ExceptionHandlerBase {\n"
+        + "  public final List<String> calls = new ArrayList<>();\n"
+        + "  public Map<String, Object> map(StacklessException exception) {\n"
+        + "    return mapResponse(exception);\n"
+        + "  }\n"
+        + "  @Override protected Map<String, Object> mapValidationResponse(ValidationException exception) {\n"
+        + "    calls.add(\"Validation\");\n"
+        + "    return super.mapValidationResponse(exception);\n"
+        + "  }\n"
+        + "  @Override protected Map<String, Object> mapInternalResponse(InternalException exception) {\n"
+        + "    calls.add(\"Internal\");\n"
+        + "    return super.mapInternalResponse(exception);\n"
+        + "  }\n"
+        + "  @Override protected Map<String, Object> mapIntegrationResponse(IntegrationException exception) {\n"
+        + "    calls.add(\"Integration\");\n"
+        + "    return super.mapIntegrationResponse(exception);\n"
+        + "  }\n"
+        + "}\n", StandardCharsets.UTF_8);
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Class<?> handlerClass = classLoader.loadClass("com.example.stackless.RecordingHandler");
+      Object handler = handlerClass.getConstructor().newInstance();
+      Method map = handlerClass.getMethod("map", classLoader.loadClass("com.example.stackless.StacklessException"));
+      @SuppressWarnings("unchecked")
+      List<String> calls = (List<String>) handlerClass.getField("calls").get(handler);
+
+      Object invalidName = classLoader.loadClass("com.example.stackless.InvalidNameException")
+          .getMethod("of", String.class).invoke(null, "Ada");
+      Map<String, Object> validation = new LinkedHashMap<>();
+      validation.put("Source", "stackless-service");
+      validation.put("ReasonCode", "VAL0001");
+      validation.put("Description", "Invalid name Ada");
+      validation.put("Details", "Name Ada is invalid");
+      validation.put("Recoverable", false);
+      assertEquals(validation, map.invoke(handler, invalidName));
+      assertEquals(List.of("Validation"), calls);
+
+      Object internalFailure = classLoader.loadClass("com.example.stackless.InternalFailureException")
+          .getMethod("of", String.class).invoke(null, "disk");
+      Map<String, Object> internal = new LinkedHashMap<>();
+      internal.put("Source", "stackless-service");
+      internal.put("ReasonCode", "INT0001");
+      internal.put("Description", "Internal failure disk");
+      internal.put("Details", "Internal failure disk");
+      assertEquals(internal, map.invoke(handler, internalFailure));
+      assertEquals(List.of("Validation", "Internal"), calls);
+
+      Object partnerRejected = classLoader.loadClass("com.example.stackless.PartnerRejectedException")
+          .getMethod("of", String.class).invoke(null, "acme");
+      Map<String, Object> integration = new LinkedHashMap<>();
+      integration.put("Source", "stackless-service");
+      integration.put("ReasonCode", "INTG0001");
+      integration.put("Description", "Partner acme rejected the request");
+      integration.put("Details", "Partner acme rejected the request");
+      assertEquals(integration, map.invoke(handler, partnerRejected));
+      assertEquals(List.of("Validation", "Internal", "Integration"), calls);
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void containerJsonMatchesMappedResponseForLiterals() throws Exception {
+    String yaml = "package: com.example.literals\n"
+        + "baseException: Literals\n"
+        + "source: literals-service\n"
+        + "categories:\n"
+        + "  Auth:\n"
+        + "    codePrefix: AUTH\n"
+        + "    httpStatus: 401\n"
+        + "    container: true\n"
+        + "errors:\n"
+        + "  fooError:\n"
+        + "    category: Auth\n"
+        + "    fixed:\n"
+        + "      code: 1\n"
+        + "      description: \"Userid invalid {userId}\"\n"
+        + "      details: \"Userid {userId} does not exist\"\n"
+        + "    required:\n"
+        + "      userId: String\n"
+        + "containerResponse:\n"
+        + "  Version: 2\n"
+        + "  Ratio: 1.5\n"
+        + "  Extra: null\n"
+        + "  Tags: [a, ~]\n"
+        + "  Meta: {k: null, n: 3}\n"
+        + "  Suppressed: suppressed\n"
+        + "  Error:\n"
+        + "    - ReasonCode: code\n"
+        + "      Description: description\n"
+        + "      Count: occurrences\n"
+        + "      Missing: null\n"
+        + "      Nested: {x: null, y: [1, null, \"q\\\"t\"]}\n";
+
+    Path spec = Files.createTempFile("edl-test", ".yaml");
+    Files.writeString(spec, yaml, StandardCharsets.UTF_8);
+    Path outputDir = Files.createTempDirectory("edl-generated");
+
+    EdlCompiler compiler = new EdlCompiler();
+    CompilationResult result = compiler.compile(spec, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Class<?> containerClass = classLoader.loadClass("com.example.literals.AuthContainerException");
+      Class<?> literalsException = classLoader.loadClass("com.example.literals.LiteralsException");
+      Object container = containerClass.getConstructor().newInstance();
+      Method add = containerClass.getMethod("add", literalsException);
+      add.invoke(container, buildError(classLoader, "com.example.literals.FooErrorException", "userId", "Ada"));
+      add.invoke(container, buildError(classLoader, "com.example.literals.FooErrorException", "userId", "Ada"));
+      add.invoke(container, buildError(classLoader, "com.example.literals.FooErrorException", "userId", "Bob"));
+
+      Method mapContainerResponse = classLoader.loadClass("com.example.literals.ExceptionHandlerBase")
+          .getDeclaredMethod("mapContainerResponse", classLoader.loadClass("com.example.literals.LiteralsContainerException"));
+      mapContainerResponse.setAccessible(true);
+      Object body = mapContainerResponse.invoke(
+          classLoader.loadClass("com.example.literals.LiteralsExceptionHandler").getConstructor().newInstance(), container);
+      String json = new String((byte[]) containerClass.getMethod("toJsonBytes").invoke(container), StandardCharsets.UTF_8);
+
+      assertEquals(toJson(body), json);
+      assertTrue(json.startsWith("{\"Version\":2,\"Ratio\":1.5,\"Extra\":null,\"Tags\":[\"a\",null],"
+          + "\"Meta\":{\"k\":null,\"n\":3},"), json);
+      assertTrue(json.contains(",\"Missing\":null,\"Nested\":{\"x\":null,\"y\":[1,null,\"q\\\"t\"]}}"), json);
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  @Test
+  void errorValuesAndResultsAvoidExceptionsUntilThrown() throws Exception {
+    Path outputDir = Files.createTempDirectory("edl-generated");
+    Path sample = Path.of("src", "test", "resources", "samples", "stackless.yaml");
+    CompilationResult result = new EdlCompiler().compile(sample, outputDir, new CompilerOptions(false, true));
+    assertTrue(result.getDiagnostics().stream().noneMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR),
+        formatDiagnostics(result.getDiagnostics()));
+
+    Path classesDir = Files.createTempDirectory("edl-classes");
+    compileSources(outputDir, classesDir);
+
+    URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+        GeneratedExceptionRuntimeTest.class.getClassLoader());
+    try {
+      Class<?> errorValues = classLoader.loadClass("com.example.stackless.StacklessError");
+      Object invalid = errorValues.getMethod("invalidName", String.class).invoke(null, "x");
+      assertTrue(classLoader.loadClass("com.example.stackless.StacklessError$ValidationError").isInstance(invalid));
+      assertEquals(invalid, errorValues.getMethod("invalidName", String.class).invoke(null, "x"));
+      assertEquals(invalid.hashCode(), errorValues.getMethod("invalidName", String.class).invoke(null, "x").hashCode());
+      assertEquals("VAL0001: Invalid name x", invalid.toString());
+      assertThrows(InvocationTargetException.class,
+          () -> errorValues.getMethod("invalidName", String.class).invoke(null, (Object) null));
+
+      Class<?> resultClass = classLoader.loadClass("com.example.stackless.StacklessResult");
+      Object failure = resultClass.getMethod("failure", errorValues).invoke(null, invalid);
+      assertEquals(true, resultClass.getMethod("isFailure").invoke(failure));
+      assertEquals("fallback", resultClass.getMethod("orElse", Object.class).invoke(failure, "fallback"));
+      InvocationTargetException thrown = assertThrows(InvocationTargetException.class,
+          () -> resultClass.getMethod("orElseThrow").invoke(failure));
+      assertEquals("com.example.stackless.InvalidNameException", thrown.getCause().getClass().getName());
+      assertEquals("Invalid name x", thrown.getCause().getMessage());
+
+      Object success = resultClass.getMethod("success", Object.class).invoke(null, "ada");
+      Function<Object, Object> upper = value -> value.toString().toUpperCase();
+      Object mapped = resultClass.getMethod("map", Function.class).invoke(success, upper);
+      assertEquals("ADA", resultClass.getMethod("value").invoke(mapped));
+      assertSame(failure, resultClass.getMethod("map", Function.class).invoke(failure, upper));
+      assertSame(failure, resultClass.getMethod("flatMap", Function.class).invoke(failure, upper));
+      assertSame(invalid.getClass().getMethod("description").invoke(invalid),
+          invalid.getClass().getMethod("description").invoke(invalid));
+    } finally {
+      classLoader.close();
+    }
+  }
+
+  private Throwable buildError(ClassLoader classLoader, String className, String param, String value) throws Exception {
+    Class<?> errorClass = classLoader.loadClass(className);
+    Object builder = errorClass.getMethod("builder").invoke(null);
+    builder.getClass().getMethod(param, String.class).invoke(builder, value);
+    return (Throwable) builder.getClass().getMethod("build").invoke(builder);
+  }
+
   private Object buildFooError(Class<?> errorClass, String userId) throws Exception {
     Object builder = errorClass.getMethod("builder").invoke(null);
     builder.getClass().getMethod("userId", String.class).invoke(builder, userId);
@@ -177,6 +1205,27 @@ public class GeneratedExceptionRuntimeTest {
     return builder.getClass().getMethod("build").invoke(builder);
   }
 
+  private String toJson(Object value) {
+    if (value instanceof Map<?, ?> map) {
+      List<String> fields = new ArrayList<>();
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        fields.add(toJson(entry.getKey()) + ":" + toJson(entry.getValue()));
+      }
+      return "{" + String.join(",", fields) + "}";
+    }
+    if (value instanceof List<?> list) {
+      List<String> items = new ArrayList<>();
+      for (Object item : list) {
+        items.add(toJson(item));
+      }
+      return "[" + String.join(",", items) + "]";
+    }
+    if (value instanceof String text) {
+      return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+    return String.valueOf(value);
+  }
+
   private Map<String, Object> sortedMap(Map<String, Object> input) {
     return input.entrySet().stream()
         .sorted(Map.Entry.comparingByKey())
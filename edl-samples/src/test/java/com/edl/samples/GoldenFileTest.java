@@ -41,6 +41,11 @@ public class GoldenFileTest {
     assertGolden("error-list");
   }
 
+  @Test
+  void stacklessSampleMatchesGoldenFiles() throws Exception {
+    assertGolden("stackless");
+  }
+
   private void assertGolden(String sampleName) throws Exception {
     Path sample = Path.of("src", "test", "resources", "samples", sampleName + ".yaml");
     Path expectedDir = Path.of("src", "test", "resources", "expected", sampleName);
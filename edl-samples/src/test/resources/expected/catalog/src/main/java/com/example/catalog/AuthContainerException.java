@@ -1,14 +1,36 @@
 package com.example.catalog;
 
+import java.util.stream.Collector;
+
 public final class AuthContainerException extends CatalogContainerException {
   private static final int HTTP_STATUS = 401;
 
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final int MAX_ERRORS = 20;
+
+  private static final boolean DEDUPLICATE = false;
+
   public AuthContainerException() {
-    super(HTTP_STATUS);
+    super(HTTP_STATUS, WRITABLE_STACK_TRACE, MAX_ERRORS, DEDUPLICATE);
   }
 
   public AuthContainerException add(AuthException error) {
     super.add(error);
     return this;
   }
+
+  public AuthContainerException add(CatalogError.AuthError error) {
+    super.add(error);
+    return this;
+  }
+
+  public AuthContainerException merge(AuthContainerException other) {
+    super.merge(other);
+    return this;
+  }
+
+  public static Collector<AuthException, ?, AuthContainerException> collector() {
+    return Collector.of(AuthContainerException::new, AuthContainerException::add, AuthContainerException::merge);
+  }
 }
@@ -1,31 +1,70 @@
 package com.example.catalog;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.Appendable;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
 import java.lang.Override;
 import java.lang.String;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Objects;
 
 public abstract class AuthException extends CatalogException {
-  private static final String CODE_PREFIX = "AUTH";
+  private static final String[] INFO_KEYS = {"source", "code", "description", "details", "recoverable"};
 
-  protected static final int HTTP_STATUS = 401;
+  private static final byte[][] JSON_CHUNKS = CatalogJson.utf8("{\"Source\":\"catalog-service\",\"ReasonCode\":", ",\"Description\":", ",\"Details\":", ",\"Recoverable\":", "}");
 
-  protected AuthException(String errorCode, int httpStatus, String descriptionTemplate,
-      String detailTemplate, Map<String, Object> details, Throwable cause) {
-    super(CODE_PREFIX + Objects.requireNonNull(errorCode, "errorCode"), httpStatus, descriptionTemplate, detailTemplate, details, cause);
+  protected AuthException(int ordinal, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(ordinal, cause, enableSuppression, writableStackTrace);
   }
 
   @Override
-  protected Map<String, Object> coreValues() {
-    Map<String, Object> values = new LinkedHashMap<>();
-    values.put("source", source());
-    values.put("code", code());
-    values.put("description", description());
-    values.put("details", detail());
-    values.put("recoverable", recoverable());
-    return Map.copyOf(values);
+  protected void visitCoreFields(CatalogErrorFieldVisitor visitor) {
+    super.visitCoreFields(visitor);
+    visitor.onBoolean("recoverable", recoverable());
+  }
+
+  @Override
+  protected CatalogException.FieldView coreValues() {
+    return new CatalogException.FieldView(INFO_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return AuthException.this.source();
+          case 1: return AuthException.this.code();
+          case 2: return AuthException.this.description();
+          case 3: return AuthException.this.detail();
+          case 4: return AuthException.this.recoverable();
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public void writeJson(Appendable out) throws IOException {
+    out.append("{\"Source\":\"catalog-service\",\"ReasonCode\":");
+    out.append(CatalogException.CODE_JSON[ordinal()]);
+    out.append(",\"Description\":");
+    CatalogJson.writeString(out, description());
+    out.append(",\"Details\":");
+    CatalogJson.writeString(out, detail());
+    out.append(",\"Recoverable\":");
+    CatalogJson.writeBoolean(out, recoverable());
+    out.append("}");
+  }
+
+  @Override
+  public void writeJson(OutputStream out) throws IOException {
+    out.write(JSON_CHUNKS[0]);
+    out.write(CatalogException.CODE_JSON_UTF8[ordinal()]);
+    out.write(JSON_CHUNKS[1]);
+    CatalogJson.writeString(out, description());
+    out.write(JSON_CHUNKS[2]);
+    CatalogJson.writeString(out, detail());
+    out.write(JSON_CHUNKS[3]);
+    CatalogJson.writeBoolean(out, recoverable());
+    out.write(JSON_CHUNKS[4]);
   }
 }
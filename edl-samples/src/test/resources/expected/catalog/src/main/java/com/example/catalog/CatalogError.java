@@ -0,0 +1,187 @@
+package com.example.catalog;
+
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.util.Objects;
+
+public abstract sealed class CatalogError implements CatalogErrorDescriptor {
+  private static final String SOURCE = "catalog-service";
+
+  private CatalogError() {
+  }
+
+  @Override
+  public String source() {
+    return SOURCE;
+  }
+
+  public static FooErrorError fooError(String userId) {
+    Objects.requireNonNull(userId, "userId");
+    return new FooErrorError(userId, null);
+  }
+
+  public static FooErrorError fooError(String userId, String region) {
+    Objects.requireNonNull(userId, "userId");
+    return new FooErrorError(userId, region);
+  }
+
+  public abstract static sealed class AuthError extends CatalogError {
+    private AuthError() {
+    }
+
+    @Override
+    public abstract AuthException toException();
+  }
+
+  public static final class FooErrorError extends AuthError {
+    private static final int ORDINAL = FooErrorException.ORDINAL;
+
+    private static final CatalogException.Kind KIND = CatalogException.Kind.FOO_ERROR;
+
+    private static final boolean RECOVERABLE = FooErrorException.RECOVERABLE;
+
+    private static final String CODE = "AUTH0001";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details", "recoverable"};
+
+    private static final String[] DETAIL_KEYS = {"userId", "region"};
+
+    private final String userId;
+
+    private final String region;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private FooErrorError(String userId, String region) {
+      this.userId = userId;
+      this.region = region;
+    }
+
+    public String userId() {
+      return userId;
+    }
+
+    public String region() {
+      return region;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public CatalogException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = FooErrorException.renderDescription(new StringBuilder(31), userId).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = FooErrorException.renderDetail(new StringBuilder(38), userId).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public CatalogException.FieldView errorInfo() {
+      return new CatalogException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return FooErrorError.this.source();
+            case 1: return FooErrorError.this.code();
+            case 2: return FooErrorError.this.description();
+            case 3: return FooErrorError.this.detail();
+            case 4: return FooErrorError.this.recoverable();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public CatalogException.FieldView details() {
+      return new CatalogException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return FooErrorError.this.userId;
+            case 1: return FooErrorError.this.region;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(CatalogErrorDescriptor other) {
+      if (other instanceof FooErrorException) {
+        FooErrorException that = (FooErrorException) other;
+        return Objects.equals(userId(), that.userId())
+            && Objects.equals(region(), that.region());
+      }
+      if (other instanceof FooErrorError) {
+        FooErrorError that = (FooErrorError) other;
+        return Objects.equals(userId(), that.userId())
+            && Objects.equals(region(), that.region());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(userId());
+      hash = 31 * hash + Objects.hashCode(region());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof FooErrorError && sameError((FooErrorError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public FooErrorException toException() {
+      return new FooErrorException(userId, region, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+}
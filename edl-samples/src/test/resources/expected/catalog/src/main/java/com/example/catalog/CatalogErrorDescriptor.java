@@ -0,0 +1,29 @@
+package com.example.catalog;
+
+import java.lang.String;
+
+public interface CatalogErrorDescriptor {
+  int ordinal();
+
+  CatalogException.Kind kind();
+
+  String code();
+
+  String source();
+
+  String description();
+
+  String detail();
+
+  boolean recoverable();
+
+  CatalogException.FieldView errorInfo();
+
+  CatalogException.FieldView details();
+
+  int errorHash();
+
+  CatalogException toException();
+
+  boolean sameError(CatalogErrorDescriptor other);
+}
@@ -1,91 +1,259 @@
 package com.example.catalog;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.Appendable;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
+import java.lang.Override;
 import java.lang.RuntimeException;
 import java.lang.String;
+import java.lang.StringBuilder;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-public abstract class CatalogException extends RuntimeException {
+public abstract class CatalogException extends RuntimeException implements CatalogErrorDescriptor {
   private static final String SOURCE = "catalog-service";
 
-  private final String code;
+  private static final FieldView EMPTY_DETAILS = new FieldView(new String[0]) {
+    @Override
+    public Object valueAt(int index) {
+      throw new IndexOutOfBoundsException(index);
+    }
+  };
+
+  static final String[] CODE_JSON = {"\"AUTH0001\""};
 
-  private final String descriptionTemplate;
+  static final byte[][] CODE_JSON_UTF8 = CatalogJson.utf8(CODE_JSON);
 
-  private final String detailTemplate;
+  private final int ordinal;
 
-  private final Map<String, Object> details;
+  private String renderedDescription;
 
-  private final int httpStatus;
+  private String renderedDetail;
 
-  protected CatalogException(String code, int httpStatus, String descriptionTemplate,
-      String detailTemplate, Map<String, Object> details, Throwable cause) {
-    super(descriptionTemplate, cause);
-    this.code = Objects.requireNonNull(code, "code");
-    this.descriptionTemplate = Objects.requireNonNull(descriptionTemplate, "descriptionTemplate");
-    this.detailTemplate = Objects.requireNonNull(detailTemplate, "detailTemplate");
-    this.details = Map.copyOf(Objects.requireNonNull(details, "details"));
-    this.httpStatus = httpStatus;
+  protected CatalogException(int ordinal, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(null, cause, enableSuppression, writableStackTrace);
+    this.ordinal = ordinal;
   }
 
   public String code() {
-    return code;
+    return CatalogErrorCatalog.byOrdinal(ordinal).code();
   }
 
   public String descriptionTemplate() {
-    return descriptionTemplate;
+    return CatalogErrorCatalog.byOrdinal(ordinal).descriptionTemplate();
   }
 
   public String description() {
-    return renderTemplate(descriptionTemplate, renderValues());
+    String rendered = renderedDescription;
+    if (rendered == null) {
+      rendered = renderDescription();
+      renderedDescription = rendered;
+    }
+    return rendered;
   }
 
   public String detailTemplate() {
-    return detailTemplate;
+    return CatalogErrorCatalog.byOrdinal(ordinal).detailTemplate();
   }
 
   public String detail() {
-    return renderTemplate(detailTemplate, renderValues());
+    String rendered = renderedDetail;
+    if (rendered == null) {
+      rendered = renderDetail();
+      renderedDetail = rendered;
+    }
+    return rendered;
+  }
+
+  public StringBuilder appendDescription(StringBuilder out) {
+    String rendered = renderedDescription;
+    return rendered != null ? out.append(rendered) : renderDescription(out);
+  }
+
+  public Appendable appendDescription(Appendable out) throws IOException {
+    if (out instanceof StringBuilder) {
+      return appendDescription((StringBuilder) out);
+    }
+    return out.append(description());
+  }
+
+  public StringBuilder appendDetail(StringBuilder out) {
+    String rendered = renderedDetail;
+    return rendered != null ? out.append(rendered) : renderDetail(out);
+  }
+
+  public Appendable appendDetail(Appendable out) throws IOException {
+    if (out instanceof StringBuilder) {
+      return appendDetail((StringBuilder) out);
+    }
+    return out.append(detail());
+  }
+
+  public void formatTo(StringBuilder buffer) {
+    appendDescription(buffer.append(code()).append(": "));
+  }
+
+  @Override
+  public String getMessage() {
+    return description();
   }
 
-  public Map<String, Object> details() {
-    return details;
+  public FieldView details() {
+    return EMPTY_DETAILS;
   }
 
   public String source() {
     return SOURCE;
   }
 
-  public Map<String, Object> errorInfo() {
+  public FieldView errorInfo() {
     return coreValues();
   }
 
+  public void forEachField(CatalogErrorFieldVisitor visitor) {
+    visitCoreFields(visitor);
+    visitParams(visitor);
+  }
+
+  protected void visitCoreFields(CatalogErrorFieldVisitor visitor) {
+    visitor.onString("source", SOURCE);
+    visitor.onString("code", code());
+  }
+
+  protected void visitParams(CatalogErrorFieldVisitor visitor) {
+  }
+
   public boolean recoverable() {
-    return false;
+    return CatalogErrorCatalog.byOrdinal(ordinal).recoverable();
   }
 
   public int httpStatus() {
-    return httpStatus;
+    return CatalogErrorCatalog.byOrdinal(ordinal).httpStatus();
+  }
+
+  public int ordinal() {
+    return ordinal;
   }
 
-  protected abstract Map<String, Object> coreValues();
+  public abstract Kind kind();
+
+  public boolean sameError(CatalogErrorDescriptor other) {
+    return other.ordinal() == ordinal();
+  }
+
+  public int errorHash() {
+    return ordinal();
+  }
 
-  private Map<String, Object> renderValues() {
-    Map<String, Object> values = new LinkedHashMap<>(details);
-    values.put("source", SOURCE);
-    values.put("code", code);
-    values.put("recoverable", recoverable());
-    return values;
+  public CatalogException toException() {
+    return this;
   }
 
-  private static String renderTemplate(String template, Map<String, Object> values) {
-    String resolved = template;
-    for (Map.Entry<String, Object> entry : values.entrySet()) {
-      resolved = resolved.replace("{" + entry.getKey() + "}", String.valueOf(entry.getValue()));
+  protected abstract FieldView coreValues();
+
+  protected abstract String renderDescription();
+
+  protected abstract StringBuilder renderDescription(StringBuilder out);
+
+  protected abstract String renderDetail();
+
+  protected abstract StringBuilder renderDetail(StringBuilder out);
+
+  public abstract void writeJson(Appendable out) throws IOException;
+
+  public abstract void writeJson(OutputStream out) throws IOException;
+
+  public byte[] toJsonBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    try {
+      writeJson(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    return resolved;
+    return out.toByteArray();
+  }
+
+  public abstract static class FieldView extends AbstractMap<String, Object> {
+    private final String[] keys;
+
+    protected FieldView(String[] keys) {
+      this.keys = keys;
+    }
+
+    public abstract Object valueAt(int index);
+
+    public String keyAt(int index) {
+      return keys[index];
+    }
+
+    public int indexOf(Object key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i].equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public int size() {
+      return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+      int index = indexOf(key);
+      return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+      return new AbstractSet<Map.Entry<String, Object>>() {
+        @Override
+        public int size() {
+          return keys.length;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+          return new Iterator<Map.Entry<String, Object>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+              return next < keys.length;
+            }
+
+            @Override
+            public Map.Entry<String, Object> next() {
+              if (next >= keys.length) {
+                throw new NoSuchElementException();
+              }
+              int index = next++;
+              return new AbstractMap.SimpleImmutableEntry<>(keys[index], valueAt(index));
+            }
+          };
+        }
+      };
+    }
+  }
+
+  public enum Kind {
+    FOO_ERROR
   }
 }
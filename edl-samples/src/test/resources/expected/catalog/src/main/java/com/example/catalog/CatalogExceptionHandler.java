@@ -2,8 +2,6 @@ package com.example.catalog;
 
 import java.lang.Object;
 import java.lang.String;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,17 +11,16 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 public class CatalogExceptionHandler extends ExceptionHandlerBase {
   @ExceptionHandler(CatalogException.class)
   public ResponseEntity<Map<String, Object>> handleCatalogException(CatalogException exception) {
-    Map<String, Object> body = mapResponse(exception.errorInfo());
+    CatalogErrorStats.handled(exception.ordinal());
+    Map<String, Object> body = mapResponse(exception);
     return ResponseEntity.status(exception.httpStatus()).body(body);
   }
 
   @ExceptionHandler(AuthContainerException.class)
-  public ResponseEntity<Map<String, Object>> handleAuthContainerException(AuthContainerException exception) {
-    List<Map<String, Object>> infos = new ArrayList<>();
-    for (CatalogException error : exception.errors()) {
-      infos.add(error.errorInfo());
-    }
-    Object rendered = renderContainerTemplate(CONTAINER_TEMPLATE, infos);
-    return ResponseEntity.status(exception.httpStatus()).body((Map<String, Object>) rendered);
+  public ResponseEntity<Map<String, Object>> handleAuthContainerException(
+      AuthContainerException exception) {
+    countHandled(exception);
+    Map<String, Object> body = mapContainerResponse(exception);
+    return ResponseEntity.status(exception.httpStatus()).body(body);
   }
 }
@@ -0,0 +1,75 @@
+package com.example.catalog;
+
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.util.Objects;
+import java.util.function.Function;
+
+public final class CatalogResult<T> {
+  private final T value;
+
+  private final CatalogError error;
+
+  private CatalogResult(T value, CatalogError error) {
+    this.value = value;
+    this.error = error;
+  }
+
+  public static <T> CatalogResult<T> success(T value) {
+    return new CatalogResult<>(value, null);
+  }
+
+  public static <T> CatalogResult<T> failure(CatalogError error) {
+    return new CatalogResult<>(null, Objects.requireNonNull(error, "error"));
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  public boolean isFailure() {
+    return error != null;
+  }
+
+  public T value() {
+    if (error != null) {
+      throw new IllegalStateException("No value present: " + error);
+    }
+    return value;
+  }
+
+  public CatalogError error() {
+    return error;
+  }
+
+  public T orElse(T other) {
+    return error == null ? value : other;
+  }
+
+  public T orElseThrow() {
+    if (error != null) {
+      throw error.toException();
+    }
+    return value;
+  }
+
+  public <U> CatalogResult<U> map(Function<? super T, ? extends U> mapper) {
+    return error == null ? success(mapper.apply(value)) : castFailure();
+  }
+
+  public <U> CatalogResult<U> flatMap(Function<? super T, CatalogResult<U>> mapper) {
+    return error == null ? Objects.requireNonNull(mapper.apply(value), "result") : castFailure();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <U> CatalogResult<U> castFailure() {
+    return (CatalogResult<U>) this;
+  }
+
+  @Override
+  public String toString() {
+    return error == null ? "Success[" + value + "]" : "Failure[" + error + "]";
+  }
+}
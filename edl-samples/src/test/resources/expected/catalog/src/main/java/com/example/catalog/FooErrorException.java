@@ -1,12 +1,14 @@
 package com.example.catalog;
 
 import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
+import java.lang.Override;
 import java.lang.String;
+import java.lang.StringBuilder;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
 
 public final class FooErrorException extends AuthException {
   public static final String ERROR_CODE = "0001";
@@ -17,15 +19,23 @@ public final class FooErrorException extends AuthException {
 
   public static final boolean RECOVERABLE = false;
 
+  public static final int ORDINAL = 0;
+
+  public static final CatalogException.Kind KIND = CatalogException.Kind.FOO_ERROR;
+
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final String[] DETAIL_KEYS = {"userId", "region"};
+
   private final String userId;
 
   private final String region;
 
-  private FooErrorException(String userId, String region, Map<String, Object> details,
-      Throwable cause) {
-    super(ERROR_CODE, HTTP_STATUS, DESCRIPTION_TEMPLATE, DETAIL_TEMPLATE, Objects.requireNonNull(details, "details"), cause);
+  FooErrorException(String userId, String region, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
     this.userId = userId;
     this.region = region;
+    CatalogErrorStats.created(ORDINAL);
   }
 
   public String userId() {
@@ -36,23 +46,134 @@ public final class FooErrorException extends AuthException {
     return region;
   }
 
-  public boolean recoverable() {
-    return RECOVERABLE;
+  @Override
+  public CatalogException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(31)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, userId);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(38)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, userId);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String userId) {
+    return out
+        .append("Userid invalid ")
+        .append(userId);
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String userId) {
+    return out
+        .append("Userid ")
+        .append(userId)
+        .append(" does not exist");
+  }
+
+  @Override
+  public CatalogException.FieldView details() {
+    return new CatalogException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return FooErrorException.this.userId;
+          case 1: return FooErrorException.this.region;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(CatalogErrorDescriptor other) {
+    if (other instanceof FooErrorException) {
+      FooErrorException that = (FooErrorException) other;
+      return Objects.equals(userId(), that.userId())
+          && Objects.equals(region(), that.region());
+    }
+    if (other instanceof CatalogError.FooErrorError) {
+      CatalogError.FooErrorError that = (CatalogError.FooErrorError) other;
+      return Objects.equals(userId(), that.userId())
+          && Objects.equals(region(), that.region());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(userId());
+    hash = 31 * hash + Objects.hashCode(region());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(CatalogErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("userId", userId);
+    visitor.onString("region", region);
   }
 
   public static Builder builder() {
     return new Builder();
   }
 
+  public static FooErrorException of(String userId) {
+    Objects.requireNonNull(userId, "userId");
+    return new FooErrorException(userId, null, null);
+  }
+
+  public static FooErrorException of(String userId, Throwable cause) {
+    Objects.requireNonNull(userId, "userId");
+    return new FooErrorException(userId, null, cause);
+  }
+
+  public static FooErrorException of(String userId, String region) {
+    Objects.requireNonNull(userId, "userId");
+    return new FooErrorException(userId, region, null);
+  }
+
+  public static FooErrorException of(String userId, String region, Throwable cause) {
+    Objects.requireNonNull(userId, "userId");
+    return new FooErrorException(userId, region, cause);
+  }
+
+  public static CatalogError.FooErrorError descriptor(String userId) {
+    return CatalogError.fooError(userId);
+  }
+
+  public static CatalogError.FooErrorError descriptor(String userId, String region) {
+    return CatalogError.fooError(userId, region);
+  }
+
   public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
     private String userId;
 
     private String region;
 
     private Throwable cause;
 
+    private int set;
+
     public Builder userId(String userId) {
       this.userId = userId;
+      set = userId == null ? set & ~0x1 : set | 0x1;
       return this;
     }
 
@@ -67,19 +188,22 @@ public final class FooErrorException extends AuthException {
     }
 
     public FooErrorException build() {
-      String resolvedUserId = this.userId;
-      if (resolvedUserId == null) {
-        throw new IllegalStateException("Missing required param: " + "userId");
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
       }
-      String resolvedRegion = this.region;
-      Map<String, Object> details = new LinkedHashMap<>();
-      details.put("userId", resolvedUserId);
-      details.put("region", resolvedRegion);
-      return new FooErrorException(resolvedUserId, resolvedRegion, details, cause);
+      return new FooErrorException(userId, region, cause);
     }
 
     public void throwException() {
       throw build();
     }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("userId");
+      }
+      return missing.toString();
+    }
   }
 }
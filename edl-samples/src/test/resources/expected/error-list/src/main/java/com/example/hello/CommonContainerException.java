@@ -1,14 +1,36 @@
 package com.example.hello;
 
+import java.util.stream.Collector;
+
 public final class CommonContainerException extends HelloContainerException {
   private static final int HTTP_STATUS = 500;
 
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final int MAX_ERRORS = 50;
+
+  private static final boolean DEDUPLICATE = true;
+
   public CommonContainerException() {
-    super(HTTP_STATUS);
+    super(HTTP_STATUS, WRITABLE_STACK_TRACE, MAX_ERRORS, DEDUPLICATE);
   }
 
   public CommonContainerException add(CommonException error) {
     super.add(error);
     return this;
   }
+
+  public CommonContainerException add(HelloError.CommonError error) {
+    super.add(error);
+    return this;
+  }
+
+  public CommonContainerException merge(CommonContainerException other) {
+    super.merge(other);
+    return this;
+  }
+
+  public static Collector<CommonException, ?, CommonContainerException> collector() {
+    return Collector.of(CommonContainerException::new, CommonContainerException::add, CommonContainerException::merge);
+  }
 }
@@ -1,31 +1,70 @@
 package com.example.hello;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.Appendable;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
 import java.lang.Override;
 import java.lang.String;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Objects;
 
 public abstract class CommonException extends HelloException {
-  private static final String CODE_PREFIX = "CM";
+  private static final String[] INFO_KEYS = {"source", "code", "description", "details", "recoverable"};
 
-  protected static final int HTTP_STATUS = 500;
+  private static final byte[][] JSON_CHUNKS = HelloJson.utf8("{\"Source\":\"hello-service\",\"ReasonCode\":", ",\"Description\":", ",\"Details\":", ",\"Recoverable\":", "}");
 
-  protected CommonException(String errorCode, int httpStatus, String descriptionTemplate,
-      String detailTemplate, Map<String, Object> details, Throwable cause) {
-    super(CODE_PREFIX + Objects.requireNonNull(errorCode, "errorCode"), httpStatus, descriptionTemplate, detailTemplate, details, cause);
+  protected CommonException(int ordinal, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(ordinal, cause, enableSuppression, writableStackTrace);
   }
 
   @Override
-  protected Map<String, Object> coreValues() {
-    Map<String, Object> values = new LinkedHashMap<>();
-    values.put("source", source());
-    values.put("code", code());
-    values.put("description", description());
-    values.put("details", detail());
-    values.put("recoverable", recoverable());
-    return Map.copyOf(values);
+  protected void visitCoreFields(HelloErrorFieldVisitor visitor) {
+    super.visitCoreFields(visitor);
+    visitor.onBoolean("recoverable", recoverable());
+  }
+
+  @Override
+  protected HelloException.FieldView coreValues() {
+    return new HelloException.FieldView(INFO_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return CommonException.this.source();
+          case 1: return CommonException.this.code();
+          case 2: return CommonException.this.description();
+          case 3: return CommonException.this.detail();
+          case 4: return CommonException.this.recoverable();
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public void writeJson(Appendable out) throws IOException {
+    out.append("{\"Source\":\"hello-service\",\"ReasonCode\":");
+    out.append(HelloException.CODE_JSON[ordinal()]);
+    out.append(",\"Description\":");
+    HelloJson.writeString(out, description());
+    out.append(",\"Details\":");
+    HelloJson.writeString(out, detail());
+    out.append(",\"Recoverable\":");
+    HelloJson.writeBoolean(out, recoverable());
+    out.append("}");
+  }
+
+  @Override
+  public void writeJson(OutputStream out) throws IOException {
+    out.write(JSON_CHUNKS[0]);
+    out.write(HelloException.CODE_JSON_UTF8[ordinal()]);
+    out.write(JSON_CHUNKS[1]);
+    HelloJson.writeString(out, description());
+    out.write(JSON_CHUNKS[2]);
+    HelloJson.writeString(out, detail());
+    out.write(JSON_CHUNKS[3]);
+    HelloJson.writeBoolean(out, recoverable());
+    out.write(JSON_CHUNKS[4]);
   }
 }
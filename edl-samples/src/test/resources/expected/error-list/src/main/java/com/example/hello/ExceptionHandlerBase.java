@@ -8,75 +8,106 @@ import java.util.List;
 import java.util.Map;
 
 public abstract class ExceptionHandlerBase {
-  protected static final Object CONTAINER_TEMPLATE = Map.ofEntries(Map.entry("Error", List.of(Map.ofEntries(Map.entry("Source", "source"), Map.entry("ReasonCode", "code"), Map.entry("Description", "description"), Map.entry("Details", "details"), Map.entry("Recoverable", "recoverable")))));
-
-  protected Map<String, Object> mapResponse(Map<String, Object> info) {
-    Map<String, Object> body = new LinkedHashMap<>();
-    if (info.containsKey("source")) {
-      body.put("Source", info.get("source"));
+  protected Map<String, Object> mapResponse(HelloException.FieldView info) {
+    Map<String, Object> body = new LinkedHashMap<>(7);
+    int index;
+    index = info.indexOf("source");
+    if (index >= 0) {
+      body.put("Source", info.valueAt(index));
     }
-    if (info.containsKey("code")) {
-      body.put("ReasonCode", info.get("code"));
+    index = info.indexOf("code");
+    if (index >= 0) {
+      body.put("ReasonCode", info.valueAt(index));
     }
-    if (info.containsKey("description")) {
-      body.put("Description", info.get("description"));
+    index = info.indexOf("description");
+    if (index >= 0) {
+      body.put("Description", info.valueAt(index));
     }
-    if (info.containsKey("details")) {
-      body.put("Details", info.get("details"));
+    index = info.indexOf("details");
+    if (index >= 0) {
+      body.put("Details", info.valueAt(index));
     }
-    if (info.containsKey("recoverable")) {
-      body.put("Recoverable", info.get("recoverable"));
+    index = info.indexOf("recoverable");
+    if (index >= 0) {
+      body.put("Recoverable", info.valueAt(index));
     }
     return body;
   }
 
-  protected Object renderContainerTemplate(Object template, List<Map<String, Object>> infos) {
-    if (template instanceof Map) {
-      Map<String, Object> result = new LinkedHashMap<>();
-      Map<String, Object> map = (Map<String, Object>) template;
-      for (Map.Entry<String, Object> entry : map.entrySet()) {
-        result.put(entry.getKey(), renderContainerTemplate(entry.getValue(), infos));
-      }
-      return result;
+  protected Map<String, Object> mapCommonResponse(CommonException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(7);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    body.put("Recoverable", exception.recoverable());
+    return body;
+  }
+
+  protected Map<String, Object> mapResponse(HelloException exception) {
+    if (exception instanceof CommonException) {
+      return mapCommonResponse((CommonException) exception);
     }
-    if (template instanceof List) {
-      List list = (List) template;
-      if (list.size() == 1) {
-        List<Object> rendered = new ArrayList<>();
-        for (Map<String, Object> info : infos) {
-          rendered.add(renderValue(list.get(0), info));
-        }
-        return rendered;
-      }
-      return list;
+    return mapResponse(exception.errorInfo());
+  }
+
+  protected void countHandled(HelloContainerException exception) {
+    List<HelloErrorDescriptor> items = exception.descriptors();
+    for (int i = 0, count = items.size(); i < count; i++) {
+      HelloErrorStats.handled(items.get(i).ordinal(), exception.occurrences(i));
     }
-    return template;
   }
 
-  protected Object renderValue(Object template, Map<String, Object> info) {
-    if (template instanceof Map) {
-      Map<String, Object> result = new LinkedHashMap<>();
-      Map<String, Object> map = (Map<String, Object>) template;
-      for (Map.Entry<String, Object> entry : map.entrySet()) {
-        result.put(entry.getKey(), renderValue(entry.getValue(), info));
-      }
-      return result;
+  protected Map<String, Object> mapContainerResponse(HelloContainerException exception) {
+    List<HelloErrorDescriptor> items = exception.descriptors();
+    int count = items.size();
+    Map<String, Object> node0 = new LinkedHashMap<>(3);
+    node0.put("Suppressed", exception.suppressedCount());
+    List<Object> node1 = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      node1.add(mapContainerItem(items.get(i), exception.occurrences(i)));
     }
-    if (template instanceof List) {
-      List list = (List) template;
-      List<Object> rendered = new ArrayList<>();
-      for (Object entry : list) {
-        rendered.add(renderValue(entry, info));
-      }
-      return rendered;
+    node0.put("Error", node1);
+    return node0;
+  }
+
+  protected Map<String, Object> mapContainerItem(HelloErrorDescriptor error, int occurrences) {
+    if (error instanceof CommonException) {
+      return mapCommonContainerItem((CommonException) error, occurrences);
     }
-    if (template instanceof String) {
-      String key = (String) template;
-      if (info.containsKey(key)) {
-        return info.get(key);
-      }
-      return key;
+    if (error instanceof HelloError.CommonError) {
+      return mapCommonContainerItem((HelloError.CommonError) error, occurrences);
     }
-    return template;
+    Map<String, Object> item0 = new LinkedHashMap<>(9);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    item0.put("Recoverable", error.recoverable());
+    item0.put("Count", occurrences);
+    return item0;
+  }
+
+  protected Map<String, Object> mapCommonContainerItem(CommonException error, int occurrences) {
+    Map<String, Object> item0 = new LinkedHashMap<>(9);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    item0.put("Recoverable", error.recoverable());
+    item0.put("Count", occurrences);
+    return item0;
+  }
+
+  protected Map<String, Object> mapCommonContainerItem(HelloError.CommonError error,
+      int occurrences) {
+    Map<String, Object> item0 = new LinkedHashMap<>(9);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    item0.put("Recoverable", error.recoverable());
+    item0.put("Count", occurrences);
+    return item0;
   }
 }
@@ -0,0 +1,75 @@
+package com.example.hello;
+
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.util.Objects;
+import java.util.function.Function;
+
+public final class HelloResult<T> {
+  private final T value;
+
+  private final HelloError error;
+
+  private HelloResult(T value, HelloError error) {
+    this.value = value;
+    this.error = error;
+  }
+
+  public static <T> HelloResult<T> success(T value) {
+    return new HelloResult<>(value, null);
+  }
+
+  public static <T> HelloResult<T> failure(HelloError error) {
+    return new HelloResult<>(null, Objects.requireNonNull(error, "error"));
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  public boolean isFailure() {
+    return error != null;
+  }
+
+  public T value() {
+    if (error != null) {
+      throw new IllegalStateException("No value present: " + error);
+    }
+    return value;
+  }
+
+  public HelloError error() {
+    return error;
+  }
+
+  public T orElse(T other) {
+    return error == null ? value : other;
+  }
+
+  public T orElseThrow() {
+    if (error != null) {
+      throw error.toException();
+    }
+    return value;
+  }
+
+  public <U> HelloResult<U> map(Function<? super T, ? extends U> mapper) {
+    return error == null ? success(mapper.apply(value)) : castFailure();
+  }
+
+  public <U> HelloResult<U> flatMap(Function<? super T, HelloResult<U>> mapper) {
+    return error == null ? Objects.requireNonNull(mapper.apply(value), "result") : castFailure();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <U> HelloResult<U> castFailure() {
+    return (HelloResult<U>) this;
+  }
+
+  @Override
+  public String toString() {
+    return error == null ? "Success[" + value + "]" : "Failure[" + error + "]";
+  }
+}
@@ -1,14 +1,32 @@
 package com.example.hello;
 
+import java.util.stream.Collector;
+
 public final class CommonContainerException extends HelloContainerException {
   private static final int HTTP_STATUS = 500;
 
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
   public CommonContainerException() {
-    super(HTTP_STATUS);
+    super(HTTP_STATUS, WRITABLE_STACK_TRACE);
   }
 
   public CommonContainerException add(CommonException error) {
     super.add(error);
     return this;
   }
+
+  public CommonContainerException add(HelloError.CommonError error) {
+    super.add(error);
+    return this;
+  }
+
+  public CommonContainerException merge(CommonContainerException other) {
+    super.merge(other);
+    return this;
+  }
+
+  public static Collector<CommonException, ?, CommonContainerException> collector() {
+    return Collector.of(CommonContainerException::new, CommonContainerException::add, CommonContainerException::merge);
+  }
 }
@@ -1,34 +1,342 @@
 package com.example.hello;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.Appendable;
+import java.lang.IllegalArgumentException;
+import java.lang.Integer;
 import java.lang.RuntimeException;
+import java.lang.String;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 public abstract class HelloContainerException extends RuntimeException {
+  private static final byte[][] JSON_CHUNKS = HelloJson.utf8("{\"Errors\":[", "]}", "{\"Error\":{\"Source\":\"hello-service\",\"ReasonCode\":", ",\"Description\":", ",\"Details\":", ",\"Recoverable\":", "}}");
+
   private final int httpStatus;
 
-  protected final List<HelloException> errors = new ArrayList<>();
+  private final int maxErrors;
+
+  private final boolean deduplicate;
+
+  private final List<HelloErrorDescriptor> errors = new ArrayList<>();
+
+  private final List<HelloErrorDescriptor> descriptors = Collections.unmodifiableList(errors);
+
+  private final BitSet ordinals = new BitSet(HelloErrorCatalog.size());
+
+  private long suppressed;
+
+  private int[] repeats;
+
+  private int[] dedupSlots;
 
-  protected HelloContainerException(int httpStatus) {
-    super();
+  protected HelloContainerException(int httpStatus, boolean writableStackTrace) {
+    this(httpStatus, writableStackTrace, Integer.MAX_VALUE, false);
+  }
+
+  protected HelloContainerException(int httpStatus, boolean writableStackTrace, int maxErrors,
+      boolean deduplicate) {
+    super(null, null, true, writableStackTrace);
     this.httpStatus = httpStatus;
+    if (maxErrors < 1) {
+      throw new IllegalArgumentException("maxErrors must be at least 1: " + maxErrors);
+    }
+    this.maxErrors = maxErrors;
+    this.deduplicate = deduplicate;
   }
 
   public void add(HelloException error) {
-    errors.add(Objects.requireNonNull(error, "error"));
+    add((HelloErrorDescriptor) error);
+  }
+
+  public void add(HelloErrorDescriptor error) {
+    add(Objects.requireNonNull(error, "error"), 1);
   }
 
   public void addAll(Collection<? extends HelloException> errors) {
-    this.errors.addAll(Objects.requireNonNull(errors, "errors"));
+    addAllDescriptors(errors);
+  }
+
+  public void addAllDescriptors(Collection<? extends HelloErrorDescriptor> errors) {
+    for (HelloErrorDescriptor error : Objects.requireNonNull(errors, "errors")) {
+      add(error);
+    }
+  }
+
+  public void merge(HelloContainerException other) {
+    Objects.requireNonNull(other, "other");
+    if (other == this) {
+      return;
+    }
+    List<HelloErrorDescriptor> items = other.descriptors();
+    for (int i = 0, count = items.size(); i < count; i++) {
+      add(items.get(i), other.occurrences(i));
+    }
+    suppressed += other.suppressedCount();
+    for (int ordinal = 0, count = HelloErrorCatalog.size(); ordinal < count; ordinal++) {
+      if (other.containsOrdinal(ordinal)) {
+        ordinals.set(ordinal);
+      }
+    }
+  }
+
+  public void throwIfNotEmpty() {
+    if (!isEmpty()) {
+      throw this;
+    }
+  }
+
+  public int size() {
+    return errors.size();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public HelloException errorAt(int index) {
+    HelloErrorDescriptor error = descriptorAt(index);
+    if (error instanceof HelloException) {
+      return (HelloException) error;
+    }
+    return materialize(index, error);
+  }
+
+  HelloException materialize(int index, HelloErrorDescriptor error) {
+    HelloException exception = error.toException();
+    errors.set(index, exception);
+    return exception;
+  }
+
+  public HelloErrorDescriptor descriptorAt(int index) {
+    return errors.get(index);
+  }
+
+  public List<HelloErrorDescriptor> descriptors() {
+    return descriptors;
+  }
+
+  public int occurrences(int index) {
+    Objects.checkIndex(index, size());
+    return repeats == null ? 1 : repeats[index] + 1;
+  }
+
+  public long suppressedCount() {
+    return suppressed;
+  }
+
+  public int maxErrors() {
+    return maxErrors;
+  }
+
+  public boolean containsOrdinal(int ordinal) {
+    return ordinals.get(ordinal);
+  }
+
+  public boolean containsCode(String code) {
+    int ordinal = HelloErrorCatalog.ordinalOf(code);
+    return ordinal >= 0 && containsOrdinal(ordinal);
+  }
+
+  public void forEachError(Consumer<? super HelloException> action) {
+    Objects.requireNonNull(action, "action");
+    for (int i = 0, count = size(); i < count; i++) {
+      action.accept(errorAt(i));
+    }
   }
 
   public List<HelloException> errors() {
-    return List.copyOf(errors);
+    HelloException[] snapshot = new HelloException[size()];
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = errorAt(i);
+    }
+    return List.of(snapshot);
   }
 
   public int httpStatus() {
     return httpStatus;
   }
+
+  private void add(HelloErrorDescriptor error, int times) {
+    ordinals.set(error.ordinal());
+    int hash = 0;
+    if (deduplicate) {
+      hash = error.errorHash();
+      int existing = indexOfSame(error, hash);
+      if (existing >= 0) {
+        repeats[existing] += times;
+        return;
+      }
+    }
+    if (errors.size() >= maxErrors) {
+      suppressed += times;
+      return;
+    }
+    errors.add(error);
+    if (deduplicate) {
+      remember(errors.size() - 1, hash);
+      repeats[errors.size() - 1] = times - 1;
+    }
+  }
+
+  private int indexOfSame(HelloErrorDescriptor error, int hash) {
+    if (dedupSlots == null) {
+      return -1;
+    }
+    int mask = dedupSlots.length - 1;
+    for (int slot = spread(hash) & mask; dedupSlots[slot] != 0; slot = (slot + 1) & mask) {
+      int index = dedupSlots[slot] - 1;
+      if (errors.get(index).sameError(error)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private void remember(int index, int hash) {
+    if (repeats == null || index >= repeats.length) {
+      repeats = repeats == null ? new int[16] : Arrays.copyOf(repeats, repeats.length * 2);
+    }
+    if (dedupSlots == null || (index + 1) * 2 > dedupSlots.length) {
+      dedupSlots = new int[dedupSlots == null ? 32 : dedupSlots.length * 2];
+      for (int i = 0; i < index; i++) {
+        insertSlot(i, errors.get(i).errorHash());
+      }
+    }
+    insertSlot(index, hash);
+  }
+
+  private void insertSlot(int index, int hash) {
+    int mask = dedupSlots.length - 1;
+    int slot = spread(hash) & mask;
+    while (dedupSlots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    dedupSlots[slot] = index + 1;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  public void writeJson(Appendable out) throws IOException {
+    List<HelloErrorDescriptor> items = descriptors();
+    out.append("{\"Errors\":[");
+    for (int i = 0, count = items.size(); i < count; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      writeItem(out, items.get(i));
+    }
+    out.append("]}");
+  }
+
+  public void writeJson(OutputStream out) throws IOException {
+    List<HelloErrorDescriptor> items = descriptors();
+    out.write(JSON_CHUNKS[0]);
+    for (int i = 0, count = items.size(); i < count; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      writeItem(out, items.get(i));
+    }
+    out.write(JSON_CHUNKS[1]);
+  }
+
+  public byte[] toJsonBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    try {
+      writeJson(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeItem(Appendable out, HelloErrorDescriptor error) throws IOException {
+    if (error instanceof CommonException) {
+      CommonException item = (CommonException) error;
+      out.append("{\"Error\":{\"Source\":\"hello-service\",\"ReasonCode\":");
+      out.append(HelloException.CODE_JSON[item.ordinal()]);
+      out.append(",\"Description\":");
+      HelloJson.writeString(out, item.description());
+      out.append(",\"Details\":");
+      HelloJson.writeString(out, item.detail());
+      out.append(",\"Recoverable\":");
+      HelloJson.writeBoolean(out, item.recoverable());
+      out.append("}}");
+      return;
+    }
+    if (error instanceof HelloError.CommonError) {
+      HelloError.CommonError item = (HelloError.CommonError) error;
+      out.append("{\"Error\":{\"Source\":\"hello-service\",\"ReasonCode\":");
+      out.append(HelloException.CODE_JSON[item.ordinal()]);
+      out.append(",\"Description\":");
+      HelloJson.writeString(out, item.description());
+      out.append(",\"Details\":");
+      HelloJson.writeString(out, item.detail());
+      out.append(",\"Recoverable\":");
+      HelloJson.writeBoolean(out, item.recoverable());
+      out.append("}}");
+      return;
+    }
+    HelloErrorDescriptor item = error;
+    out.append("{\"Error\":{\"Source\":\"hello-service\",\"ReasonCode\":");
+    out.append(HelloException.CODE_JSON[item.ordinal()]);
+    out.append(",\"Description\":");
+    HelloJson.writeString(out, item.description());
+    out.append(",\"Details\":");
+    HelloJson.writeString(out, item.detail());
+    out.append(",\"Recoverable\":");
+    HelloJson.writeBoolean(out, item.recoverable());
+    out.append("}}");
+  }
+
+  private static void writeItem(OutputStream out, HelloErrorDescriptor error) throws IOException {
+    if (error instanceof CommonException) {
+      CommonException item = (CommonException) error;
+      out.write(JSON_CHUNKS[2]);
+      out.write(HelloException.CODE_JSON_UTF8[item.ordinal()]);
+      out.write(JSON_CHUNKS[3]);
+      HelloJson.writeString(out, item.description());
+      out.write(JSON_CHUNKS[4]);
+      HelloJson.writeString(out, item.detail());
+      out.write(JSON_CHUNKS[5]);
+      HelloJson.writeBoolean(out, item.recoverable());
+      out.write(JSON_CHUNKS[6]);
+      return;
+    }
+    if (error instanceof HelloError.CommonError) {
+      HelloError.CommonError item = (HelloError.CommonError) error;
+      out.write(JSON_CHUNKS[2]);
+      out.write(HelloException.CODE_JSON_UTF8[item.ordinal()]);
+      out.write(JSON_CHUNKS[3]);
+      HelloJson.writeString(out, item.description());
+      out.write(JSON_CHUNKS[4]);
+      HelloJson.writeString(out, item.detail());
+      out.write(JSON_CHUNKS[5]);
+      HelloJson.writeBoolean(out, item.recoverable());
+      out.write(JSON_CHUNKS[6]);
+      return;
+    }
+    HelloErrorDescriptor item = error;
+    out.write(JSON_CHUNKS[2]);
+    out.write(HelloException.CODE_JSON_UTF8[item.ordinal()]);
+    out.write(JSON_CHUNKS[3]);
+    HelloJson.writeString(out, item.description());
+    out.write(JSON_CHUNKS[4]);
+    HelloJson.writeString(out, item.detail());
+    out.write(JSON_CHUNKS[5]);
+    HelloJson.writeBoolean(out, item.recoverable());
+    out.write(JSON_CHUNKS[6]);
+  }
 }
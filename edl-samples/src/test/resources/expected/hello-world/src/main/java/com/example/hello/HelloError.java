@@ -0,0 +1,171 @@
+package com.example.hello;
+
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.util.Objects;
+
+public abstract sealed class HelloError implements HelloErrorDescriptor {
+  private static final String SOURCE = "hello-service";
+
+  private HelloError() {
+  }
+
+  @Override
+  public String source() {
+    return SOURCE;
+  }
+
+  public static HelloWorldError helloWorld(String name) {
+    Objects.requireNonNull(name, "name");
+    return new HelloWorldError(name);
+  }
+
+  public abstract static sealed class CommonError extends HelloError {
+    private CommonError() {
+    }
+
+    @Override
+    public abstract CommonException toException();
+  }
+
+  public static final class HelloWorldError extends CommonError {
+    private static final int ORDINAL = HelloWorldException.ORDINAL;
+
+    private static final HelloException.Kind KIND = HelloException.Kind.HELLO_WORLD;
+
+    private static final boolean RECOVERABLE = HelloWorldException.RECOVERABLE;
+
+    private static final String CODE = "CM0001";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details", "recoverable"};
+
+    private static final String[] DETAIL_KEYS = {"name"};
+
+    private final String name;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private HelloWorldError(String name) {
+      this.name = name;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public HelloException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = HelloWorldException.renderDescription(new StringBuilder(22), name).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = HelloWorldException.renderDetail(new StringBuilder(29), name).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public HelloException.FieldView errorInfo() {
+      return new HelloException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return HelloWorldError.this.source();
+            case 1: return HelloWorldError.this.code();
+            case 2: return HelloWorldError.this.description();
+            case 3: return HelloWorldError.this.detail();
+            case 4: return HelloWorldError.this.recoverable();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public HelloException.FieldView details() {
+      return new HelloException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return HelloWorldError.this.name;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(HelloErrorDescriptor other) {
+      if (other instanceof HelloWorldException) {
+        HelloWorldException that = (HelloWorldException) other;
+        return Objects.equals(name(), that.name());
+      }
+      if (other instanceof HelloWorldError) {
+        HelloWorldError that = (HelloWorldError) other;
+        return Objects.equals(name(), that.name());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(name());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof HelloWorldError && sameError((HelloWorldError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public HelloWorldException toException() {
+      return new HelloWorldException(name, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+}
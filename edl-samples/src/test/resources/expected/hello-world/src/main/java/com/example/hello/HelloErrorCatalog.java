@@ -0,0 +1,98 @@
+package com.example.hello;
+
+import java.lang.String;
+import java.util.Arrays;
+import java.util.Objects;
+
+public final class HelloErrorCatalog {
+  private static final Entry[] ENTRIES = {
+    new Entry(0, "CM0001", "Common", 407, false, false, "Hello {name}", "Hello detail {name}")
+  };
+
+  private static final String[] SORTED_CODES = {"CM0001"};
+
+  private static final int[] SORTED_ORDINALS = {0};
+
+  private HelloErrorCatalog() {
+  }
+
+  public static int size() {
+    return ENTRIES.length;
+  }
+
+  public static Entry byOrdinal(int ordinal) {
+    return ENTRIES[Objects.checkIndex(ordinal, ENTRIES.length)];
+  }
+
+  public static int ordinalOf(String code) {
+    int index = Arrays.binarySearch(SORTED_CODES, Objects.requireNonNull(code, "code"));
+    return index < 0 ? -1 : SORTED_ORDINALS[index];
+  }
+
+  public static Entry byCode(String code) {
+    int ordinal = ordinalOf(code);
+    return ordinal < 0 ? null : ENTRIES[ordinal];
+  }
+
+  public static final class Entry {
+    private final int ordinal;
+
+    private final String code;
+
+    private final String category;
+
+    private final int httpStatus;
+
+    private final boolean recoverable;
+
+    private final boolean retryable;
+
+    private final String descriptionTemplate;
+
+    private final String detailTemplate;
+
+    private Entry(int ordinal, String code, String category, int httpStatus, boolean recoverable,
+        boolean retryable, String descriptionTemplate, String detailTemplate) {
+      this.ordinal = ordinal;
+      this.code = code;
+      this.category = category;
+      this.httpStatus = httpStatus;
+      this.recoverable = recoverable;
+      this.retryable = retryable;
+      this.descriptionTemplate = descriptionTemplate;
+      this.detailTemplate = detailTemplate;
+    }
+
+    public int ordinal() {
+      return ordinal;
+    }
+
+    public String code() {
+      return code;
+    }
+
+    public String category() {
+      return category;
+    }
+
+    public int httpStatus() {
+      return httpStatus;
+    }
+
+    public boolean recoverable() {
+      return recoverable;
+    }
+
+    public boolean retryable() {
+      return retryable;
+    }
+
+    public String descriptionTemplate() {
+      return descriptionTemplate;
+    }
+
+    public String detailTemplate() {
+      return detailTemplate;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.hello;
+
+import java.lang.String;
+
+public interface HelloErrorDescriptor {
+  int ordinal();
+
+  HelloException.Kind kind();
+
+  String code();
+
+  String source();
+
+  String description();
+
+  String detail();
+
+  boolean recoverable();
+
+  HelloException.FieldView errorInfo();
+
+  HelloException.FieldView details();
+
+  int errorHash();
+
+  HelloException toException();
+
+  boolean sameError(HelloErrorDescriptor other);
+}
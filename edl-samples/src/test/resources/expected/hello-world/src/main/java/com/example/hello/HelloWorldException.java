@@ -1,12 +1,14 @@
 package com.example.hello;
 
 import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
+import java.lang.Override;
 import java.lang.String;
+import java.lang.StringBuilder;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
 
 public final class HelloWorldException extends CommonException {
   public static final String ERROR_CODE = "0001";
@@ -17,34 +19,132 @@ public final class HelloWorldException extends CommonException {
 
   public static final boolean RECOVERABLE = false;
 
-  private static final int HTTP_STATUS = 407;
+  public static final int ORDINAL = 0;
+
+  public static final HelloException.Kind KIND = HelloException.Kind.HELLO_WORLD;
+
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final String[] DETAIL_KEYS = {"name"};
 
   private final String name;
 
-  private HelloWorldException(String name, Map<String, Object> details, Throwable cause) {
-    super(ERROR_CODE, HTTP_STATUS, DESCRIPTION_TEMPLATE, DETAIL_TEMPLATE, Objects.requireNonNull(details, "details"), cause);
+  HelloWorldException(String name, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
     this.name = name;
+    HelloErrorStats.created(ORDINAL);
   }
 
   public String name() {
     return name;
   }
 
-  public boolean recoverable() {
-    return RECOVERABLE;
+  @Override
+  public HelloException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(22)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, name);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(29)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, name);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String name) {
+    return out
+        .append("Hello ")
+        .append(name);
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String name) {
+    return out
+        .append("Hello detail ")
+        .append(name);
+  }
+
+  @Override
+  public HelloException.FieldView details() {
+    return new HelloException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return HelloWorldException.this.name;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(HelloErrorDescriptor other) {
+    if (other instanceof HelloWorldException) {
+      HelloWorldException that = (HelloWorldException) other;
+      return Objects.equals(name(), that.name());
+    }
+    if (other instanceof HelloError.HelloWorldError) {
+      HelloError.HelloWorldError that = (HelloError.HelloWorldError) other;
+      return Objects.equals(name(), that.name());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(name());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(HelloErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("name", name);
   }
 
   public static Builder builder() {
     return new Builder();
   }
 
+  public static HelloWorldException of(String name) {
+    Objects.requireNonNull(name, "name");
+    return new HelloWorldException(name, null);
+  }
+
+  public static HelloWorldException of(String name, Throwable cause) {
+    Objects.requireNonNull(name, "name");
+    return new HelloWorldException(name, cause);
+  }
+
+  public static HelloError.HelloWorldError descriptor(String name) {
+    return HelloError.helloWorld(name);
+  }
+
   public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
     private String name;
 
     private Throwable cause;
 
+    private int set;
+
     public Builder name(String name) {
       this.name = name;
+      set = name == null ? set & ~0x1 : set | 0x1;
       return this;
     }
 
@@ -54,17 +154,22 @@ public final class HelloWorldException extends CommonException {
     }
 
     public HelloWorldException build() {
-      String resolvedName = this.name;
-      if (resolvedName == null) {
-        throw new IllegalStateException("Missing required param: " + "name");
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
       }
-      Map<String, Object> details = new LinkedHashMap<>();
-      details.put("name", resolvedName);
-      return new HelloWorldException(resolvedName, details, cause);
+      return new HelloWorldException(name, cause);
     }
 
     public void throwException() {
       throw build();
     }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("name");
+      }
+      return missing.toString();
+    }
   }
 }
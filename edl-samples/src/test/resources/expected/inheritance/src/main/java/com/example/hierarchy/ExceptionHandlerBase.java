@@ -2,81 +2,85 @@ package com.example.hierarchy;
 
 import java.lang.Object;
 import java.lang.String;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 public abstract class ExceptionHandlerBase {
-  protected static final Object CONTAINER_TEMPLATE = Map.of();
-
-  protected Map<String, Object> mapResponse(Map<String, Object> info) {
-    Map<String, Object> body = new LinkedHashMap<>();
-    if (info.containsKey("source")) {
-      body.put("Source", info.get("source"));
+  protected Map<String, Object> mapResponse(HierarchyException.FieldView info) {
+    Map<String, Object> body = new LinkedHashMap<>(7);
+    int index;
+    index = info.indexOf("source");
+    if (index >= 0) {
+      body.put("Source", info.valueAt(index));
     }
-    if (info.containsKey("code")) {
-      body.put("ReasonCode", info.get("code"));
+    index = info.indexOf("code");
+    if (index >= 0) {
+      body.put("ReasonCode", info.valueAt(index));
     }
-    if (info.containsKey("description")) {
-      body.put("Description", info.get("description"));
+    index = info.indexOf("description");
+    if (index >= 0) {
+      body.put("Description", info.valueAt(index));
     }
-    if (info.containsKey("details")) {
-      body.put("Details", info.get("details"));
+    index = info.indexOf("details");
+    if (index >= 0) {
+      body.put("Details", info.valueAt(index));
     }
-    if (info.containsKey("recoverable")) {
-      body.put("Recoverable", info.get("recoverable"));
+    index = info.indexOf("recoverable");
+    if (index >= 0) {
+      body.put("Recoverable", info.valueAt(index));
     }
     return body;
   }
 
-  protected Object renderContainerTemplate(Object template, List<Map<String, Object>> infos) {
-    if (template instanceof Map) {
-      Map<String, Object> result = new LinkedHashMap<>();
-      Map<String, Object> map = (Map<String, Object>) template;
-      for (Map.Entry<String, Object> entry : map.entrySet()) {
-        result.put(entry.getKey(), renderContainerTemplate(entry.getValue(), infos));
-      }
-      return result;
-    }
-    if (template instanceof List) {
-      List list = (List) template;
-      if (list.size() == 1) {
-        List<Object> rendered = new ArrayList<>();
-        for (Map<String, Object> info : infos) {
-          rendered.add(renderValue(list.get(0), info));
-        }
-        return rendered;
-      }
-      return list;
-    }
-    return template;
+  protected Map<String, Object> mapInputResponse(InputException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(6);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    return body;
+  }
+
+  protected Map<String, Object> mapValidationResponse(ValidationException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(6);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    return body;
   }
 
-  protected Object renderValue(Object template, Map<String, Object> info) {
-    if (template instanceof Map) {
-      Map<String, Object> result = new LinkedHashMap<>();
-      Map<String, Object> map = (Map<String, Object>) template;
-      for (Map.Entry<String, Object> entry : map.entrySet()) {
-        result.put(entry.getKey(), renderValue(entry.getValue(), info));
-      }
-      return result;
+  protected Map<String, Object> mapLegacyResponse(LegacyException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(6);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    return body;
+  }
+
+  protected Map<String, Object> mapBaseResponse(BaseException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(6);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    return body;
+  }
+
+  protected Map<String, Object> mapResponse(HierarchyException exception) {
+    if (exception instanceof InputException) {
+      return mapInputResponse((InputException) exception);
+    }
+    if (exception instanceof ValidationException) {
+      return mapValidationResponse((ValidationException) exception);
     }
-    if (template instanceof List) {
-      List list = (List) template;
-      List<Object> rendered = new ArrayList<>();
-      for (Object entry : list) {
-        rendered.add(renderValue(entry, info));
-      }
-      return rendered;
+    if (exception instanceof LegacyException) {
+      return mapLegacyResponse((LegacyException) exception);
     }
-    if (template instanceof String) {
-      String key = (String) template;
-      if (info.containsKey(key)) {
-        return info.get(key);
-      }
-      return key;
+    if (exception instanceof BaseException) {
+      return mapBaseResponse((BaseException) exception);
     }
-    return template;
+    return mapResponse(exception.errorInfo());
   }
 }
@@ -0,0 +1,328 @@
+package com.example.hierarchy;
+
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.util.Objects;
+
+public abstract sealed class HierarchyError implements HierarchyErrorDescriptor {
+  private static final String SOURCE = "hierarchy-service";
+
+  private HierarchyError() {
+  }
+
+  @Override
+  public String source() {
+    return SOURCE;
+  }
+
+  public static InvalidEmailError invalidEmail(String email) {
+    Objects.requireNonNull(email, "email");
+    return new InvalidEmailError(email);
+  }
+
+  public static MissingFieldError missingField(String field) {
+    Objects.requireNonNull(field, "field");
+    return new MissingFieldError(field);
+  }
+
+  public abstract static sealed class BaseError extends HierarchyError {
+    private BaseError() {
+    }
+
+    @Override
+    public abstract BaseException toException();
+  }
+
+  public abstract static sealed class ValidationError extends BaseError {
+    private ValidationError() {
+    }
+
+    @Override
+    public abstract ValidationException toException();
+  }
+
+  public abstract static sealed class InputError extends ValidationError {
+    private InputError() {
+    }
+
+    @Override
+    public abstract InputException toException();
+  }
+
+  public static final class InvalidEmailError extends ValidationError {
+    private static final int ORDINAL = InvalidEmailException.ORDINAL;
+
+    private static final HierarchyException.Kind KIND = HierarchyException.Kind.INVALID_EMAIL;
+
+    private static final boolean RECOVERABLE = InvalidEmailException.RECOVERABLE;
+
+    private static final String CODE = "VAL0012";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
+
+    private static final String[] DETAIL_KEYS = {"email"};
+
+    private final String email;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private InvalidEmailError(String email) {
+      this.email = email;
+    }
+
+    public String email() {
+      return email;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public HierarchyException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = InvalidEmailException.renderDescription(new StringBuilder(30), email).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = InvalidEmailException.renderDetail(new StringBuilder(37), email).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public HierarchyException.FieldView errorInfo() {
+      return new HierarchyException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return InvalidEmailError.this.source();
+            case 1: return InvalidEmailError.this.code();
+            case 2: return InvalidEmailError.this.description();
+            case 3: return InvalidEmailError.this.detail();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public HierarchyException.FieldView details() {
+      return new HierarchyException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return InvalidEmailError.this.email;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(HierarchyErrorDescriptor other) {
+      if (other instanceof InvalidEmailException) {
+        InvalidEmailException that = (InvalidEmailException) other;
+        return Objects.equals(email(), that.email());
+      }
+      if (other instanceof InvalidEmailError) {
+        InvalidEmailError that = (InvalidEmailError) other;
+        return Objects.equals(email(), that.email());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(email());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof InvalidEmailError && sameError((InvalidEmailError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public InvalidEmailException toException() {
+      return new InvalidEmailException(email, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+
+  public static final class MissingFieldError extends InputError {
+    private static final int ORDINAL = MissingFieldException.ORDINAL;
+
+    private static final HierarchyException.Kind KIND = HierarchyException.Kind.MISSING_FIELD;
+
+    private static final boolean RECOVERABLE = MissingFieldException.RECOVERABLE;
+
+    private static final String CODE = "IN0099";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
+
+    private static final String[] DETAIL_KEYS = {"field"};
+
+    private final String field;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private MissingFieldError(String field) {
+      this.field = field;
+    }
+
+    public String field() {
+      return field;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public HierarchyException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = MissingFieldException.renderDescription(new StringBuilder(24), field).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = MissingFieldException.renderDetail(new StringBuilder(31), field).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public HierarchyException.FieldView errorInfo() {
+      return new HierarchyException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return MissingFieldError.this.source();
+            case 1: return MissingFieldError.this.code();
+            case 2: return MissingFieldError.this.description();
+            case 3: return MissingFieldError.this.detail();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public HierarchyException.FieldView details() {
+      return new HierarchyException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return MissingFieldError.this.field;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(HierarchyErrorDescriptor other) {
+      if (other instanceof MissingFieldException) {
+        MissingFieldException that = (MissingFieldException) other;
+        return Objects.equals(field(), that.field());
+      }
+      if (other instanceof MissingFieldError) {
+        MissingFieldError that = (MissingFieldError) other;
+        return Objects.equals(field(), that.field());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(field());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof MissingFieldError && sameError((MissingFieldError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public MissingFieldException toException() {
+      return new MissingFieldException(field, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+}
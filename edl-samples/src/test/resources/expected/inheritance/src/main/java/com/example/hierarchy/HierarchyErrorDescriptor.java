@@ -0,0 +1,29 @@
+package com.example.hierarchy;
+
+import java.lang.String;
+
+public interface HierarchyErrorDescriptor {
+  int ordinal();
+
+  HierarchyException.Kind kind();
+
+  String code();
+
+  String source();
+
+  String description();
+
+  String detail();
+
+  boolean recoverable();
+
+  HierarchyException.FieldView errorInfo();
+
+  HierarchyException.FieldView details();
+
+  int errorHash();
+
+  HierarchyException toException();
+
+  boolean sameError(HierarchyErrorDescriptor other);
+}
@@ -0,0 +1,169 @@
+package com.example.hierarchy;
+
+import java.lang.IllegalStateException;
+import java.lang.Long;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public final class HierarchyErrorStats {
+  public static final String OBJECT_NAME = "com.example.hierarchy:type=ErrorStats,name=Hierarchy";
+
+  private static final LongAdder[] CREATED = adders();
+
+  private static final LongAdder[] HANDLED = adders();
+
+  private HierarchyErrorStats() {
+  }
+
+  private static LongAdder[] adders() {
+    LongAdder[] counters = new LongAdder[HierarchyErrorCatalog.size()];
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = new LongAdder();
+    }
+    return counters;
+  }
+
+  static void created(int ordinal) {
+    CREATED[ordinal].increment();
+  }
+
+  public static void handled(int ordinal) {
+    HANDLED[ordinal].increment();
+  }
+
+  public static void handled(int ordinal, long count) {
+    HANDLED[ordinal].add(count);
+  }
+
+  public static long createdCount(int ordinal) {
+    return CREATED[ordinal].sum();
+  }
+
+  public static long handledCount(int ordinal) {
+    return HANDLED[ordinal].sum();
+  }
+
+  public static Snapshot snapshot() {
+    long[] created = new long[CREATED.length];
+    long[] handled = new long[HANDLED.length];
+    for (int i = 0; i < created.length; i++) {
+      created[i] = CREATED[i].sum();
+      handled[i] = HANDLED[i].sum();
+    }
+    return new Snapshot(created, handled);
+  }
+
+  public static void reset() {
+    for (int i = 0; i < CREATED.length; i++) {
+      CREATED[i].reset();
+      HANDLED[i].reset();
+    }
+  }
+
+  public static synchronized ObjectName registerMBean() {
+    try {
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new Bean(), name);
+      }
+      return name;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+    }
+  }
+
+  public static final class Snapshot {
+    private final long[] created;
+
+    private final long[] handled;
+
+    private Snapshot(long[] created, long[] handled) {
+      this.created = created;
+      this.handled = handled;
+    }
+
+    public int size() {
+      return created.length;
+    }
+
+    public long created(int ordinal) {
+      return created[ordinal];
+    }
+
+    public long handled(int ordinal) {
+      return handled[ordinal];
+    }
+
+    public long totalCreated() {
+      return Arrays.stream(created).sum();
+    }
+
+    public long totalHandled() {
+      return Arrays.stream(handled).sum();
+    }
+
+    public Map<String, Long> createdByCode() {
+      return byCode(created);
+    }
+
+    public Map<String, Long> handledByCode() {
+      return byCode(handled);
+    }
+
+    private static Map<String, Long> byCode(long[] counts) {
+      Map<String, Long> byCode = new LinkedHashMap<>(counts.length * 4 / 3 + 1);
+      for (int i = 0; i < counts.length; i++) {
+        byCode.put(HierarchyErrorCatalog.byOrdinal(i).code(), counts[i]);
+      }
+      return byCode;
+    }
+  }
+
+  public interface StatsMXBean {
+    Map<String, Long> getCreatedByCode();
+
+    Map<String, Long> getHandledByCode();
+
+    long getTotalCreated();
+
+    long getTotalHandled();
+
+    void reset();
+  }
+
+  private static final class Bean implements StatsMXBean {
+    @Override
+    public Map<String, Long> getCreatedByCode() {
+      return snapshot().createdByCode();
+    }
+
+    @Override
+    public Map<String, Long> getHandledByCode() {
+      return snapshot().handledByCode();
+    }
+
+    @Override
+    public long getTotalCreated() {
+      return snapshot().totalCreated();
+    }
+
+    @Override
+    public long getTotalHandled() {
+      return snapshot().totalHandled();
+    }
+
+    @Override
+    public void reset() {
+      HierarchyErrorStats.reset();
+    }
+  }
+}
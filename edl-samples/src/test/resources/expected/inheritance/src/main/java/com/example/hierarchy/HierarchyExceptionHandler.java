@@ -9,11 +9,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
 public class HierarchyExceptionHandler extends ExceptionHandlerBase {
-
   @ExceptionHandler(HierarchyException.class)
   public ResponseEntity<Map<String, Object>> handleHierarchyException(
       HierarchyException exception) {
-    Map<String, Object> body = mapResponse(exception.errorInfo());
+    HierarchyErrorStats.handled(exception.ordinal());
+    Map<String, Object> body = mapResponse(exception);
     return ResponseEntity.status(exception.httpStatus()).body(body);
   }
 }
@@ -0,0 +1,75 @@
+package com.example.hierarchy;
+
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.util.Objects;
+import java.util.function.Function;
+
+public final class HierarchyResult<T> {
+  private final T value;
+
+  private final HierarchyError error;
+
+  private HierarchyResult(T value, HierarchyError error) {
+    this.value = value;
+    this.error = error;
+  }
+
+  public static <T> HierarchyResult<T> success(T value) {
+    return new HierarchyResult<>(value, null);
+  }
+
+  public static <T> HierarchyResult<T> failure(HierarchyError error) {
+    return new HierarchyResult<>(null, Objects.requireNonNull(error, "error"));
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  public boolean isFailure() {
+    return error != null;
+  }
+
+  public T value() {
+    if (error != null) {
+      throw new IllegalStateException("No value present: " + error);
+    }
+    return value;
+  }
+
+  public HierarchyError error() {
+    return error;
+  }
+
+  public T orElse(T other) {
+    return error == null ? value : other;
+  }
+
+  public T orElseThrow() {
+    if (error != null) {
+      throw error.toException();
+    }
+    return value;
+  }
+
+  public <U> HierarchyResult<U> map(Function<? super T, ? extends U> mapper) {
+    return error == null ? success(mapper.apply(value)) : castFailure();
+  }
+
+  public <U> HierarchyResult<U> flatMap(Function<? super T, HierarchyResult<U>> mapper) {
+    return error == null ? Objects.requireNonNull(mapper.apply(value), "result") : castFailure();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <U> HierarchyResult<U> castFailure() {
+    return (HierarchyResult<U>) this;
+  }
+
+  @Override
+  public String toString() {
+    return error == null ? "Success[" + value + "]" : "Failure[" + error + "]";
+  }
+}
@@ -1,12 +1,14 @@
 package com.example.hierarchy;
 
 import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
+import java.lang.Override;
 import java.lang.String;
+import java.lang.StringBuilder;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
 
 public final class InvalidEmailException extends ValidationException {
   public static final String ERROR_CODE = "0012";
@@ -17,32 +19,129 @@ public final class InvalidEmailException extends ValidationException {
 
   public static final boolean RECOVERABLE = false;
 
+  public static final int ORDINAL = 0;
+
+  public static final HierarchyException.Kind KIND = HierarchyException.Kind.INVALID_EMAIL;
+
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final String[] DETAIL_KEYS = {"email"};
+
   private final String email;
 
-  private InvalidEmailException(String email, Map<String, Object> details, Throwable cause) {
-    super(ERROR_CODE, HTTP_STATUS, DESCRIPTION_TEMPLATE, DETAIL_TEMPLATE, Objects.requireNonNull(details, "details"), cause);
+  InvalidEmailException(String email, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
     this.email = email;
+    HierarchyErrorStats.created(ORDINAL);
   }
 
   public String email() {
     return email;
   }
 
-  public boolean recoverable() {
-    return RECOVERABLE;
+  @Override
+  public HierarchyException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(30)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, email);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(37)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, email);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String email) {
+    return out
+        .append("Invalid email ")
+        .append(email);
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String email) {
+    return out
+        .append("Invalid email ")
+        .append(email)
+        .append(" detail");
+  }
+
+  @Override
+  public HierarchyException.FieldView details() {
+    return new HierarchyException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return InvalidEmailException.this.email;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(HierarchyErrorDescriptor other) {
+    if (other instanceof InvalidEmailException) {
+      InvalidEmailException that = (InvalidEmailException) other;
+      return Objects.equals(email(), that.email());
+    }
+    if (other instanceof HierarchyError.InvalidEmailError) {
+      HierarchyError.InvalidEmailError that = (HierarchyError.InvalidEmailError) other;
+      return Objects.equals(email(), that.email());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(email());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(HierarchyErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("email", email);
   }
 
   public static Builder builder() {
     return new Builder();
   }
 
+  public static InvalidEmailException of(String email) {
+    Objects.requireNonNull(email, "email");
+    return new InvalidEmailException(email, null);
+  }
+
+  public static InvalidEmailException of(String email, Throwable cause) {
+    Objects.requireNonNull(email, "email");
+    return new InvalidEmailException(email, cause);
+  }
+
   public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
     private String email;
 
     private Throwable cause;
 
+    private int set;
+
     public Builder email(String email) {
       this.email = email;
+      set = email == null ? set & ~0x1 : set | 0x1;
       return this;
     }
 
@@ -52,17 +151,22 @@ public final class InvalidEmailException extends ValidationException {
     }
 
     public InvalidEmailException build() {
-      String resolvedEmail = this.email;
-      if (resolvedEmail == null) {
-        throw new IllegalStateException("Missing required param: " + "email");
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
       }
-      Map<String, Object> details = new LinkedHashMap<>();
-      details.put("email", resolvedEmail);
-      return new InvalidEmailException(resolvedEmail, details, cause);
+      return new InvalidEmailException(email, cause);
     }
 
     public void throwException() {
       throw build();
     }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("email");
+      }
+      return missing.toString();
+    }
   }
 }
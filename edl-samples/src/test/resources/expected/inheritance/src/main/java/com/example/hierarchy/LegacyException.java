@@ -0,0 +1,59 @@
+package com.example.hierarchy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.Appendable;
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.Throwable;
+
+public abstract non-sealed class LegacyException extends BaseException {
+  private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
+
+  private static final byte[][] JSON_CHUNKS = HierarchyJson.utf8("{\"Source\":\"hierarchy-service\",\"ReasonCode\":", ",\"Description\":", ",\"Details\":", "}");
+
+  protected LegacyException(int ordinal, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(ordinal, cause, enableSuppression, writableStackTrace);
+  }
+
+  @Override
+  protected HierarchyException.FieldView coreValues() {
+    return new HierarchyException.FieldView(INFO_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return LegacyException.this.source();
+          case 1: return LegacyException.this.code();
+          case 2: return LegacyException.this.description();
+          case 3: return LegacyException.this.detail();
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public void writeJson(Appendable out) throws IOException {
+    out.append("{\"Source\":\"hierarchy-service\",\"ReasonCode\":");
+    out.append(HierarchyException.CODE_JSON[ordinal()]);
+    out.append(",\"Description\":");
+    HierarchyJson.writeString(out, description());
+    out.append(",\"Details\":");
+    HierarchyJson.writeString(out, detail());
+    out.append("}");
+  }
+
+  @Override
+  public void writeJson(OutputStream out) throws IOException {
+    out.write(JSON_CHUNKS[0]);
+    out.write(HierarchyException.CODE_JSON_UTF8[ordinal()]);
+    out.write(JSON_CHUNKS[1]);
+    HierarchyJson.writeString(out, description());
+    out.write(JSON_CHUNKS[2]);
+    HierarchyJson.writeString(out, detail());
+    out.write(JSON_CHUNKS[3]);
+  }
+}
@@ -1,12 +1,14 @@
 package com.example.hierarchy;
 
 import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
+import java.lang.Override;
 import java.lang.String;
+import java.lang.StringBuilder;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
 
 public final class MissingFieldException extends InputException {
   public static final String ERROR_CODE = "0099";
@@ -17,32 +19,129 @@ public final class MissingFieldException extends InputException {
 
   public static final boolean RECOVERABLE = false;
 
+  public static final int ORDINAL = 1;
+
+  public static final HierarchyException.Kind KIND = HierarchyException.Kind.MISSING_FIELD;
+
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final String[] DETAIL_KEYS = {"field"};
+
   private final String field;
 
-  private MissingFieldException(String field, Map<String, Object> details, Throwable cause) {
-    super(ERROR_CODE, HTTP_STATUS, DESCRIPTION_TEMPLATE, DETAIL_TEMPLATE, Objects.requireNonNull(details, "details"), cause);
+  MissingFieldException(String field, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
     this.field = field;
+    HierarchyErrorStats.created(ORDINAL);
   }
 
   public String field() {
     return field;
   }
 
-  public boolean recoverable() {
-    return RECOVERABLE;
+  @Override
+  public HierarchyException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(24)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, field);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(31)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, field);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String field) {
+    return out
+        .append("Missing ")
+        .append(field);
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String field) {
+    return out
+        .append("Missing ")
+        .append(field)
+        .append(" detail");
+  }
+
+  @Override
+  public HierarchyException.FieldView details() {
+    return new HierarchyException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return MissingFieldException.this.field;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(HierarchyErrorDescriptor other) {
+    if (other instanceof MissingFieldException) {
+      MissingFieldException that = (MissingFieldException) other;
+      return Objects.equals(field(), that.field());
+    }
+    if (other instanceof HierarchyError.MissingFieldError) {
+      HierarchyError.MissingFieldError that = (HierarchyError.MissingFieldError) other;
+      return Objects.equals(field(), that.field());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(field());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(HierarchyErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("field", field);
   }
 
   public static Builder builder() {
     return new Builder();
   }
 
+  public static MissingFieldException of(String field) {
+    Objects.requireNonNull(field, "field");
+    return new MissingFieldException(field, null);
+  }
+
+  public static MissingFieldException of(String field, Throwable cause) {
+    Objects.requireNonNull(field, "field");
+    return new MissingFieldException(field, cause);
+  }
+
   public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
     private String field;
 
     private Throwable cause;
 
+    private int set;
+
     public Builder field(String field) {
       this.field = field;
+      set = field == null ? set & ~0x1 : set | 0x1;
       return this;
     }
 
@@ -52,17 +151,22 @@ public final class MissingFieldException extends InputException {
     }
 
     public MissingFieldException build() {
-      String resolvedField = this.field;
-      if (resolvedField == null) {
-        throw new IllegalStateException("Missing required param: " + "field");
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
       }
-      Map<String, Object> details = new LinkedHashMap<>();
-      details.put("field", resolvedField);
-      return new MissingFieldException(resolvedField, details, cause);
+      return new MissingFieldException(field, cause);
     }
 
     public void throwException() {
       throw build();
     }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("field");
+      }
+      return missing.toString();
+    }
   }
 }
@@ -1,30 +1,59 @@
 package com.example.hierarchy;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.Appendable;
+import java.lang.IndexOutOfBoundsException;
 import java.lang.Object;
 import java.lang.Override;
 import java.lang.String;
 import java.lang.Throwable;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Objects;
 
-public abstract class ValidationException extends BaseException {
-  private static final String CODE_PREFIX = "VAL";
+public abstract sealed class ValidationException extends BaseException permits InputException, InvalidEmailException {
+  private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
 
-  protected static final int HTTP_STATUS = 400;
+  private static final byte[][] JSON_CHUNKS = HierarchyJson.utf8("{\"Source\":\"hierarchy-service\",\"ReasonCode\":", ",\"Description\":", ",\"Details\":", "}");
 
-  protected ValidationException(String errorCode, int httpStatus, String descriptionTemplate,
-      String detailTemplate, Map<String, Object> details, Throwable cause) {
-    super(CODE_PREFIX + Objects.requireNonNull(errorCode, "errorCode"), httpStatus, descriptionTemplate, detailTemplate, details, cause);
+  protected ValidationException(int ordinal, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(ordinal, cause, enableSuppression, writableStackTrace);
   }
 
   @Override
-  protected Map<String, Object> coreValues() {
-    Map<String, Object> values = new LinkedHashMap<>();
-    values.put("source", source());
-    values.put("code", code());
-    values.put("description", description());
-    values.put("details", detail());
-    return Map.copyOf(values);
+  protected HierarchyException.FieldView coreValues() {
+    return new HierarchyException.FieldView(INFO_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return ValidationException.this.source();
+          case 1: return ValidationException.this.code();
+          case 2: return ValidationException.this.description();
+          case 3: return ValidationException.this.detail();
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public void writeJson(Appendable out) throws IOException {
+    out.append("{\"Source\":\"hierarchy-service\",\"ReasonCode\":");
+    out.append(HierarchyException.CODE_JSON[ordinal()]);
+    out.append(",\"Description\":");
+    HierarchyJson.writeString(out, description());
+    out.append(",\"Details\":");
+    HierarchyJson.writeString(out, detail());
+    out.append("}");
+  }
+
+  @Override
+  public void writeJson(OutputStream out) throws IOException {
+    out.write(JSON_CHUNKS[0]);
+    out.write(HierarchyException.CODE_JSON_UTF8[ordinal()]);
+    out.write(JSON_CHUNKS[1]);
+    HierarchyJson.writeString(out, description());
+    out.write(JSON_CHUNKS[2]);
+    HierarchyJson.writeString(out, detail());
+    out.write(JSON_CHUNKS[3]);
   }
 }
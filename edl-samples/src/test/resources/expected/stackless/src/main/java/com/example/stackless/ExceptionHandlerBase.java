@@ -0,0 +1,156 @@
+package com.example.stackless;
+
+import java.lang.Object;
+import java.lang.String;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public abstract class ExceptionHandlerBase {
+  protected Map<String, Object> mapResponse(StacklessException.FieldView info) {
+    Map<String, Object> body = new LinkedHashMap<>(7);
+    int index;
+    index = info.indexOf("source");
+    if (index >= 0) {
+      body.put("Source", info.valueAt(index));
+    }
+    index = info.indexOf("code");
+    if (index >= 0) {
+      body.put("ReasonCode", info.valueAt(index));
+    }
+    index = info.indexOf("description");
+    if (index >= 0) {
+      body.put("Description", info.valueAt(index));
+    }
+    index = info.indexOf("details");
+    if (index >= 0) {
+      body.put("Details", info.valueAt(index));
+    }
+    index = info.indexOf("recoverable");
+    if (index >= 0) {
+      body.put("Recoverable", info.valueAt(index));
+    }
+    return body;
+  }
+
+  protected Map<String, Object> mapValidationResponse(ValidationException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(7);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    body.put("Recoverable", exception.recoverable());
+    return body;
+  }
+
+  protected Map<String, Object> mapInternalResponse(InternalException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(6);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    return body;
+  }
+
+  protected Map<String, Object> mapIntegrationResponse(IntegrationException exception) {
+    Map<String, Object> body = new LinkedHashMap<>(6);
+    body.put("Source", exception.source());
+    body.put("ReasonCode", exception.code());
+    body.put("Description", exception.description());
+    body.put("Details", exception.detail());
+    return body;
+  }
+
+  protected Map<String, Object> mapResponse(StacklessException exception) {
+    if (exception instanceof ValidationException) {
+      return mapValidationResponse((ValidationException) exception);
+    }
+    if (exception instanceof InternalException) {
+      return mapInternalResponse((InternalException) exception);
+    }
+    if (exception instanceof IntegrationException) {
+      return mapIntegrationResponse((IntegrationException) exception);
+    }
+    return mapResponse(exception.errorInfo());
+  }
+
+  protected void countHandled(StacklessContainerException exception) {
+    List<StacklessErrorDescriptor> items = exception.descriptors();
+    for (int i = 0, count = items.size(); i < count; i++) {
+      StacklessErrorStats.handled(items.get(i).ordinal(), exception.occurrences(i));
+    }
+  }
+
+  protected Map<String, Object> mapContainerResponse(StacklessContainerException exception) {
+    List<StacklessErrorDescriptor> items = exception.descriptors();
+    int count = items.size();
+    Map<String, Object> node0 = new LinkedHashMap<>(2);
+    List<Object> node1 = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      node1.add(mapContainerItem(items.get(i)));
+    }
+    node0.put("Error", node1);
+    return node0;
+  }
+
+  protected Map<String, Object> mapContainerItem(StacklessErrorDescriptor error) {
+    if (error instanceof ValidationException) {
+      return mapValidationContainerItem((ValidationException) error);
+    }
+    if (error instanceof StacklessError.ValidationError) {
+      return mapValidationContainerItem((StacklessError.ValidationError) error);
+    }
+    if (error instanceof InternalException) {
+      return mapInternalContainerItem((InternalException) error);
+    }
+    if (error instanceof StacklessError.InternalError) {
+      return mapInternalContainerItem((StacklessError.InternalError) error);
+    }
+    Map<String, Object> item0 = new LinkedHashMap<>(7);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    item0.put("Recoverable", error.recoverable());
+    return item0;
+  }
+
+  protected Map<String, Object> mapValidationContainerItem(ValidationException error) {
+    Map<String, Object> item0 = new LinkedHashMap<>(7);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    item0.put("Recoverable", error.recoverable());
+    return item0;
+  }
+
+  protected Map<String, Object> mapValidationContainerItem(StacklessError.ValidationError error) {
+    Map<String, Object> item0 = new LinkedHashMap<>(7);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    item0.put("Recoverable", error.recoverable());
+    return item0;
+  }
+
+  protected Map<String, Object> mapInternalContainerItem(InternalException error) {
+    Map<String, Object> item0 = new LinkedHashMap<>(7);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    return item0;
+  }
+
+  protected Map<String, Object> mapInternalContainerItem(StacklessError.InternalError error) {
+    Map<String, Object> item0 = new LinkedHashMap<>(7);
+    item0.put("Source", error.source());
+    item0.put("ReasonCode", error.code());
+    item0.put("Description", error.description());
+    item0.put("Details", error.detail());
+    return item0;
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.stackless;
+
+import java.util.stream.Collector;
+
+public final class InternalContainerException extends StacklessContainerException {
+  private static final int HTTP_STATUS = 500;
+
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  public InternalContainerException() {
+    super(HTTP_STATUS, WRITABLE_STACK_TRACE);
+  }
+
+  public InternalContainerException add(InternalException error) {
+    super.add(error);
+    return this;
+  }
+
+  public InternalContainerException add(StacklessError.InternalError error) {
+    super.add(error);
+    return this;
+  }
+
+  public InternalContainerException merge(InternalContainerException other) {
+    super.merge(other);
+    return this;
+  }
+
+  public static Collector<InternalException, ?, InternalContainerException> collector() {
+    return Collector.of(InternalContainerException::new, InternalContainerException::add, InternalContainerException::merge);
+  }
+}
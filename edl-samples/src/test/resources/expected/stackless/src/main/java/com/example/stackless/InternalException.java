@@ -0,0 +1,59 @@
+package com.example.stackless;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.Appendable;
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.Throwable;
+
+public abstract class InternalException extends StacklessException {
+  private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
+
+  private static final byte[][] JSON_CHUNKS = StacklessJson.utf8("{\"Source\":\"stackless-service\",\"ReasonCode\":", ",\"Description\":", ",\"Details\":", "}");
+
+  protected InternalException(int ordinal, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(ordinal, cause, enableSuppression, writableStackTrace);
+  }
+
+  @Override
+  protected StacklessException.FieldView coreValues() {
+    return new StacklessException.FieldView(INFO_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return InternalException.this.source();
+          case 1: return InternalException.this.code();
+          case 2: return InternalException.this.description();
+          case 3: return InternalException.this.detail();
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public void writeJson(Appendable out) throws IOException {
+    out.append("{\"Source\":\"stackless-service\",\"ReasonCode\":");
+    out.append(StacklessException.CODE_JSON[ordinal()]);
+    out.append(",\"Description\":");
+    StacklessJson.writeString(out, description());
+    out.append(",\"Details\":");
+    StacklessJson.writeString(out, detail());
+    out.append("}");
+  }
+
+  @Override
+  public void writeJson(OutputStream out) throws IOException {
+    out.write(JSON_CHUNKS[0]);
+    out.write(StacklessException.CODE_JSON_UTF8[ordinal()]);
+    out.write(JSON_CHUNKS[1]);
+    StacklessJson.writeString(out, description());
+    out.write(JSON_CHUNKS[2]);
+    StacklessJson.writeString(out, detail());
+    out.write(JSON_CHUNKS[3]);
+  }
+}
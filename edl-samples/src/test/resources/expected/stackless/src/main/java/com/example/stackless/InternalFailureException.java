@@ -0,0 +1,176 @@
+package com.example.stackless;
+
+import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.lang.Throwable;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public final class InternalFailureException extends InternalException {
+  public static final String ERROR_CODE = "0001";
+
+  public static final String DESCRIPTION_TEMPLATE = "Internal failure {reason}";
+
+  public static final String DETAIL_TEMPLATE = "Internal failure {reason}";
+
+  public static final boolean RECOVERABLE = false;
+
+  public static final int ORDINAL = 2;
+
+  public static final StacklessException.Kind KIND = StacklessException.Kind.INTERNAL_FAILURE;
+
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final String[] DETAIL_KEYS = {"reason"};
+
+  private final String reason;
+
+  InternalFailureException(String reason, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
+    this.reason = reason;
+    StacklessErrorStats.created(ORDINAL);
+    StacklessErrorEvent.emit(ORDINAL);
+  }
+
+  public String reason() {
+    return reason;
+  }
+
+  @Override
+  public StacklessException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(33)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, reason);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(33)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, reason);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String reason) {
+    return out
+        .append("Internal failure ")
+        .append(reason);
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String reason) {
+    return out
+        .append("Internal failure ")
+        .append(reason);
+  }
+
+  @Override
+  public StacklessException.FieldView details() {
+    return new StacklessException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return InternalFailureException.this.reason;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(StacklessErrorDescriptor other) {
+    if (other instanceof InternalFailureException) {
+      InternalFailureException that = (InternalFailureException) other;
+      return Objects.equals(reason(), that.reason());
+    }
+    if (other instanceof StacklessError.InternalFailureError) {
+      StacklessError.InternalFailureError that = (StacklessError.InternalFailureError) other;
+      return Objects.equals(reason(), that.reason());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(reason());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(StacklessErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("reason", reason);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static InternalFailureException of(String reason) {
+    Objects.requireNonNull(reason, "reason");
+    return new InternalFailureException(reason, null);
+  }
+
+  public static InternalFailureException of(String reason, Throwable cause) {
+    Objects.requireNonNull(reason, "reason");
+    return new InternalFailureException(reason, cause);
+  }
+
+  public static StacklessError.InternalFailureError descriptor(String reason) {
+    return StacklessError.internalFailure(reason);
+  }
+
+  public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
+    private String reason;
+
+    private Throwable cause;
+
+    private int set;
+
+    public Builder reason(String reason) {
+      this.reason = reason;
+      set = reason == null ? set & ~0x1 : set | 0x1;
+      return this;
+    }
+
+    public Builder cause(Throwable cause) {
+      this.cause = cause;
+      return this;
+    }
+
+    public InternalFailureException build() {
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
+      }
+      return new InternalFailureException(reason, cause);
+    }
+
+    public void throwException() {
+      throw build();
+    }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("reason");
+      }
+      return missing.toString();
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.example.stackless;
+
+import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.lang.Throwable;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public final class InvalidNameException extends ValidationException {
+  public static final String ERROR_CODE = "0001";
+
+  public static final String DESCRIPTION_TEMPLATE = "Invalid name {name}";
+
+  public static final String DETAIL_TEMPLATE = "Name {name} is invalid";
+
+  public static final boolean RECOVERABLE = false;
+
+  public static final int ORDINAL = 0;
+
+  public static final StacklessException.Kind KIND = StacklessException.Kind.INVALID_NAME;
+
+  private static final boolean WRITABLE_STACK_TRACE = false;
+
+  private static final String[] DETAIL_KEYS = {"name"};
+
+  private final String name;
+
+  InvalidNameException(String name, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
+    this.name = name;
+    StacklessErrorStats.created(ORDINAL);
+    StacklessErrorEvent.emit(ORDINAL);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public StacklessException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(29)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, name);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(32)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, name);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String name) {
+    return out
+        .append("Invalid name ")
+        .append(name);
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String name) {
+    return out
+        .append("Name ")
+        .append(name)
+        .append(" is invalid");
+  }
+
+  @Override
+  public StacklessException.FieldView details() {
+    return new StacklessException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return InvalidNameException.this.name;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(StacklessErrorDescriptor other) {
+    if (other instanceof InvalidNameException) {
+      InvalidNameException that = (InvalidNameException) other;
+      return Objects.equals(name(), that.name());
+    }
+    if (other instanceof StacklessError.InvalidNameError) {
+      StacklessError.InvalidNameError that = (StacklessError.InvalidNameError) other;
+      return Objects.equals(name(), that.name());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(name());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(StacklessErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("name", name);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static InvalidNameException of(String name) {
+    Objects.requireNonNull(name, "name");
+    return new InvalidNameException(name, null);
+  }
+
+  public static InvalidNameException of(String name, Throwable cause) {
+    Objects.requireNonNull(name, "name");
+    return new InvalidNameException(name, cause);
+  }
+
+  public static StacklessError.InvalidNameError descriptor(String name) {
+    return StacklessError.invalidName(name);
+  }
+
+  public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
+    private String name;
+
+    private Throwable cause;
+
+    private int set;
+
+    public Builder name(String name) {
+      this.name = name;
+      set = name == null ? set & ~0x1 : set | 0x1;
+      return this;
+    }
+
+    public Builder cause(Throwable cause) {
+      this.cause = cause;
+      return this;
+    }
+
+    public InvalidNameException build() {
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
+      }
+      return new InvalidNameException(name, cause);
+    }
+
+    public void throwException() {
+      throw build();
+    }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("name");
+      }
+      return missing.toString();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.stackless;
+
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.lang.Throwable;
+
+public final class MissingNameException extends ValidationException {
+  public static final String ERROR_CODE = "0002";
+
+  public static final String DESCRIPTION_TEMPLATE = "Missing name";
+
+  public static final String DETAIL_TEMPLATE = "Name is required";
+
+  public static final boolean RECOVERABLE = false;
+
+  public static final int ORDINAL = 1;
+
+  public static final StacklessException.Kind KIND = StacklessException.Kind.MISSING_NAME;
+
+  private static final boolean WRITABLE_STACK_TRACE = false;
+
+  private static final MissingNameException INSTANCE = new MissingNameException();
+
+  MissingNameException(Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
+    StacklessErrorStats.created(ORDINAL);
+    StacklessErrorEvent.emit(ORDINAL);
+  }
+
+  private MissingNameException() {
+    super(ORDINAL, null, false, false);
+  }
+
+  @Override
+  public StacklessException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return DESCRIPTION_TEMPLATE;
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return out.append(DESCRIPTION_TEMPLATE);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return DETAIL_TEMPLATE;
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return out.append(DETAIL_TEMPLATE);
+  }
+
+  public static MissingNameException instance() {
+    return INSTANCE;
+  }
+
+  public static void throwIt() {
+    StacklessErrorStats.created(ORDINAL);
+    StacklessErrorEvent.emit(ORDINAL);
+    throw INSTANCE;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static MissingNameException of() {
+    return new MissingNameException(null);
+  }
+
+  public static MissingNameException of(Throwable cause) {
+    return new MissingNameException(cause);
+  }
+
+  public static StacklessError.MissingNameError descriptor() {
+    return StacklessError.missingName();
+  }
+
+  public static final class Builder {
+    private Throwable cause;
+
+    public Builder cause(Throwable cause) {
+      this.cause = cause;
+      return this;
+    }
+
+    public MissingNameException build() {
+      return new MissingNameException(cause);
+    }
+
+    public void throwException() {
+      throw build();
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package com.example.stackless;
+
+import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.lang.Throwable;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public final class PartnerRejectedException extends IntegrationException {
+  public static final String ERROR_CODE = "0001";
+
+  public static final String DESCRIPTION_TEMPLATE = "Partner {partner} rejected the request";
+
+  public static final String DETAIL_TEMPLATE = "Partner {partner} rejected the request";
+
+  public static final boolean RECOVERABLE = false;
+
+  public static final int ORDINAL = 4;
+
+  public static final StacklessException.Kind KIND = StacklessException.Kind.PARTNER_REJECTED;
+
+  private static final boolean WRITABLE_STACK_TRACE = true;
+
+  private static final StacklessException.StackTraceSampler STACK_TRACE_SAMPLER = new StacklessException.StackTraceSampler(2, 3);
+
+  private static final String[] DETAIL_KEYS = {"partner"};
+
+  private final String partner;
+
+  PartnerRejectedException(String partner, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
+    this.partner = partner;
+    StacklessErrorStats.created(ORDINAL);
+    StacklessErrorEvent.emit(ORDINAL);
+  }
+
+  @Override
+  protected StacklessException.StackTraceSampler stackTraceSampler() {
+    return STACK_TRACE_SAMPLER;
+  }
+
+  public String partner() {
+    return partner;
+  }
+
+  @Override
+  public StacklessException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(45)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, partner);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(45)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, partner);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String partner) {
+    return out
+        .append("Partner ")
+        .append(partner)
+        .append(" rejected the request");
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String partner) {
+    return out
+        .append("Partner ")
+        .append(partner)
+        .append(" rejected the request");
+  }
+
+  @Override
+  public StacklessException.FieldView details() {
+    return new StacklessException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return PartnerRejectedException.this.partner;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(StacklessErrorDescriptor other) {
+    if (other instanceof PartnerRejectedException) {
+      PartnerRejectedException that = (PartnerRejectedException) other;
+      return Objects.equals(partner(), that.partner());
+    }
+    if (other instanceof StacklessError.PartnerRejectedError) {
+      StacklessError.PartnerRejectedError that = (StacklessError.PartnerRejectedError) other;
+      return Objects.equals(partner(), that.partner());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(partner());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(StacklessErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("partner", partner);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static PartnerRejectedException of(String partner) {
+    Objects.requireNonNull(partner, "partner");
+    return new PartnerRejectedException(partner, null);
+  }
+
+  public static PartnerRejectedException of(String partner, Throwable cause) {
+    Objects.requireNonNull(partner, "partner");
+    return new PartnerRejectedException(partner, cause);
+  }
+
+  public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
+    private String partner;
+
+    private Throwable cause;
+
+    private int set;
+
+    public Builder partner(String partner) {
+      this.partner = partner;
+      set = partner == null ? set & ~0x1 : set | 0x1;
+      return this;
+    }
+
+    public Builder cause(Throwable cause) {
+      this.cause = cause;
+      return this;
+    }
+
+    public PartnerRejectedException build() {
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
+      }
+      return new PartnerRejectedException(partner, cause);
+    }
+
+    public void throwException() {
+      throw build();
+    }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("partner");
+      }
+      return missing.toString();
+    }
+  }
+}
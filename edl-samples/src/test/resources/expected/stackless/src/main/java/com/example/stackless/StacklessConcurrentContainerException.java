@@ -0,0 +1,288 @@
+package com.example.stackless;
+
+import java.lang.IllegalArgumentException;
+import java.lang.Integer;
+import java.lang.Math;
+import java.lang.Object;
+import java.lang.Override;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public abstract class StacklessConcurrentContainerException extends StacklessContainerException {
+  private static final int FIRST_CHUNK_BITS = 4;
+
+  private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+
+  private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_CHUNK_SIZE;
+
+  private static final int UNPOSITIONED = Integer.MAX_VALUE;
+
+  private final int limit;
+
+  private final AtomicInteger reserved = new AtomicInteger();
+
+  private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(31 - FIRST_CHUNK_BITS);
+
+  private final LongAdder suppressed = new LongAdder();
+
+  private final AtomicLongArray ordinals = new AtomicLongArray((StacklessErrorCatalog.size() + 63) >>> 6);
+
+  private final AtomicReference<int[]> order = new AtomicReference<>(new int[0]);
+
+  protected StacklessConcurrentContainerException(int httpStatus, boolean writableStackTrace) {
+    this(httpStatus, writableStackTrace, Integer.MAX_VALUE);
+  }
+
+  protected StacklessConcurrentContainerException(int httpStatus, boolean writableStackTrace,
+      int maxErrors) {
+    super(httpStatus, writableStackTrace, maxErrors, false);
+    this.limit = Math.min(maxErrors, MAX_SIZE);
+  }
+
+  @Override
+  public void add(StacklessErrorDescriptor error) {
+    add(UNPOSITIONED, error);
+  }
+
+  public void add(int position, StacklessErrorDescriptor error) {
+    if (position < 0) {
+      throw new IllegalArgumentException("position must not be negative: " + position);
+    }
+    Objects.requireNonNull(error, "error");
+    markOrdinal(error.ordinal());
+    int slot = reserve(1);
+    if (slot >= 0) {
+      store(slot, position, error);
+    }
+  }
+
+  @Override
+  public void addAllDescriptors(Collection<? extends StacklessErrorDescriptor> errors) {
+    Object[] added = Objects.requireNonNull(errors, "errors").toArray();
+    for (Object error : added) {
+      markOrdinal(((StacklessErrorDescriptor) Objects.requireNonNull(error, "error")).ordinal());
+    }
+    int start = reserve(added.length);
+    for (int i = 0; start >= 0 && i < added.length && start + i < limit; i++) {
+      StacklessErrorDescriptor error = (StacklessErrorDescriptor) added[i];
+      store(start + i, UNPOSITIONED, error);
+    }
+  }
+
+  @Override
+  public void merge(StacklessContainerException other) {
+    Objects.requireNonNull(other, "other");
+    if (other == this) {
+      return;
+    }
+    for (int ordinal = 0, count = StacklessErrorCatalog.size(); ordinal < count; ordinal++) {
+      if (other.containsOrdinal(ordinal)) {
+        markOrdinal(ordinal);
+      }
+    }
+    StacklessConcurrentContainerException source = other instanceof StacklessConcurrentContainerException ? (StacklessConcurrentContainerException) other : null;
+    int[] sourceOrder = source == null ? null : source.order();
+    List<StacklessErrorDescriptor> items = source == null ? other.descriptors() : null;
+    int count = sourceOrder == null ? items.size() : sourceOrder.length;
+    int start = reserve(count);
+    for (int i = 0; start >= 0 && i < count && start + i < limit; i++) {
+      if (sourceOrder == null) {
+        store(start + i, UNPOSITIONED, items.get(i));
+      } else {
+        store(start + i, source.positionAt(sourceOrder[i]), source.slotAt(sourceOrder[i]));
+      }
+    }
+    suppressed.add(other.suppressedCount());
+  }
+
+  @Override
+  public int size() {
+    return order().length;
+  }
+
+  @Override
+  public StacklessErrorDescriptor descriptorAt(int index) {
+    int[] order = order();
+    return slotAt(order[Objects.checkIndex(index, order.length)]);
+  }
+
+  @Override
+  public List<StacklessErrorDescriptor> descriptors() {
+    int[] order = order();
+    return new AbstractList<StacklessErrorDescriptor>() {
+      @Override
+      public StacklessErrorDescriptor get(int index) {
+        return slotAt(order[Objects.checkIndex(index, order.length)]);
+      }
+
+      @Override
+      public int size() {
+        return order.length;
+      }
+    };
+  }
+
+  @Override
+  public StacklessException errorAt(int index) {
+    int[] order = order();
+    return materializeSlot(order[Objects.checkIndex(index, order.length)]);
+  }
+
+  @Override
+  public void forEachError(Consumer<? super StacklessException> action) {
+    Objects.requireNonNull(action, "action");
+    for (int slot : order()) {
+      action.accept(materializeSlot(slot));
+    }
+  }
+
+  @Override
+  public List<StacklessException> errors() {
+    int[] order = order();
+    StacklessException[] snapshot = new StacklessException[order.length];
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = materializeSlot(order[i]);
+    }
+    return List.of(snapshot);
+  }
+
+  @Override
+  public long suppressedCount() {
+    return suppressed.sum();
+  }
+
+  @Override
+  public boolean containsOrdinal(int ordinal) {
+    return (ordinals.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+  }
+
+  private void markOrdinal(int ordinal) {
+    long bit = 1L << ordinal;
+    if ((ordinals.get(ordinal >>> 6) & bit) == 0) {
+      ordinals.accumulateAndGet(ordinal >>> 6, bit, (left, right) -> left | right);
+    }
+  }
+
+  private int reserve(int count) {
+    int start;
+    int accepted;
+    do {
+      start = reserved.get();
+      accepted = Math.min(count, limit - start);
+      if (accepted <= 0) {
+        suppressed.add(count);
+        return -1;
+      }
+    } while (!reserved.compareAndSet(start, start + accepted));
+    if (accepted < count) {
+      suppressed.add(count - accepted);
+    }
+    return start;
+  }
+
+  private void store(int slot, int position, StacklessErrorDescriptor error) {
+    int biased = slot + FIRST_CHUNK_SIZE;
+    int index = chunkOf(biased);
+    Chunk chunk = chunks.getAcquire(index);
+    if (chunk == null) {
+      Chunk created = new Chunk(FIRST_CHUNK_SIZE << index);
+      chunk = chunks.compareAndExchange(index, null, created);
+      if (chunk == null) {
+        chunk = created;
+      }
+    }
+    int offset = biased - Integer.highestOneBit(biased);
+    chunk.positions[offset] = position;
+    chunk.slots.setRelease(offset, error);
+  }
+
+  private StacklessErrorDescriptor slotAt(int slot) {
+    int biased = slot + FIRST_CHUNK_SIZE;
+    Chunk chunk = chunks.getAcquire(chunkOf(biased));
+    return chunk == null ? null : chunk.slots.getAcquire(biased - Integer.highestOneBit(biased));
+  }
+
+  private int positionAt(int slot) {
+    int biased = slot + FIRST_CHUNK_SIZE;
+    return chunks.getAcquire(chunkOf(biased)).positions[biased - Integer.highestOneBit(biased)];
+  }
+
+  private StacklessException materializeSlot(int slot) {
+    int biased = slot + FIRST_CHUNK_SIZE;
+    AtomicReferenceArray<StacklessErrorDescriptor> slots = chunks.getAcquire(chunkOf(biased)).slots;
+    int offset = biased - Integer.highestOneBit(biased);
+    StacklessErrorDescriptor error = slots.getAcquire(offset);
+    if (error instanceof StacklessException) {
+      return (StacklessException) error;
+    }
+    StacklessException exception = error.toException();
+    StacklessErrorDescriptor witness = slots.compareAndExchange(offset, error, exception);
+    return witness == error ? exception : (StacklessException) witness;
+  }
+
+  private int[] order() {
+    while (true) {
+      int[] current = order.get();
+      int published = current.length;
+      int count = reserved.get();
+      while (published < count && slotAt(published) != null) {
+        published++;
+      }
+      if (published == current.length) {
+        return current;
+      }
+      int[] next = extendOrder(current, published);
+      if (order.compareAndSet(current, next)) {
+        return next;
+      }
+    }
+  }
+
+  private int[] extendOrder(int[] current, int published) {
+    int[] next = Arrays.copyOf(current, published);
+    int last = current.length == 0 ? 0 : positionAt(current[current.length - 1]);
+    boolean inOrder = true;
+    for (int slot = current.length; slot < published; slot++) {
+      int position = positionAt(slot);
+      inOrder &= position >= last;
+      last = position;
+      next[slot] = slot;
+    }
+    if (inOrder) {
+      return next;
+    }
+    long[] keys = new long[published];
+    for (int slot = 0; slot < published; slot++) {
+      keys[slot] = (long) positionAt(slot) << 32 | slot;
+    }
+    Arrays.sort(keys);
+    for (int i = 0; i < published; i++) {
+      next[i] = (int) keys[i];
+    }
+    return next;
+  }
+
+  private static int chunkOf(int biased) {
+    return 31 - Integer.numberOfLeadingZeros(biased) - FIRST_CHUNK_BITS;
+  }
+
+  private static final class Chunk {
+    final AtomicReferenceArray<StacklessErrorDescriptor> slots;
+
+    final int[] positions;
+
+    Chunk(int size) {
+      this.slots = new AtomicReferenceArray<>(size);
+      this.positions = new int[size];
+    }
+  }
+}
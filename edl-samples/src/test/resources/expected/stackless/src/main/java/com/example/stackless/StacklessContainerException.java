@@ -0,0 +1,387 @@
+package com.example.stackless;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.Appendable;
+import java.lang.IllegalArgumentException;
+import java.lang.Integer;
+import java.lang.RuntimeException;
+import java.lang.String;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public abstract class StacklessContainerException extends RuntimeException {
+  private static final byte[][] JSON_CHUNKS = StacklessJson.utf8("{\"Error\":[", "]}", "{\"Source\":\"stackless-service\",\"ReasonCode\":", ",\"Description\":", ",\"Details\":", ",\"Recoverable\":", "}");
+
+  private final int httpStatus;
+
+  private final int maxErrors;
+
+  private final boolean deduplicate;
+
+  private final List<StacklessErrorDescriptor> errors = new ArrayList<>();
+
+  private final List<StacklessErrorDescriptor> descriptors = Collections.unmodifiableList(errors);
+
+  private final BitSet ordinals = new BitSet(StacklessErrorCatalog.size());
+
+  private long suppressed;
+
+  private int[] repeats;
+
+  private int[] dedupSlots;
+
+  protected StacklessContainerException(int httpStatus, boolean writableStackTrace) {
+    this(httpStatus, writableStackTrace, Integer.MAX_VALUE, false);
+  }
+
+  protected StacklessContainerException(int httpStatus, boolean writableStackTrace, int maxErrors,
+      boolean deduplicate) {
+    super(null, null, true, writableStackTrace);
+    this.httpStatus = httpStatus;
+    if (maxErrors < 1) {
+      throw new IllegalArgumentException("maxErrors must be at least 1: " + maxErrors);
+    }
+    this.maxErrors = maxErrors;
+    this.deduplicate = deduplicate;
+  }
+
+  public void add(StacklessException error) {
+    add((StacklessErrorDescriptor) error);
+  }
+
+  public void add(StacklessErrorDescriptor error) {
+    add(Objects.requireNonNull(error, "error"), 1);
+  }
+
+  public void addAll(Collection<? extends StacklessException> errors) {
+    addAllDescriptors(errors);
+  }
+
+  public void addAllDescriptors(Collection<? extends StacklessErrorDescriptor> errors) {
+    for (StacklessErrorDescriptor error : Objects.requireNonNull(errors, "errors")) {
+      add(error);
+    }
+  }
+
+  public void merge(StacklessContainerException other) {
+    Objects.requireNonNull(other, "other");
+    if (other == this) {
+      return;
+    }
+    List<StacklessErrorDescriptor> items = other.descriptors();
+    for (int i = 0, count = items.size(); i < count; i++) {
+      add(items.get(i), other.occurrences(i));
+    }
+    suppressed += other.suppressedCount();
+    for (int ordinal = 0, count = StacklessErrorCatalog.size(); ordinal < count; ordinal++) {
+      if (other.containsOrdinal(ordinal)) {
+        ordinals.set(ordinal);
+      }
+    }
+  }
+
+  public void throwIfNotEmpty() {
+    if (!isEmpty()) {
+      throw this;
+    }
+  }
+
+  public int size() {
+    return errors.size();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public StacklessException errorAt(int index) {
+    StacklessErrorDescriptor error = descriptorAt(index);
+    if (error instanceof StacklessException) {
+      return (StacklessException) error;
+    }
+    return materialize(index, error);
+  }
+
+  StacklessException materialize(int index, StacklessErrorDescriptor error) {
+    StacklessException exception = error.toException();
+    errors.set(index, exception);
+    return exception;
+  }
+
+  public StacklessErrorDescriptor descriptorAt(int index) {
+    return errors.get(index);
+  }
+
+  public List<StacklessErrorDescriptor> descriptors() {
+    return descriptors;
+  }
+
+  public int occurrences(int index) {
+    Objects.checkIndex(index, size());
+    return repeats == null ? 1 : repeats[index] + 1;
+  }
+
+  public long suppressedCount() {
+    return suppressed;
+  }
+
+  public int maxErrors() {
+    return maxErrors;
+  }
+
+  public boolean containsOrdinal(int ordinal) {
+    return ordinals.get(ordinal);
+  }
+
+  public boolean containsCode(String code) {
+    int ordinal = StacklessErrorCatalog.ordinalOf(code);
+    return ordinal >= 0 && containsOrdinal(ordinal);
+  }
+
+  public void forEachError(Consumer<? super StacklessException> action) {
+    Objects.requireNonNull(action, "action");
+    for (int i = 0, count = size(); i < count; i++) {
+      action.accept(errorAt(i));
+    }
+  }
+
+  public List<StacklessException> errors() {
+    StacklessException[] snapshot = new StacklessException[size()];
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = errorAt(i);
+    }
+    return List.of(snapshot);
+  }
+
+  public int httpStatus() {
+    return httpStatus;
+  }
+
+  private void add(StacklessErrorDescriptor error, int times) {
+    ordinals.set(error.ordinal());
+    int hash = 0;
+    if (deduplicate) {
+      hash = error.errorHash();
+      int existing = indexOfSame(error, hash);
+      if (existing >= 0) {
+        repeats[existing] += times;
+        return;
+      }
+    }
+    if (errors.size() >= maxErrors) {
+      suppressed += times;
+      return;
+    }
+    errors.add(error);
+    if (deduplicate) {
+      remember(errors.size() - 1, hash);
+      repeats[errors.size() - 1] = times - 1;
+    }
+  }
+
+  private int indexOfSame(StacklessErrorDescriptor error, int hash) {
+    if (dedupSlots == null) {
+      return -1;
+    }
+    int mask = dedupSlots.length - 1;
+    for (int slot = spread(hash) & mask; dedupSlots[slot] != 0; slot = (slot + 1) & mask) {
+      int index = dedupSlots[slot] - 1;
+      if (errors.get(index).sameError(error)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private void remember(int index, int hash) {
+    if (repeats == null || index >= repeats.length) {
+      repeats = repeats == null ? new int[16] : Arrays.copyOf(repeats, repeats.length * 2);
+    }
+    if (dedupSlots == null || (index + 1) * 2 > dedupSlots.length) {
+      dedupSlots = new int[dedupSlots == null ? 32 : dedupSlots.length * 2];
+      for (int i = 0; i < index; i++) {
+        insertSlot(i, errors.get(i).errorHash());
+      }
+    }
+    insertSlot(index, hash);
+  }
+
+  private void insertSlot(int index, int hash) {
+    int mask = dedupSlots.length - 1;
+    int slot = spread(hash) & mask;
+    while (dedupSlots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    dedupSlots[slot] = index + 1;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  public void writeJson(Appendable out) throws IOException {
+    List<StacklessErrorDescriptor> items = descriptors();
+    out.append("{\"Error\":[");
+    for (int i = 0, count = items.size(); i < count; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      writeItem(out, items.get(i));
+    }
+    out.append("]}");
+  }
+
+  public void writeJson(OutputStream out) throws IOException {
+    List<StacklessErrorDescriptor> items = descriptors();
+    out.write(JSON_CHUNKS[0]);
+    for (int i = 0, count = items.size(); i < count; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      writeItem(out, items.get(i));
+    }
+    out.write(JSON_CHUNKS[1]);
+  }
+
+  public byte[] toJsonBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    try {
+      writeJson(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeItem(Appendable out, StacklessErrorDescriptor error) throws IOException {
+    if (error instanceof ValidationException) {
+      ValidationException item = (ValidationException) error;
+      out.append("{\"Source\":\"stackless-service\",\"ReasonCode\":");
+      out.append(StacklessException.CODE_JSON[item.ordinal()]);
+      out.append(",\"Description\":");
+      StacklessJson.writeString(out, item.description());
+      out.append(",\"Details\":");
+      StacklessJson.writeString(out, item.detail());
+      out.append(",\"Recoverable\":");
+      StacklessJson.writeBoolean(out, item.recoverable());
+      out.append("}");
+      return;
+    }
+    if (error instanceof StacklessError.ValidationError) {
+      StacklessError.ValidationError item = (StacklessError.ValidationError) error;
+      out.append("{\"Source\":\"stackless-service\",\"ReasonCode\":");
+      out.append(StacklessException.CODE_JSON[item.ordinal()]);
+      out.append(",\"Description\":");
+      StacklessJson.writeString(out, item.description());
+      out.append(",\"Details\":");
+      StacklessJson.writeString(out, item.detail());
+      out.append(",\"Recoverable\":");
+      StacklessJson.writeBoolean(out, item.recoverable());
+      out.append("}");
+      return;
+    }
+    if (error instanceof InternalException) {
+      InternalException item = (InternalException) error;
+      out.append("{\"Source\":\"stackless-service\",\"ReasonCode\":");
+      out.append(StacklessException.CODE_JSON[item.ordinal()]);
+      out.append(",\"Description\":");
+      StacklessJson.writeString(out, item.description());
+      out.append(",\"Details\":");
+      StacklessJson.writeString(out, item.detail());
+      out.append("}");
+      return;
+    }
+    if (error instanceof StacklessError.InternalError) {
+      StacklessError.InternalError item = (StacklessError.InternalError) error;
+      out.append("{\"Source\":\"stackless-service\",\"ReasonCode\":");
+      out.append(StacklessException.CODE_JSON[item.ordinal()]);
+      out.append(",\"Description\":");
+      StacklessJson.writeString(out, item.description());
+      out.append(",\"Details\":");
+      StacklessJson.writeString(out, item.detail());
+      out.append("}");
+      return;
+    }
+    StacklessErrorDescriptor item = error;
+    out.append("{\"Source\":\"stackless-service\",\"ReasonCode\":");
+    out.append(StacklessException.CODE_JSON[item.ordinal()]);
+    out.append(",\"Description\":");
+    StacklessJson.writeString(out, item.description());
+    out.append(",\"Details\":");
+    StacklessJson.writeString(out, item.detail());
+    out.append(",\"Recoverable\":");
+    StacklessJson.writeBoolean(out, item.recoverable());
+    out.append("}");
+  }
+
+  private static void writeItem(OutputStream out, StacklessErrorDescriptor error) throws
+      IOException {
+    if (error instanceof ValidationException) {
+      ValidationException item = (ValidationException) error;
+      out.write(JSON_CHUNKS[2]);
+      out.write(StacklessException.CODE_JSON_UTF8[item.ordinal()]);
+      out.write(JSON_CHUNKS[3]);
+      StacklessJson.writeString(out, item.description());
+      out.write(JSON_CHUNKS[4]);
+      StacklessJson.writeString(out, item.detail());
+      out.write(JSON_CHUNKS[5]);
+      StacklessJson.writeBoolean(out, item.recoverable());
+      out.write(JSON_CHUNKS[6]);
+      return;
+    }
+    if (error instanceof StacklessError.ValidationError) {
+      StacklessError.ValidationError item = (StacklessError.ValidationError) error;
+      out.write(JSON_CHUNKS[2]);
+      out.write(StacklessException.CODE_JSON_UTF8[item.ordinal()]);
+      out.write(JSON_CHUNKS[3]);
+      StacklessJson.writeString(out, item.description());
+      out.write(JSON_CHUNKS[4]);
+      StacklessJson.writeString(out, item.detail());
+      out.write(JSON_CHUNKS[5]);
+      StacklessJson.writeBoolean(out, item.recoverable());
+      out.write(JSON_CHUNKS[6]);
+      return;
+    }
+    if (error instanceof InternalException) {
+      InternalException item = (InternalException) error;
+      out.write(JSON_CHUNKS[2]);
+      out.write(StacklessException.CODE_JSON_UTF8[item.ordinal()]);
+      out.write(JSON_CHUNKS[3]);
+      StacklessJson.writeString(out, item.description());
+      out.write(JSON_CHUNKS[4]);
+      StacklessJson.writeString(out, item.detail());
+      out.write(JSON_CHUNKS[6]);
+      return;
+    }
+    if (error instanceof StacklessError.InternalError) {
+      StacklessError.InternalError item = (StacklessError.InternalError) error;
+      out.write(JSON_CHUNKS[2]);
+      out.write(StacklessException.CODE_JSON_UTF8[item.ordinal()]);
+      out.write(JSON_CHUNKS[3]);
+      StacklessJson.writeString(out, item.description());
+      out.write(JSON_CHUNKS[4]);
+      StacklessJson.writeString(out, item.detail());
+      out.write(JSON_CHUNKS[6]);
+      return;
+    }
+    StacklessErrorDescriptor item = error;
+    out.write(JSON_CHUNKS[2]);
+    out.write(StacklessException.CODE_JSON_UTF8[item.ordinal()]);
+    out.write(JSON_CHUNKS[3]);
+    StacklessJson.writeString(out, item.description());
+    out.write(JSON_CHUNKS[4]);
+    StacklessJson.writeString(out, item.detail());
+    out.write(JSON_CHUNKS[5]);
+    StacklessJson.writeBoolean(out, item.recoverable());
+    out.write(JSON_CHUNKS[6]);
+  }
+}
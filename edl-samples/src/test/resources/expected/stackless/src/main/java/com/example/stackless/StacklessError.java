@@ -0,0 +1,715 @@
+package com.example.stackless;
+
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.util.Objects;
+
+public abstract sealed class StacklessError implements StacklessErrorDescriptor {
+  private static final String SOURCE = "stackless-service";
+
+  private StacklessError() {
+  }
+
+  @Override
+  public String source() {
+    return SOURCE;
+  }
+
+  public static InvalidNameError invalidName(String name) {
+    Objects.requireNonNull(name, "name");
+    return new InvalidNameError(name);
+  }
+
+  public static MissingNameError missingName() {
+    return MissingNameError.INSTANCE;
+  }
+
+  public static InternalFailureError internalFailure(String reason) {
+    Objects.requireNonNull(reason, "reason");
+    return new InternalFailureError(reason);
+  }
+
+  public static UpstreamTimeoutError upstreamTimeout(String service) {
+    Objects.requireNonNull(service, "service");
+    return new UpstreamTimeoutError(service);
+  }
+
+  public static PartnerRejectedError partnerRejected(String partner) {
+    Objects.requireNonNull(partner, "partner");
+    return new PartnerRejectedError(partner);
+  }
+
+  public abstract static sealed class ValidationError extends StacklessError {
+    private ValidationError() {
+    }
+
+    @Override
+    public abstract ValidationException toException();
+  }
+
+  public abstract static sealed class InternalError extends StacklessError {
+    private InternalError() {
+    }
+
+    @Override
+    public abstract InternalException toException();
+  }
+
+  public abstract static sealed class IntegrationError extends StacklessError {
+    private IntegrationError() {
+    }
+
+    @Override
+    public abstract IntegrationException toException();
+  }
+
+  public static final class InvalidNameError extends ValidationError {
+    private static final int ORDINAL = InvalidNameException.ORDINAL;
+
+    private static final StacklessException.Kind KIND = StacklessException.Kind.INVALID_NAME;
+
+    private static final boolean RECOVERABLE = InvalidNameException.RECOVERABLE;
+
+    private static final String CODE = "VAL0001";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details", "recoverable"};
+
+    private static final String[] DETAIL_KEYS = {"name"};
+
+    private final String name;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private InvalidNameError(String name) {
+      this.name = name;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public StacklessException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = InvalidNameException.renderDescription(new StringBuilder(29), name).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = InvalidNameException.renderDetail(new StringBuilder(32), name).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public StacklessException.FieldView errorInfo() {
+      return new StacklessException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return InvalidNameError.this.source();
+            case 1: return InvalidNameError.this.code();
+            case 2: return InvalidNameError.this.description();
+            case 3: return InvalidNameError.this.detail();
+            case 4: return InvalidNameError.this.recoverable();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public StacklessException.FieldView details() {
+      return new StacklessException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return InvalidNameError.this.name;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(StacklessErrorDescriptor other) {
+      if (other instanceof InvalidNameException) {
+        InvalidNameException that = (InvalidNameException) other;
+        return Objects.equals(name(), that.name());
+      }
+      if (other instanceof InvalidNameError) {
+        InvalidNameError that = (InvalidNameError) other;
+        return Objects.equals(name(), that.name());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(name());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof InvalidNameError && sameError((InvalidNameError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public InvalidNameException toException() {
+      return new InvalidNameException(name, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+
+  public static final class MissingNameError extends ValidationError {
+    private static final int ORDINAL = MissingNameException.ORDINAL;
+
+    private static final StacklessException.Kind KIND = StacklessException.Kind.MISSING_NAME;
+
+    private static final boolean RECOVERABLE = MissingNameException.RECOVERABLE;
+
+    private static final String CODE = "VAL0002";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details", "recoverable"};
+
+    private static final MissingNameError INSTANCE = new MissingNameError();
+
+    private static final String[] DETAIL_KEYS = {};
+
+    private MissingNameError() {
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public StacklessException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      return MissingNameException.DESCRIPTION_TEMPLATE;
+    }
+
+    @Override
+    public String detail() {
+      return MissingNameException.DETAIL_TEMPLATE;
+    }
+
+    @Override
+    public StacklessException.FieldView errorInfo() {
+      return new StacklessException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return MissingNameError.this.source();
+            case 1: return MissingNameError.this.code();
+            case 2: return MissingNameError.this.description();
+            case 3: return MissingNameError.this.detail();
+            case 4: return MissingNameError.this.recoverable();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public StacklessException.FieldView details() {
+      return new StacklessException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(StacklessErrorDescriptor other) {
+      return other.ordinal() == ORDINAL;
+    }
+
+    @Override
+    public int errorHash() {
+      return ORDINAL;
+    }
+
+    @Override
+    public MissingNameException toException() {
+      return new MissingNameException(null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+
+  public static final class InternalFailureError extends InternalError {
+    private static final int ORDINAL = InternalFailureException.ORDINAL;
+
+    private static final StacklessException.Kind KIND = StacklessException.Kind.INTERNAL_FAILURE;
+
+    private static final boolean RECOVERABLE = InternalFailureException.RECOVERABLE;
+
+    private static final String CODE = "INT0001";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
+
+    private static final String[] DETAIL_KEYS = {"reason"};
+
+    private final String reason;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private InternalFailureError(String reason) {
+      this.reason = reason;
+    }
+
+    public String reason() {
+      return reason;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public StacklessException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = InternalFailureException.renderDescription(new StringBuilder(33), reason).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = InternalFailureException.renderDetail(new StringBuilder(33), reason).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public StacklessException.FieldView errorInfo() {
+      return new StacklessException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return InternalFailureError.this.source();
+            case 1: return InternalFailureError.this.code();
+            case 2: return InternalFailureError.this.description();
+            case 3: return InternalFailureError.this.detail();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public StacklessException.FieldView details() {
+      return new StacklessException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return InternalFailureError.this.reason;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(StacklessErrorDescriptor other) {
+      if (other instanceof InternalFailureException) {
+        InternalFailureException that = (InternalFailureException) other;
+        return Objects.equals(reason(), that.reason());
+      }
+      if (other instanceof InternalFailureError) {
+        InternalFailureError that = (InternalFailureError) other;
+        return Objects.equals(reason(), that.reason());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(reason());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof InternalFailureError && sameError((InternalFailureError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public InternalFailureException toException() {
+      return new InternalFailureException(reason, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+
+  public static final class UpstreamTimeoutError extends InternalError {
+    private static final int ORDINAL = UpstreamTimeoutException.ORDINAL;
+
+    private static final StacklessException.Kind KIND = StacklessException.Kind.UPSTREAM_TIMEOUT;
+
+    private static final boolean RECOVERABLE = UpstreamTimeoutException.RECOVERABLE;
+
+    private static final String CODE = "INT0002";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
+
+    private static final String[] DETAIL_KEYS = {"service"};
+
+    private final String service;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private UpstreamTimeoutError(String service) {
+      this.service = service;
+    }
+
+    public String service() {
+      return service;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public StacklessException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = UpstreamTimeoutException.renderDescription(new StringBuilder(35), service).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = UpstreamTimeoutException.renderDetail(new StringBuilder(35), service).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public StacklessException.FieldView errorInfo() {
+      return new StacklessException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return UpstreamTimeoutError.this.source();
+            case 1: return UpstreamTimeoutError.this.code();
+            case 2: return UpstreamTimeoutError.this.description();
+            case 3: return UpstreamTimeoutError.this.detail();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public StacklessException.FieldView details() {
+      return new StacklessException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return UpstreamTimeoutError.this.service;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(StacklessErrorDescriptor other) {
+      if (other instanceof UpstreamTimeoutException) {
+        UpstreamTimeoutException that = (UpstreamTimeoutException) other;
+        return Objects.equals(service(), that.service());
+      }
+      if (other instanceof UpstreamTimeoutError) {
+        UpstreamTimeoutError that = (UpstreamTimeoutError) other;
+        return Objects.equals(service(), that.service());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(service());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof UpstreamTimeoutError && sameError((UpstreamTimeoutError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public UpstreamTimeoutException toException() {
+      return new UpstreamTimeoutException(service, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+
+  public static final class PartnerRejectedError extends IntegrationError {
+    private static final int ORDINAL = PartnerRejectedException.ORDINAL;
+
+    private static final StacklessException.Kind KIND = StacklessException.Kind.PARTNER_REJECTED;
+
+    private static final boolean RECOVERABLE = PartnerRejectedException.RECOVERABLE;
+
+    private static final String CODE = "INTG0001";
+
+    private static final String[] INFO_KEYS = {"source", "code", "description", "details"};
+
+    private static final String[] DETAIL_KEYS = {"partner"};
+
+    private final String partner;
+
+    private String renderedDescription;
+
+    private String renderedDetail;
+
+    private PartnerRejectedError(String partner) {
+      this.partner = partner;
+    }
+
+    public String partner() {
+      return partner;
+    }
+
+    @Override
+    public int ordinal() {
+      return ORDINAL;
+    }
+
+    @Override
+    public StacklessException.Kind kind() {
+      return KIND;
+    }
+
+    @Override
+    public String code() {
+      return CODE;
+    }
+
+    @Override
+    public boolean recoverable() {
+      return RECOVERABLE;
+    }
+
+    @Override
+    public String description() {
+      String rendered = renderedDescription;
+      if (rendered == null) {
+        rendered = PartnerRejectedException.renderDescription(new StringBuilder(45), partner).toString();
+        renderedDescription = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public String detail() {
+      String rendered = renderedDetail;
+      if (rendered == null) {
+        rendered = PartnerRejectedException.renderDetail(new StringBuilder(45), partner).toString();
+        renderedDetail = rendered;
+      }
+      return rendered;
+    }
+
+    @Override
+    public StacklessException.FieldView errorInfo() {
+      return new StacklessException.FieldView(INFO_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return PartnerRejectedError.this.source();
+            case 1: return PartnerRejectedError.this.code();
+            case 2: return PartnerRejectedError.this.description();
+            case 3: return PartnerRejectedError.this.detail();
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public StacklessException.FieldView details() {
+      return new StacklessException.FieldView(DETAIL_KEYS) {
+        @Override
+        public Object valueAt(int index) {
+          switch (index) {
+            case 0: return PartnerRejectedError.this.partner;
+            default: throw new IndexOutOfBoundsException(index);
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean sameError(StacklessErrorDescriptor other) {
+      if (other instanceof PartnerRejectedException) {
+        PartnerRejectedException that = (PartnerRejectedException) other;
+        return Objects.equals(partner(), that.partner());
+      }
+      if (other instanceof PartnerRejectedError) {
+        PartnerRejectedError that = (PartnerRejectedError) other;
+        return Objects.equals(partner(), that.partner());
+      }
+      return false;
+    }
+
+    @Override
+    public int errorHash() {
+      int hash = ORDINAL;
+      hash = 31 * hash + Objects.hashCode(partner());
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof PartnerRejectedError && sameError((PartnerRejectedError) other);
+    }
+
+    @Override
+    public int hashCode() {
+      return errorHash();
+    }
+
+    @Override
+    public PartnerRejectedException toException() {
+      return new PartnerRejectedException(partner, null);
+    }
+
+    @Override
+    public String toString() {
+      return CODE + ": " + description();
+    }
+  }
+}
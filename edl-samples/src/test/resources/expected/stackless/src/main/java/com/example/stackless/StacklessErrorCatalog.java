@@ -0,0 +1,102 @@
+package com.example.stackless;
+
+import java.lang.String;
+import java.util.Arrays;
+import java.util.Objects;
+
+public final class StacklessErrorCatalog {
+  private static final Entry[] ENTRIES = {
+    new Entry(0, "VAL0001", "Validation", 400, false, false, "Invalid name {name}", "Name {name} is invalid"),
+    new Entry(1, "VAL0002", "Validation", 400, false, false, "Missing name", "Name is required"),
+    new Entry(2, "INT0001", "Internal", 500, false, false, "Internal failure {reason}", "Internal failure {reason}"),
+    new Entry(3, "INT0002", "Internal", 500, false, false, "Upstream {service} timed out", "Upstream {service} timed out"),
+    new Entry(4, "INTG0001", "Integration", 502, false, false, "Partner {partner} rejected the request", "Partner {partner} rejected the request")
+  };
+
+  private static final String[] SORTED_CODES = {"INT0001", "INT0002", "INTG0001", "VAL0001", "VAL0002"};
+
+  private static final int[] SORTED_ORDINALS = {2, 3, 4, 0, 1};
+
+  private StacklessErrorCatalog() {
+  }
+
+  public static int size() {
+    return ENTRIES.length;
+  }
+
+  public static Entry byOrdinal(int ordinal) {
+    return ENTRIES[Objects.checkIndex(ordinal, ENTRIES.length)];
+  }
+
+  public static int ordinalOf(String code) {
+    int index = Arrays.binarySearch(SORTED_CODES, Objects.requireNonNull(code, "code"));
+    return index < 0 ? -1 : SORTED_ORDINALS[index];
+  }
+
+  public static Entry byCode(String code) {
+    int ordinal = ordinalOf(code);
+    return ordinal < 0 ? null : ENTRIES[ordinal];
+  }
+
+  public static final class Entry {
+    private final int ordinal;
+
+    private final String code;
+
+    private final String category;
+
+    private final int httpStatus;
+
+    private final boolean recoverable;
+
+    private final boolean retryable;
+
+    private final String descriptionTemplate;
+
+    private final String detailTemplate;
+
+    private Entry(int ordinal, String code, String category, int httpStatus, boolean recoverable,
+        boolean retryable, String descriptionTemplate, String detailTemplate) {
+      this.ordinal = ordinal;
+      this.code = code;
+      this.category = category;
+      this.httpStatus = httpStatus;
+      this.recoverable = recoverable;
+      this.retryable = retryable;
+      this.descriptionTemplate = descriptionTemplate;
+      this.detailTemplate = detailTemplate;
+    }
+
+    public int ordinal() {
+      return ordinal;
+    }
+
+    public String code() {
+      return code;
+    }
+
+    public String category() {
+      return category;
+    }
+
+    public int httpStatus() {
+      return httpStatus;
+    }
+
+    public boolean recoverable() {
+      return recoverable;
+    }
+
+    public boolean retryable() {
+      return retryable;
+    }
+
+    public String descriptionTemplate() {
+      return descriptionTemplate;
+    }
+
+    public String detailTemplate() {
+      return detailTemplate;
+    }
+  }
+}
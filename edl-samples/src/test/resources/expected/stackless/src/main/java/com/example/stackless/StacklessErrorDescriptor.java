@@ -0,0 +1,29 @@
+package com.example.stackless;
+
+import java.lang.String;
+
+public interface StacklessErrorDescriptor {
+  int ordinal();
+
+  StacklessException.Kind kind();
+
+  String code();
+
+  String source();
+
+  String description();
+
+  String detail();
+
+  boolean recoverable();
+
+  StacklessException.FieldView errorInfo();
+
+  StacklessException.FieldView details();
+
+  int errorHash();
+
+  StacklessException toException();
+
+  boolean sameError(StacklessErrorDescriptor other);
+}
@@ -0,0 +1,38 @@
+package com.example.stackless;
+
+import java.lang.String;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.stackless.StacklessError")
+@Label("Stackless Error")
+@Category({"EDL", "stackless-service"})
+@StackTrace(true)
+public final class StacklessErrorEvent extends Event {
+  @Label("Code")
+  String code;
+
+  @Label("Category")
+  String category;
+
+  @Label("HTTP Status")
+  int httpStatus;
+
+  @Label("Recoverable")
+  boolean recoverable;
+
+  static void emit(int ordinal) {
+    StacklessErrorEvent event = new StacklessErrorEvent();
+    if (event.isEnabled()) {
+      StacklessErrorCatalog.Entry entry = StacklessErrorCatalog.byOrdinal(ordinal);
+      event.code = entry.code();
+      event.category = entry.category();
+      event.httpStatus = entry.httpStatus();
+      event.recoverable = entry.recoverable();
+      event.commit();
+    }
+  }
+}
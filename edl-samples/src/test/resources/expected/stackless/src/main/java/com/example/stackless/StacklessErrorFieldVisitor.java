@@ -0,0 +1,20 @@
+package com.example.stackless;
+
+import java.lang.Object;
+import java.lang.String;
+
+public interface StacklessErrorFieldVisitor {
+  void onString(String name, String value);
+
+  void onInt(String name, int value);
+
+  void onLong(String name, long value);
+
+  void onDouble(String name, double value);
+
+  void onBoolean(String name, boolean value);
+
+  void onChar(String name, char value);
+
+  void onObject(String name, Object value);
+}
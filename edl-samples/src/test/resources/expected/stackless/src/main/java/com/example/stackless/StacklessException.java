@@ -0,0 +1,312 @@
+package com.example.stackless;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.Appendable;
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.RuntimeException;
+import java.lang.StackTraceElement;
+import java.lang.StackWalker;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.lang.Throwable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public abstract class StacklessException extends RuntimeException implements StacklessErrorDescriptor {
+  private static final String SOURCE = "stackless-service";
+
+  private static final FieldView EMPTY_DETAILS = new FieldView(new String[0]) {
+    @Override
+    public Object valueAt(int index) {
+      throw new IndexOutOfBoundsException(index);
+    }
+  };
+
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  static final String[] CODE_JSON = {"\"VAL0001\"", "\"VAL0002\"", "\"INT0001\"", "\"INT0002\"", "\"INTG0001\""};
+
+  static final byte[][] CODE_JSON_UTF8 = StacklessJson.utf8(CODE_JSON);
+
+  private final int ordinal;
+
+  private String renderedDescription;
+
+  private String renderedDetail;
+
+  protected StacklessException(int ordinal, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(null, cause, enableSuppression, writableStackTrace);
+    this.ordinal = ordinal;
+  }
+
+  public String code() {
+    return StacklessErrorCatalog.byOrdinal(ordinal).code();
+  }
+
+  public String descriptionTemplate() {
+    return StacklessErrorCatalog.byOrdinal(ordinal).descriptionTemplate();
+  }
+
+  public String description() {
+    String rendered = renderedDescription;
+    if (rendered == null) {
+      rendered = renderDescription();
+      renderedDescription = rendered;
+    }
+    return rendered;
+  }
+
+  public String detailTemplate() {
+    return StacklessErrorCatalog.byOrdinal(ordinal).detailTemplate();
+  }
+
+  public String detail() {
+    String rendered = renderedDetail;
+    if (rendered == null) {
+      rendered = renderDetail();
+      renderedDetail = rendered;
+    }
+    return rendered;
+  }
+
+  public StringBuilder appendDescription(StringBuilder out) {
+    String rendered = renderedDescription;
+    return rendered != null ? out.append(rendered) : renderDescription(out);
+  }
+
+  public Appendable appendDescription(Appendable out) throws IOException {
+    if (out instanceof StringBuilder) {
+      return appendDescription((StringBuilder) out);
+    }
+    return out.append(description());
+  }
+
+  public StringBuilder appendDetail(StringBuilder out) {
+    String rendered = renderedDetail;
+    return rendered != null ? out.append(rendered) : renderDetail(out);
+  }
+
+  public Appendable appendDetail(Appendable out) throws IOException {
+    if (out instanceof StringBuilder) {
+      return appendDetail((StringBuilder) out);
+    }
+    return out.append(detail());
+  }
+
+  public void formatTo(StringBuilder buffer) {
+    appendDescription(buffer.append(code()).append(": "));
+  }
+
+  @Override
+  public String getMessage() {
+    return description();
+  }
+
+  public FieldView details() {
+    return EMPTY_DETAILS;
+  }
+
+  public String source() {
+    return SOURCE;
+  }
+
+  public FieldView errorInfo() {
+    return coreValues();
+  }
+
+  public void forEachField(StacklessErrorFieldVisitor visitor) {
+    visitCoreFields(visitor);
+    visitParams(visitor);
+  }
+
+  protected void visitCoreFields(StacklessErrorFieldVisitor visitor) {
+    visitor.onString("source", SOURCE);
+    visitor.onString("code", code());
+  }
+
+  protected void visitParams(StacklessErrorFieldVisitor visitor) {
+  }
+
+  public boolean recoverable() {
+    return StacklessErrorCatalog.byOrdinal(ordinal).recoverable();
+  }
+
+  public int httpStatus() {
+    return StacklessErrorCatalog.byOrdinal(ordinal).httpStatus();
+  }
+
+  public int ordinal() {
+    return ordinal;
+  }
+
+  public abstract Kind kind();
+
+  public boolean sameError(StacklessErrorDescriptor other) {
+    return other.ordinal() == ordinal();
+  }
+
+  public int errorHash() {
+    return ordinal();
+  }
+
+  public StacklessException toException() {
+    return this;
+  }
+
+  protected abstract FieldView coreValues();
+
+  protected abstract String renderDescription();
+
+  protected abstract StringBuilder renderDescription(StringBuilder out);
+
+  protected abstract String renderDetail();
+
+  protected abstract StringBuilder renderDetail(StringBuilder out);
+
+  @Override
+  public Throwable fillInStackTrace() {
+    StackTraceSampler sampler = stackTraceSampler();
+    if (sampler == null || sampler.sampleFullTrace()) {
+      return super.fillInStackTrace();
+    }
+    int maxFrames = sampler.maxFrames();
+    setStackTrace(STACK_WALKER.walk(frames -> frames
+        .dropWhile(frame -> Throwable.class.isAssignableFrom(frame.getDeclaringClass()))
+        .limit(maxFrames)
+        .map(StackWalker.StackFrame::toStackTraceElement)
+        .toArray(StackTraceElement[]::new)));
+    return this;
+  }
+
+  protected StackTraceSampler stackTraceSampler() {
+    return null;
+  }
+
+  public abstract void writeJson(Appendable out) throws IOException;
+
+  public abstract void writeJson(OutputStream out) throws IOException;
+
+  public byte[] toJsonBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    try {
+      writeJson(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  protected static final class StackTraceSampler {
+    private final int sampleRate;
+
+    private final int maxFrames;
+
+    private final AtomicLong throwCount = new AtomicLong();
+
+    protected StackTraceSampler(int sampleRate, int maxFrames) {
+      this.sampleRate = sampleRate;
+      this.maxFrames = maxFrames;
+    }
+
+    boolean sampleFullTrace() {
+      return throwCount.getAndIncrement() % sampleRate == 0;
+    }
+
+    int maxFrames() {
+      return maxFrames;
+    }
+  }
+
+  public abstract static class FieldView extends AbstractMap<String, Object> {
+    private final String[] keys;
+
+    protected FieldView(String[] keys) {
+      this.keys = keys;
+    }
+
+    public abstract Object valueAt(int index);
+
+    public String keyAt(int index) {
+      return keys[index];
+    }
+
+    public int indexOf(Object key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i].equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public int size() {
+      return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+      int index = indexOf(key);
+      return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+      return new AbstractSet<Map.Entry<String, Object>>() {
+        @Override
+        public int size() {
+          return keys.length;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+          return new Iterator<Map.Entry<String, Object>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+              return next < keys.length;
+            }
+
+            @Override
+            public Map.Entry<String, Object> next() {
+              if (next >= keys.length) {
+                throw new NoSuchElementException();
+              }
+              int index = next++;
+              return new AbstractMap.SimpleImmutableEntry<>(keys[index], valueAt(index));
+            }
+          };
+        }
+      };
+    }
+  }
+
+  public enum Kind {
+    INVALID_NAME,
+
+    MISSING_NAME,
+
+    INTERNAL_FAILURE,
+
+    UPSTREAM_TIMEOUT,
+
+    PARTNER_REJECTED
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.stackless;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class StacklessExceptionHandler extends ExceptionHandlerBase {
+  @ExceptionHandler(StacklessException.class)
+  public ResponseEntity<byte[]> handleStacklessException(StacklessException exception) {
+    StacklessErrorStats.handled(exception.ordinal());
+    return ResponseEntity.status(exception.httpStatus()).contentType(MediaType.APPLICATION_JSON).body(exception.toJsonBytes());
+  }
+
+  @ExceptionHandler(ValidationContainerException.class)
+  public ResponseEntity<byte[]> handleValidationContainerException(
+      ValidationContainerException exception) {
+    countHandled(exception);
+    return ResponseEntity.status(exception.httpStatus()).contentType(MediaType.APPLICATION_JSON).body(exception.toJsonBytes());
+  }
+
+  @ExceptionHandler(InternalContainerException.class)
+  public ResponseEntity<byte[]> handleInternalContainerException(
+      InternalContainerException exception) {
+    countHandled(exception);
+    return ResponseEntity.status(exception.httpStatus()).contentType(MediaType.APPLICATION_JSON).body(exception.toJsonBytes());
+  }
+}
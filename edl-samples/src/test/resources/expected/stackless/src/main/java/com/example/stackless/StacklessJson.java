@@ -0,0 +1,141 @@
+package com.example.stackless;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.Appendable;
+import java.lang.Boolean;
+import java.lang.Character;
+import java.lang.Double;
+import java.lang.Float;
+import java.lang.Long;
+import java.lang.Number;
+import java.lang.Object;
+import java.lang.String;
+import java.nio.charset.StandardCharsets;
+
+final class StacklessJson {
+  private StacklessJson() {
+  }
+
+  static void writeValue(Appendable out, Object value) throws IOException {
+    if (value == null) {
+      out.append("null");
+    } else if (isLiteral(value)) {
+      out.append(value.toString());
+    } else {
+      writeString(out, value.toString());
+    }
+  }
+
+  static void writeString(Appendable out, String value) throws IOException {
+    if (value == null) {
+      out.append("null");
+      return;
+    }
+    out.append('"');
+    int start = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\' || c < 0x20) {
+        out.append(value, start, i).append(escape(c));
+        start = i + 1;
+      }
+    }
+    out.append(value, start, value.length()).append('"');
+  }
+
+  static void writeValue(OutputStream out, Object value) throws IOException {
+    if (value == null) {
+      writeAscii(out, "null");
+    } else if (isLiteral(value)) {
+      writeAscii(out, value.toString());
+    } else {
+      writeString(out, value.toString());
+    }
+  }
+
+  static void writeString(OutputStream out, String value) throws IOException {
+    if (value == null) {
+      writeAscii(out, "null");
+      return;
+    }
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\' || c < 0x20) {
+        writeAscii(out, escape(c));
+      } else if (c < 0x80) {
+        out.write(c);
+      } else if (c < 0x800) {
+        out.write(0xC0 | (c >> 6));
+        out.write(0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        out.write(0xF0 | (codePoint >> 18));
+        out.write(0x80 | ((codePoint >> 12) & 0x3F));
+        out.write(0x80 | ((codePoint >> 6) & 0x3F));
+        out.write(0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        out.write('?');
+      } else {
+        out.write(0xE0 | (c >> 12));
+        out.write(0x80 | ((c >> 6) & 0x3F));
+        out.write(0x80 | (c & 0x3F));
+      }
+    }
+    out.write('"');
+  }
+
+  static void writeBoolean(Appendable out, boolean value) throws IOException {
+    out.append(value ? "true" : "false");
+  }
+
+  static void writeLong(Appendable out, long value) throws IOException {
+    out.append(Long.toString(value));
+  }
+
+  static void writeBoolean(OutputStream out, boolean value) throws IOException {
+    writeAscii(out, value ? "true" : "false");
+  }
+
+  static void writeLong(OutputStream out, long value) throws IOException {
+    writeAscii(out, Long.toString(value));
+  }
+
+  static byte[][] utf8(String... values) {
+    byte[][] bytes = new byte[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = values[i].getBytes(StandardCharsets.UTF_8);
+    }
+    return bytes;
+  }
+
+  private static boolean isLiteral(Object value) {
+    if (value instanceof Double) {
+      return Double.isFinite((Double) value);
+    }
+    if (value instanceof Float) {
+      return Float.isFinite((Float) value);
+    }
+    return value instanceof Boolean || value instanceof Number;
+  }
+
+  private static String escape(char c) {
+    switch (c) {
+      case '"': return "\\\"";
+      case '\\': return "\\\\";
+      case '\n': return "\\n";
+      case '\r': return "\\r";
+      case '\t': return "\\t";
+      case '\b': return "\\b";
+      case '\f': return "\\f";
+      default: return String.format("\\u%04x", (int) c);
+    }
+  }
+
+  private static void writeAscii(OutputStream out, String value) throws IOException {
+    for (int i = 0; i < value.length(); i++) {
+      out.write(value.charAt(i));
+    }
+  }
+}
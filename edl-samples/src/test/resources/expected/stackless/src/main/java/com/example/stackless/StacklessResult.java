@@ -0,0 +1,75 @@
+package com.example.stackless;
+
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.util.Objects;
+import java.util.function.Function;
+
+public final class StacklessResult<T> {
+  private final T value;
+
+  private final StacklessError error;
+
+  private StacklessResult(T value, StacklessError error) {
+    this.value = value;
+    this.error = error;
+  }
+
+  public static <T> StacklessResult<T> success(T value) {
+    return new StacklessResult<>(value, null);
+  }
+
+  public static <T> StacklessResult<T> failure(StacklessError error) {
+    return new StacklessResult<>(null, Objects.requireNonNull(error, "error"));
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  public boolean isFailure() {
+    return error != null;
+  }
+
+  public T value() {
+    if (error != null) {
+      throw new IllegalStateException("No value present: " + error);
+    }
+    return value;
+  }
+
+  public StacklessError error() {
+    return error;
+  }
+
+  public T orElse(T other) {
+    return error == null ? value : other;
+  }
+
+  public T orElseThrow() {
+    if (error != null) {
+      throw error.toException();
+    }
+    return value;
+  }
+
+  public <U> StacklessResult<U> map(Function<? super T, ? extends U> mapper) {
+    return error == null ? success(mapper.apply(value)) : castFailure();
+  }
+
+  public <U> StacklessResult<U> flatMap(Function<? super T, StacklessResult<U>> mapper) {
+    return error == null ? Objects.requireNonNull(mapper.apply(value), "result") : castFailure();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <U> StacklessResult<U> castFailure() {
+    return (StacklessResult<U>) this;
+  }
+
+  @Override
+  public String toString() {
+    return error == null ? "Success[" + value + "]" : "Failure[" + error + "]";
+  }
+}
@@ -0,0 +1,178 @@
+package com.example.stackless;
+
+import java.lang.IllegalStateException;
+import java.lang.IndexOutOfBoundsException;
+import java.lang.Object;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.lang.Throwable;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public final class UpstreamTimeoutException extends InternalException {
+  public static final String ERROR_CODE = "0002";
+
+  public static final String DESCRIPTION_TEMPLATE = "Upstream {service} timed out";
+
+  public static final String DETAIL_TEMPLATE = "Upstream {service} timed out";
+
+  public static final boolean RECOVERABLE = false;
+
+  public static final int ORDINAL = 3;
+
+  public static final StacklessException.Kind KIND = StacklessException.Kind.UPSTREAM_TIMEOUT;
+
+  private static final boolean WRITABLE_STACK_TRACE = false;
+
+  private static final String[] DETAIL_KEYS = {"service"};
+
+  private final String service;
+
+  UpstreamTimeoutException(String service, Throwable cause) {
+    super(ORDINAL, cause, true, WRITABLE_STACK_TRACE);
+    this.service = service;
+    StacklessErrorStats.created(ORDINAL);
+    StacklessErrorEvent.emit(ORDINAL);
+  }
+
+  public String service() {
+    return service;
+  }
+
+  @Override
+  public StacklessException.Kind kind() {
+    return KIND;
+  }
+
+  @Override
+  protected String renderDescription() {
+    return renderDescription(new StringBuilder(35)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDescription(StringBuilder out) {
+    return renderDescription(out, service);
+  }
+
+  @Override
+  protected String renderDetail() {
+    return renderDetail(new StringBuilder(35)).toString();
+  }
+
+  @Override
+  protected StringBuilder renderDetail(StringBuilder out) {
+    return renderDetail(out, service);
+  }
+
+  static StringBuilder renderDescription(StringBuilder out, String service) {
+    return out
+        .append("Upstream ")
+        .append(service)
+        .append(" timed out");
+  }
+
+  static StringBuilder renderDetail(StringBuilder out, String service) {
+    return out
+        .append("Upstream ")
+        .append(service)
+        .append(" timed out");
+  }
+
+  @Override
+  public StacklessException.FieldView details() {
+    return new StacklessException.FieldView(DETAIL_KEYS) {
+      @Override
+      public Object valueAt(int index) {
+        switch (index) {
+          case 0: return UpstreamTimeoutException.this.service;
+          default: throw new IndexOutOfBoundsException(index);
+        }
+      }
+    };
+  }
+
+  @Override
+  public boolean sameError(StacklessErrorDescriptor other) {
+    if (other instanceof UpstreamTimeoutException) {
+      UpstreamTimeoutException that = (UpstreamTimeoutException) other;
+      return Objects.equals(service(), that.service());
+    }
+    if (other instanceof StacklessError.UpstreamTimeoutError) {
+      StacklessError.UpstreamTimeoutError that = (StacklessError.UpstreamTimeoutError) other;
+      return Objects.equals(service(), that.service());
+    }
+    return false;
+  }
+
+  @Override
+  public int errorHash() {
+    int hash = ORDINAL;
+    hash = 31 * hash + Objects.hashCode(service());
+    return hash;
+  }
+
+  @Override
+  protected void visitParams(StacklessErrorFieldVisitor visitor) {
+    super.visitParams(visitor);
+    visitor.onString("service", service);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static UpstreamTimeoutException of(String service) {
+    Objects.requireNonNull(service, "service");
+    return new UpstreamTimeoutException(service, null);
+  }
+
+  public static UpstreamTimeoutException of(String service, Throwable cause) {
+    Objects.requireNonNull(service, "service");
+    return new UpstreamTimeoutException(service, cause);
+  }
+
+  public static StacklessError.UpstreamTimeoutError descriptor(String service) {
+    return StacklessError.upstreamTimeout(service);
+  }
+
+  public static final class Builder {
+    private static final int REQUIRED = 0x1;
+
+    private String service;
+
+    private Throwable cause;
+
+    private int set;
+
+    public Builder service(String service) {
+      this.service = service;
+      set = service == null ? set & ~0x1 : set | 0x1;
+      return this;
+    }
+
+    public Builder cause(Throwable cause) {
+      this.cause = cause;
+      return this;
+    }
+
+    public UpstreamTimeoutException build() {
+      if (set != REQUIRED) {
+        throw new IllegalStateException(missingParams(set));
+      }
+      return new UpstreamTimeoutException(service, cause);
+    }
+
+    public void throwException() {
+      throw build();
+    }
+
+    private static String missingParams(int set) {
+      StringJoiner missing = new StringJoiner(", ", "Missing required params: ", "");
+      if ((set & 0x1) == 0) {
+        missing.add("service");
+      }
+      return missing.toString();
+    }
+  }
+}
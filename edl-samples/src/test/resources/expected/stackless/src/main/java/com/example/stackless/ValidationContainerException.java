@@ -0,0 +1,44 @@
+package com.example.stackless;
+
+import java.util.stream.Collector;
+
+public final class ValidationContainerException extends StacklessConcurrentContainerException {
+  private static final int HTTP_STATUS = 400;
+
+  private static final boolean WRITABLE_STACK_TRACE = false;
+
+  private static final int MAX_ERRORS = 10000;
+
+  public ValidationContainerException() {
+    super(HTTP_STATUS, WRITABLE_STACK_TRACE, MAX_ERRORS);
+  }
+
+  public ValidationContainerException add(ValidationException error) {
+    super.add(error);
+    return this;
+  }
+
+  public ValidationContainerException add(StacklessError.ValidationError error) {
+    super.add(error);
+    return this;
+  }
+
+  public ValidationContainerException add(int position, ValidationException error) {
+    super.add(position, error);
+    return this;
+  }
+
+  public ValidationContainerException add(int position, StacklessError.ValidationError error) {
+    super.add(position, error);
+    return this;
+  }
+
+  public ValidationContainerException merge(ValidationContainerException other) {
+    super.merge(other);
+    return this;
+  }
+
+  public static Collector<ValidationException, ?, ValidationContainerException> collector() {
+    return Collector.of(ValidationContainerException::new, ValidationContainerException::add, ValidationContainerException::merge);
+  }
+}
@@ -16,7 +16,7 @@ public class HelloController {
   @GetMapping("/hello")
   public String hello(@RequestParam(name = "name", required = false) String name) {
     if (name == null || name.isBlank()) {
-      throw MissingNameException.builder().build();
+      throw MissingNameException.instance();
     }
     throw InvalidNameException.builder().name(name).build();
   }
@@ -26,12 +26,12 @@ public class HelloController {
     CommonContainerException container = new CommonContainerException();
     String name = request == null ? null : request.name();
     if (name == null || name.isBlank()) {
-      container.add(MissingNameException.builder().build());
+      container.add(MissingNameException.instance());
       container.add(InvalidNameException.builder().name("unknown").build());
       throw container;
     }
     container.add(InvalidNameException.builder().name(name).build());
-    container.add(MissingNameException.builder().build());
+    container.add(MissingNameException.instance());
     throw container;
   }
 
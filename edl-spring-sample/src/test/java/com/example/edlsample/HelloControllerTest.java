@@ -2,10 +2,13 @@ package com.example.edlsample;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.Map;
+import javax.management.ObjectName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -25,6 +28,8 @@ public class HelloControllerTest {
 
   @Test
   void getHelloReturnsSingleError() throws Exception {
+    int ordinal = SampleErrorCatalog.ordinalOf("CM0002");
+    long handledBefore = SampleErrorStats.handledCount(ordinal);
     ResponseEntity<String> response = restTemplate.getForEntity("/api/hello?name=Ada", String.class);
 
     assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -34,10 +39,16 @@ public class HelloControllerTest {
     assertEquals("Invalid name Ada", body.get("Description"));
     assertEquals("Name Ada is invalid", body.get("Details"));
     assertEquals(false, body.get("Recoverable"));
+    assertEquals(handledBefore + 1, SampleErrorStats.handledCount(ordinal));
+    assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(SampleErrorStats.OBJECT_NAME)));
   }
 
   @Test
   void postHelloReturnsContainerErrors() throws Exception {
+    int invalidName = SampleErrorCatalog.ordinalOf("CM0002");
+    int missingName = SampleErrorCatalog.ordinalOf("CM0001");
+    long invalidBefore = SampleErrorStats.handledCount(invalidName);
+    long missingBefore = SampleErrorStats.handledCount(missingName);
     RequestEntity<HelloRequest> request = RequestEntity.post("/api/hello")
         .contentType(MediaType.APPLICATION_JSON)
         .body(new HelloRequest("Ada"));
@@ -58,6 +69,8 @@ public class HelloControllerTest {
     Map<String, Object> second = errors.get(1);
     assertEquals("CM0001", second.get("ReasonCode"));
     assertEquals("Missing name", second.get("Description"));
+    assertEquals(invalidBefore + 1, SampleErrorStats.handledCount(invalidName));
+    assertEquals(missingBefore + 1, SampleErrorStats.handledCount(missingName));
   }
 
   @Test